@@ -0,0 +1,50 @@
+package com.hr.management.benchmark;
+
+import com.hr.management.HrManagementApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 基准测试共享状态：按 rowCount 重建数据库后启动完整的 Spring 应用上下文。
+ *
+ * <p>数据在上下文启动前写入，保证启动时加载的内存快照和索引与数据库一致。</p>
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({"1000", "10000", "100000"})
+    public int rowCount;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        BenchmarkDatabase.reset(rowCount);
+        context = new SpringApplicationBuilder(HrManagementApplication.class)
+                .properties(
+                        "spring.datasource.url=" + BenchmarkDatabase.url(),
+                        "spring.datasource.username=" + BenchmarkDatabase.username(),
+                        "spring.datasource.password=" + BenchmarkDatabase.password(),
+                        "spring.jpa.show-sql=false",
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
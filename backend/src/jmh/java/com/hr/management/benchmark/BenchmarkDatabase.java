@@ -0,0 +1,188 @@
+package com.hr.management.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * 基准测试数据库：重建表结构并按指定行数生成确定性的测试数据。
+ *
+ * <p>连接信息来自系统属性 jmh.db.url / jmh.db.username / jmh.db.password，
+ * 由 build.gradle 中的 jmh 配置传入。</p>
+ */
+public final class BenchmarkDatabase {
+
+    public static final int SECTION_COUNT = 27;
+    private static final int PLACE_COUNT = 10;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] FIRST_NAMES = {
+            "Steven", "Neena", "Lex", "Alexander", "Bruce", "David", "Valli", "Diana", "Nancy", "Daniel",
+            "John", "Ismael", "Jose", "Luis", "Den", "Shelli", "Sigal", "Guy", "Karen", "Matthew"
+    };
+    private static final String[] LAST_NAMES = {
+            "King", "Kochhar", "De Haan", "Hunold", "Ernst", "Austin", "Pataballa", "Lorentz", "Greenberg",
+            "Faviet", "Chen", "Sciarra", "Urman", "Popp", "Raphaely", "Khoo", "Baida", "Tobias", "Himuro", "Weiss"
+    };
+    private static final String[] EMPLOYMENTS = {
+            "AD_PRES", "AD_VP", "IT_PROG", "FI_MGR", "FI_ACCOUNT", "PU_CLERK", "ST_MAN", "ST_CLERK", "SA_MAN", "SA_REP"
+    };
+
+    private BenchmarkDatabase() {
+    }
+
+    public static String url() {
+        return System.getProperty("jmh.db.url", "jdbc:postgresql://localhost:5432/hr_bench");
+    }
+
+    public static String username() {
+        return System.getProperty("jmh.db.username", "postgres");
+    }
+
+    public static String password() {
+        return System.getProperty("jmh.db.password", "postgres");
+    }
+
+    /**
+     * 重建表并生成 staffCount 名员工及相关参考数据。
+     */
+    public static void reset(int staffCount) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url(), username(), password())) {
+            connection.setAutoCommit(false);
+            createSchema(connection);
+            seedReferenceData(connection);
+            seedStaffs(connection, staffCount);
+            connection.commit();
+        }
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        String script;
+        try (InputStream in = BenchmarkDatabase.class.getResourceAsStream("/benchmark-schema.sql")) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.split(";")) {
+                String trimmed = sql.lines()
+                        .filter(line -> !line.trim().startsWith("--"))
+                        .reduce("", (a, b) -> a + "\n" + b)
+                        .trim();
+                if (!trimmed.isEmpty()) {
+                    statement.execute(trimmed);
+                }
+            }
+        }
+    }
+
+    private static void seedReferenceData(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO areas VALUES (1, 'Europe'), (2, 'Americas'), (3, 'Asia')");
+            statement.execute("INSERT INTO states VALUES ('US', 'United States of America', 2), " +
+                    "('UK', 'United Kingdom', 1), ('CN', 'China', 3)");
+            statement.execute("INSERT INTO college VALUES (1, 'Computer Science'), (2, 'Management')");
+        }
+        try (PreparedStatement places = connection.prepareStatement("INSERT INTO places VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= PLACE_COUNT; i++) {
+                places.setLong(1, i * 100L);
+                places.setString(2, i + " Main Street");
+                places.setString(3, String.valueOf(10000 + i));
+                places.setString(4, "City " + i);
+                places.setString(5, "Province " + i);
+                places.setString(6, i % 3 == 0 ? "CN" : i % 3 == 1 ? "US" : "UK");
+                places.addBatch();
+            }
+            places.executeBatch();
+        }
+        try (PreparedStatement employments = connection.prepareStatement("INSERT INTO employments VALUES (?, ?, ?, ?)")) {
+            for (String employmentId : EMPLOYMENTS) {
+                employments.setString(1, employmentId);
+                employments.setString(2, employmentId.replace('_', ' '));
+                employments.setBigDecimal(3, new BigDecimal("2000.00"));
+                employments.setBigDecimal(4, new BigDecimal("40000.00"));
+                employments.addBatch();
+            }
+            employments.executeBatch();
+        }
+        try (PreparedStatement sections = connection.prepareStatement("INSERT INTO sections VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= SECTION_COUNT; i++) {
+                sections.setLong(1, i * 10L);
+                sections.setString(2, "Section " + i);
+                // 每个部门的经理为该部门第一名员工
+                sections.setLong(3, 100L + i);
+                sections.setLong(4, ((i - 1) % PLACE_COUNT + 1) * 100L);
+                sections.addBatch();
+            }
+            sections.executeBatch();
+        }
+    }
+
+    private static void seedStaffs(Connection connection, int staffCount) throws SQLException {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2000, 1, 1, 0, 0);
+        try (PreparedStatement staffs = connection.prepareStatement(
+                "INSERT INTO staffs VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement history = connection.prepareStatement(
+                     "INSERT INTO employment_history (staff_id, start_date, end_date, employment_id, section_id) " +
+                     "VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= staffCount; i++) {
+                long staffId = 100L + i;
+                long sectionId = ((i - 1) % SECTION_COUNT + 1) * 10L;
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String employmentId = EMPLOYMENTS[random.nextInt(EMPLOYMENTS.length)];
+                LocalDateTime hireDate = base.plusDays(random.nextInt(9000));
+
+                staffs.setLong(1, staffId);
+                staffs.setString(2, firstName);
+                staffs.setString(3, lastName);
+                staffs.setString(4, (firstName.charAt(0) + lastName.replace(" ", "")).toUpperCase() + i);
+                staffs.setString(5, "515.123." + (1000 + i % 9000));
+                staffs.setTimestamp(6, Timestamp.valueOf(hireDate));
+                staffs.setString(7, employmentId);
+                staffs.setBigDecimal(8, BigDecimal.valueOf(2000 + random.nextInt(38000)).setScale(2));
+                staffs.setNull(9, Types.NUMERIC);
+                // 部门经理向总经理（101）汇报，其余员工向部门经理汇报
+                if (staffId == 101L) {
+                    staffs.setNull(10, Types.BIGINT);
+                } else if (i <= SECTION_COUNT) {
+                    staffs.setLong(10, 101L);
+                } else {
+                    staffs.setLong(10, 100L + ((i - 1) % SECTION_COUNT + 1));
+                }
+                staffs.setLong(11, sectionId);
+                staffs.setString(12, "password");
+                staffs.addBatch();
+
+                // 约三分之一的员工有一条历史任职记录
+                if (i % 3 == 0) {
+                    history.setLong(1, staffId);
+                    history.setTimestamp(2, Timestamp.valueOf(hireDate));
+                    history.setTimestamp(3, Timestamp.valueOf(hireDate.plusDays(365 + random.nextInt(1000))));
+                    history.setString(4, EMPLOYMENTS[random.nextInt(EMPLOYMENTS.length)]);
+                    history.setLong(5, ((random.nextInt(SECTION_COUNT)) + 1) * 10L);
+                    history.addBatch();
+                }
+
+                if (i % BATCH_SIZE == 0) {
+                    staffs.executeBatch();
+                    history.executeBatch();
+                }
+            }
+            staffs.executeBatch();
+            history.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hr.management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hr.management.dto.StaffDTO;
+import com.hr.management.service.StaffService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用应用上下文中的 ObjectMapper 序列化 List&lt;StaffDTO&gt; 的基准，不含数据库访问。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StaffJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<StaffDTO> staffList;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        objectMapper = application.getBean(ObjectMapper.class);
+        staffList = application.getBean(StaffService.class).getAllStaff(false);
+    }
+
+    @Benchmark
+    public byte[] serializeStaffList() throws Exception {
+        return objectMapper.writeValueAsBytes(staffList);
+    }
+}
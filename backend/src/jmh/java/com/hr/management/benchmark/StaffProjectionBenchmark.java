@@ -0,0 +1,42 @@
+package com.hr.management.benchmark;
+
+import com.hr.management.dto.StaffDTO;
+import com.hr.management.entity.Staff;
+import com.hr.management.repository.StaffRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 员工全表读取基准：加载完整的 Staff 实体与 StaffDTO 构造器投影（连接部门和职位名称）对比。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StaffProjectionBenchmark {
+
+    private StaffRepository staffRepository;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        staffRepository = application.getBean(StaffRepository.class);
+    }
+
+    @Benchmark
+    public List<Staff> loadEntities() {
+        return staffRepository.findAll();
+    }
+
+    @Benchmark
+    public List<StaffDTO> loadProjection() {
+        return staffRepository.findAllStaffDTOs();
+    }
+}
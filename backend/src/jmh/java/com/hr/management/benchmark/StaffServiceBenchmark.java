@@ -0,0 +1,57 @@
+package com.hr.management.benchmark;
+
+import com.hr.management.dto.SalaryStatsDTO;
+import com.hr.management.dto.StaffDTO;
+import com.hr.management.service.StaffService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StaffService 读路径基准：全量列表（两种排序）、姓名搜索和部门薪资统计。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StaffServiceBenchmark {
+
+    private StaffService staffService;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        staffService = application.getBean(StaffService.class);
+    }
+
+    @Benchmark
+    public List<StaffDTO> getAllStaffOrderByStaffId() {
+        return staffService.getAllStaff(false);
+    }
+
+    @Benchmark
+    public List<StaffDTO> getAllStaffOrderBySalary() {
+        return staffService.getAllStaff(true);
+    }
+
+    @Benchmark
+    public List<StaffDTO> searchStaffByName() {
+        return staffService.searchStaffByName("haan");
+    }
+
+    @Benchmark
+    public List<StaffDTO> searchStaffByNameInSection() {
+        return staffService.searchStaffByName("ste", 10L);
+    }
+
+    @Benchmark
+    public List<SalaryStatsDTO> getSalaryStatsByAllSections() {
+        return staffService.getSalaryStatsByAllSections();
+    }
+}
@@ -0,0 +1,77 @@
+-- 基准测试用表结构，与实体映射保持一致。每轮测试开始时重建。
+DROP TABLE IF EXISTS employment_history;
+DROP TABLE IF EXISTS staffs;
+DROP TABLE IF EXISTS sections;
+DROP TABLE IF EXISTS places;
+DROP TABLE IF EXISTS states;
+DROP TABLE IF EXISTS areas;
+DROP TABLE IF EXISTS employments;
+DROP TABLE IF EXISTS college;
+
+CREATE TABLE areas (
+    area_id   BIGINT PRIMARY KEY,
+    area_name VARCHAR(25)
+);
+
+CREATE TABLE states (
+    state_id   CHAR(2) PRIMARY KEY,
+    state_name VARCHAR(40),
+    area_id    BIGINT REFERENCES areas (area_id)
+);
+
+CREATE TABLE places (
+    place_id       BIGINT PRIMARY KEY,
+    street_address VARCHAR(40),
+    postal_code    VARCHAR(12),
+    city           VARCHAR(30),
+    state_province VARCHAR(25),
+    state_id       CHAR(2) REFERENCES states (state_id)
+);
+
+CREATE TABLE employments (
+    employment_id    VARCHAR(10) PRIMARY KEY,
+    employment_title VARCHAR(35),
+    min_salary       NUMERIC(8, 2),
+    max_salary       NUMERIC(8, 2)
+);
+
+CREATE TABLE sections (
+    section_id   BIGINT PRIMARY KEY,
+    section_name VARCHAR(30),
+    manager_id   BIGINT,
+    place_id     BIGINT REFERENCES places (place_id)
+);
+
+CREATE TABLE staffs (
+    staff_id       BIGINT PRIMARY KEY,
+    first_name     VARCHAR(20),
+    last_name      VARCHAR(25),
+    email          VARCHAR(25),
+    phone_number   VARCHAR(20),
+    hire_date      TIMESTAMP,
+    employment_id  VARCHAR(10) REFERENCES employments (employment_id),
+    salary         NUMERIC(8, 2),
+    commission_pct NUMERIC(2, 2),
+    manager_id     BIGINT,
+    section_id     BIGINT REFERENCES sections (section_id),
+    password       VARCHAR(64)
+);
+
+CREATE INDEX staffs_salary_idx ON staffs (salary DESC, staff_id);
+CREATE INDEX staffs_section_idx ON staffs (section_id, staff_id);
+
+CREATE TABLE employment_history (
+    id            BIGSERIAL PRIMARY KEY,
+    staff_id      BIGINT,
+    start_date    TIMESTAMP,
+    end_date      TIMESTAMP,
+    employment_id VARCHAR(10),
+    section_id    BIGINT
+);
+
+CREATE INDEX employment_history_staff_idx ON employment_history (staff_id);
+
+CREATE TABLE college (
+    college_id   BIGINT PRIMARY KEY,
+    college_name VARCHAR(50)
+);
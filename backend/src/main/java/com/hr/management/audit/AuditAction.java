@@ -0,0 +1,27 @@
+package com.hr.management.audit;
+
+/**
+ * 需要审计的写操作。
+ */
+public enum AuditAction {
+
+    // 修改电话号码（员工本人或批量更新）
+    PHONE_UPDATED("staff"),
+    // 修改部门名称
+    SECTION_RENAMED("section"),
+    // 新增地点
+    PLACE_CREATED("place");
+
+    private final String entityType;
+
+    AuditAction(String entityType) {
+        this.entityType = entityType;
+    }
+
+    /**
+     * 写入 audit_log.entity_type 的实体类型。
+     */
+    public String entityType() {
+        return entityType;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.hr.management.audit;
+
+import java.time.Instant;
+
+/**
+ * 一条审计记录。before/after 在写线程中序列化为 JSON，调用方传入后不能再修改。
+ *
+ * @param occurredAt 变更时间
+ * @param actorId    操作人的员工ID，人事经理为 hr001，没有登录身份时为 null
+ * @param actorRole  操作人的角色
+ * @param action     操作类型
+ * @param entityId   被修改的实体ID
+ * @param before     修改前的值，新增或无法得知时为 null
+ * @param after      修改后的值
+ */
+record AuditRecord(Instant occurredAt, String actorId, String actorRole, AuditAction action, Long entityId,
+                   Object before, Object after) {
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.hr.management.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 多生产者、单消费者的有界无锁环形队列。
+ *
+ * <p>每个槽位带一个序号：序号等于写位置时槽位空闲，生产者以 CAS 抢占写位置后写入元素，
+ * 再把序号设为写位置 + 1 发布给消费者；消费者取走元素后把序号设为读位置 + 容量，
+ * 槽位在下一圈重新可写。序号的 release/acquire 读写保证消费者看到完整写入的元素。
+ * 队列满时 {@link #offer(Object)} 立即返回 false，由调用方决定等待还是另行处理。</p>
+ */
+final class AuditRingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final Object[] elements;
+    private final AtomicLong tail = new AtomicLong();
+    // 只有消费者线程写，其他线程读取用于统计
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        // 容量取不小于请求值的 2 的幂，下标用位与计算
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.elements = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入一个元素，队列已满时返回 false。可由任意线程并发调用。
+     */
+    boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 槽位还留着上一圈未取走的元素
+                return false;
+            } else {
+                // 其他生产者已抢到该位置
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 取出最多 max 个元素追加到 into，返回取出的个数。只能由消费者线程调用。
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<T> into, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.getAcquire(index) != position + 1) {
+                // 为空，或生产者已抢到位置但尚未写完
+                break;
+            }
+            into.add((T) elements[index]);
+            elements[index] = null;
+            sequences.setRelease(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * 当前元素个数的近似值，包括已抢到位置但尚未写完的元素。
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
\ No newline at end of file
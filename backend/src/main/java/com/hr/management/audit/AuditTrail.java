@@ -0,0 +1,327 @@
+package com.hr.management.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hr.management.security.AuthToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 写操作审计。
+ *
+ * <p>业务代码调用 {@link #record} 后只把记录放入内存中的有界无锁环形队列，不在请求线程上访问数据库；
+ * 在事务中调用时等事务提交后才入队，回滚的修改不会留下审计记录。后台写线程每 flush-interval-ms
+ * 或积压达到 batch-size 时取出一批，以一次 JDBC 批量插入写入只追加的 audit_log 表。</p>
+ *
+ * <p>队列满时调用方最多等待 offer-timeout-ms（反压），仍然满则在调用线程上同步写入该条记录，
+ * 以增加这次请求的延迟为代价保证不丢记录。写入失败时写线程保留当前批次按 retry-interval-ms 重试。
+ * 应用关闭时停止写线程并写出队列中剩余的全部记录，此时数据源尚未关闭。</p>
+ */
+@Component
+public class AuditTrail {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+
+    // 建表脚本，也可由 DBA 或迁移工具直接执行
+    private static final String CREATE_TABLE_SCRIPT = "db/audit_log.sql";
+    private static final String INSERT_SQL = "INSERT INTO audit_log (occurred_at, actor_id, actor_role, action, "
+            + "entity_type, entity_id, before_value, after_value) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer<AuditRecord> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final long retryIntervalNanos;
+    private final Duration shutdownTimeout;
+    private final boolean createTable;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder bufferFull = new LongAdder();
+    private final LongAdder synchronousWrites = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    @Autowired
+    public AuditTrail(DataSource dataSource,
+                      PlatformTransactionManager transactionManager,
+                      ObjectMapper objectMapper,
+                      @Value("${hr.audit.buffer-capacity:8192}") int bufferCapacity,
+                      @Value("${hr.audit.batch-size:500}") int batchSize,
+                      @Value("${hr.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                      @Value("${hr.audit.offer-timeout-ms:50}") long offerTimeoutMillis,
+                      @Value("${hr.audit.retry-interval-ms:1000}") long retryIntervalMillis,
+                      @Value("${hr.audit.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis,
+                      @Value("${hr.audit.create-table:false}") boolean createTable) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // 一批记录在一个事务中提交，不与业务事务合并
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.retryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(retryIntervalMillis);
+        this.shutdownTimeout = Duration.ofMillis(shutdownTimeoutMillis);
+        this.createTable = createTable;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (createTable) {
+            new ResourceDatabasePopulator(new ClassPathResource(CREATE_TABLE_SCRIPT)).execute(dataSource);
+        }
+        running = true;
+        writer = Thread.ofVirtual().name("audit-writer").start(this::runWriter);
+    }
+
+    /**
+     * 记录一次修改，操作人取自当前请求的登录令牌。在事务中调用时提交后才入队。
+     * @param entityId 被修改的实体ID
+     * @param before   修改前的值，新增时为 null
+     * @param after    修改后的值
+     */
+    public void record(AuditAction action, Long entityId, Object before, Object after) {
+        AuthToken actor = currentActor();
+        AuditRecord record = new AuditRecord(Instant.now(), actor != null ? actor.staffId() : null,
+                actor != null ? actor.role() : null, action, entityId, before, after);
+        List<AuditRecord> pending = transactionRecords();
+        if (pending != null) {
+            pending.add(record);
+        } else {
+            enqueue(record);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            if (!thread.join(shutdownTimeout)) {
+                log.warn("Audit writer did not stop within {}, flushing remaining records", shutdownTimeout);
+                thread.interrupt();
+                if (!thread.join(shutdownTimeout)) {
+                    // 队列只允许一个消费者，写线程仍在运行时不能再从当前线程读取
+                    log.error("Audit writer is stuck, {} buffered audit records were not flushed", buffer.size());
+                    return;
+                }
+            }
+        }
+        // 写线程已退出，由当前线程写出剩余记录
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            if (!writeBatch(batch)) {
+                logLost(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    public int getBufferSize() {
+        return buffer.size();
+    }
+
+    public int getBufferCapacity() {
+        return buffer.capacity();
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getBufferFullCount() {
+        return bufferFull.sum();
+    }
+
+    public long getSynchronousWriteCount() {
+        return synchronousWrites.sum();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.sum();
+    }
+
+    public long getLostCount() {
+        return lost.sum();
+    }
+
+    // 当前事务登记的记录，首次登记时注册提交后入队的回调；不在事务中时返回 null
+    @SuppressWarnings("unchecked")
+    private List<AuditRecord> transactionRecords() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        List<AuditRecord> records = (List<AuditRecord>) TransactionSynchronizationManager.getResource(this);
+        if (records == null) {
+            List<AuditRecord> bound = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bound.forEach(AuditTrail.this::enqueue);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditTrail.this);
+                }
+            });
+            records = bound;
+        }
+        return records;
+    }
+
+    private void enqueue(AuditRecord record) {
+        recorded.increment();
+        if (running && offer(record)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        // 队列持续满或正在关闭：在调用线程上同步写入，不丢记录
+        synchronousWrites.increment();
+        List<AuditRecord> single = List.of(record);
+        if (!writeBatch(single)) {
+            logLost(single);
+        }
+    }
+
+    private boolean offer(AuditRecord record) {
+        if (buffer.offer(record)) {
+            return true;
+        }
+        bufferFull.increment();
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(record)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runWriter() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (batch.isEmpty() && buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            if (writeBatch(batch)) {
+                batch.clear();
+            } else {
+                // 保留当前批次稍后重试，期间队列满时新记录改为同步写入
+                LockSupport.parkNanos(retryIntervalNanos);
+            }
+        }
+        if (!batch.isEmpty() && !writeBatch(batch)) {
+            logLost(batch);
+        }
+    }
+
+    private boolean writeBatch(List<AuditRecord> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind));
+            written.add(batch.size());
+            batches.increment();
+            return true;
+        } catch (RuntimeException e) {
+            // 包括 DataAccessException；任何异常都不能结束写线程
+            failedBatches.increment();
+            log.warn("Failed to write {} audit records", batch.size(), e);
+            return false;
+        }
+    }
+
+    private void bind(PreparedStatement ps, AuditRecord record) throws SQLException {
+        ps.setObject(1, OffsetDateTime.ofInstant(record.occurredAt(), ZoneOffset.UTC));
+        ps.setString(2, record.actorId());
+        ps.setString(3, record.actorRole());
+        ps.setString(4, record.action().name());
+        ps.setString(5, record.action().entityType());
+        if (record.entityId() != null) {
+            ps.setLong(6, record.entityId());
+        } else {
+            ps.setNull(6, Types.BIGINT);
+        }
+        ps.setString(7, toJson(record.before()));
+        ps.setString(8, toJson(record.after()));
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit value", e);
+        }
+    }
+
+    // 最后的手段：数据库不可用时把记录写入错误日志，便于事后补录
+    private void logLost(List<AuditRecord> records) {
+        lost.add(records.size());
+        for (AuditRecord record : records) {
+            log.error("Audit record could not be written: {}", record);
+        }
+    }
+
+    private static AuthToken currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthToken token ? token : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.hr.management.cache;
+
+/**
+ * 带版本号的数据资源，用于生成 ETag。
+ */
+public enum DataResource {
+    // 部门名称和经理
+    SECTIONS,
+    // 地点
+    PLACES,
+    // 员工（姓名、部门、薪资等）
+    STAFF
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.hr.management.cache;
+
+import com.hr.management.event.DataVersionChangedEvent;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 各数据资源的版本号。
+ *
+ * <p>写操作在提交后调用 {@link #bump(DataResource)} 递增对应资源的版本，员工变更通过
+ * {@link StaffChangedEvent} 自动递增。ETag 由启动时生成的随机前缀和所依赖资源的版本号组成，
+ * 重启后版本号从 0 开始也不会与之前发出的 ETag 冲突。</p>
+ *
+ * <p>读取方必须先取 ETag 再加载数据：版本在提交之后才递增，因此先读到的版本号
+ * 不会比随后加载的数据更新。</p>
+ *
+ * <p>每次递增后发布 {@link DataVersionChangedEvent}。</p>
+ */
+@Component
+public class DataVersionRegistry {
+
+    private final String nonce = Long.toHexString(new SecureRandom().nextLong());
+    private final Map<DataResource, AtomicLong> versions = new EnumMap<>(DataResource.class);
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public DataVersionRegistry(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        for (DataResource resource : DataResource.values()) {
+            versions.put(resource, new AtomicLong());
+        }
+    }
+
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        bump(DataResource.STAFF);
+    }
+
+    @EventListener
+    public void onStaffBulkChanged(StaffBulkChangedEvent event) {
+        bump(DataResource.STAFF);
+    }
+
+    public void bump(DataResource resource) {
+        long version = versions.get(resource).incrementAndGet();
+        eventPublisher.publishEvent(new DataVersionChangedEvent(resource, version));
+    }
+
+    public long version(DataResource resource) {
+        return versions.get(resource).get();
+    }
+
+    /**
+     * 由依赖资源的版本号生成强 ETag，任一资源变更后 ETag 随之变化。
+     */
+    public String etag(DataResource... resources) {
+        StringBuilder etag = new StringBuilder("\"").append(nonce);
+        for (DataResource resource : resources) {
+            etag.append('-').append(version(resource));
+        }
+        return etag.append('"').toString();
+    }
+}
\ No newline at end of file
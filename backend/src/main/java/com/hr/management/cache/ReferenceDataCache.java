@@ -0,0 +1,164 @@
+package com.hr.management.cache;
+
+import com.hr.management.dto.ReferenceDataStatsDTO;
+import com.hr.management.entity.Area;
+import com.hr.management.entity.College;
+import com.hr.management.entity.Employment;
+import com.hr.management.entity.Place;
+import com.hr.management.entity.Section;
+import com.hr.management.entity.State;
+import com.hr.management.repository.AreaRepository;
+import com.hr.management.repository.CollegeRepository;
+import com.hr.management.repository.EmploymentRepository;
+import com.hr.management.repository.PlaceRepository;
+import com.hr.management.repository.SectionRepository;
+import com.hr.management.repository.StateRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 参考数据内存缓存。
+ *
+ * <p>启动时将部门、职位、国家/省份、地点、区域和学院整表加载为 {@link ReferenceDataSnapshot}，
+ * 写操作完成后调用 {@link #rebuild()} 重新加载并原子替换快照。读操作始终看到某个完整版本，
+ * 不会读到新旧数据混合的状态。</p>
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final SectionRepository sectionRepository;
+    private final EmploymentRepository employmentRepository;
+    private final StateRepository stateRepository;
+    private final PlaceRepository placeRepository;
+    private final AreaRepository areaRepository;
+    private final CollegeRepository collegeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<ReferenceDataSnapshot> current = new AtomicReference<>(ReferenceDataSnapshot.empty());
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    // 重建期间执行数据库查询，使用 ReentrantLock 而不是 synchronized，避免虚拟线程被固定在载体线程上
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    public ReferenceDataCache(SectionRepository sectionRepository,
+                              EmploymentRepository employmentRepository,
+                              StateRepository stateRepository,
+                              PlaceRepository placeRepository,
+                              AreaRepository areaRepository,
+                              CollegeRepository collegeRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.sectionRepository = sectionRepository;
+        this.employmentRepository = employmentRepository;
+        this.stateRepository = stateRepository;
+        this.placeRepository = placeRepository;
+        this.areaRepository = areaRepository;
+        this.collegeRepository = collegeRepository;
+        // 写操作提交后立即重建，必须读主库：使用读写事务，不路由到只读副本
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 从数据库重新加载全部参考数据并替换当前快照。
+     * 加串行锁避免并发写入时旧快照覆盖新快照。
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            ReferenceDataSnapshot snapshot = transactionTemplate.execute(status -> new ReferenceDataSnapshot(
+                    versionSequence.incrementAndGet(),
+                    sectionRepository.findAll(),
+                    employmentRepository.findAll(),
+                    stateRepository.findAll(),
+                    placeRepository.findAll(),
+                    areaRepository.findAll(),
+                    collegeRepository.findAll()));
+            current.set(snapshot);
+            rebuilds.increment();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public ReferenceDataSnapshot snapshot() {
+        return current.get();
+    }
+
+    public Section findSection(Long sectionId) {
+        return lookup(current.get().getSections(), sectionId);
+    }
+
+    public Employment findEmployment(String employmentId) {
+        return lookup(current.get().getEmployments(), employmentId);
+    }
+
+    public State findState(String stateId) {
+        return lookup(current.get().getStates(), stateId);
+    }
+
+    public Place findPlace(Long placeId) {
+        return lookup(current.get().getPlaces(), placeId);
+    }
+
+    public Area findArea(Long areaId) {
+        return lookup(current.get().getAreas(), areaId);
+    }
+
+    public College findCollege(Long collegeId) {
+        return lookup(current.get().getColleges(), collegeId);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.sum();
+    }
+
+    public ReferenceDataStatsDTO getStats() {
+        ReferenceDataSnapshot snapshot = current.get();
+        ReferenceDataStatsDTO dto = new ReferenceDataStatsDTO();
+        dto.setVersion(snapshot.getVersion());
+        dto.setHits(getHitCount());
+        dto.setMisses(getMissCount());
+        dto.setRebuilds(getRebuildCount());
+        dto.setSections(snapshot.getSections().size());
+        dto.setEmployments(snapshot.getEmployments().size());
+        dto.setStates(snapshot.getStates().size());
+        dto.setPlaces(snapshot.getPlaces().size());
+        dto.setAreas(snapshot.getAreas().size());
+        dto.setColleges(snapshot.getColleges().size());
+        return dto;
+    }
+
+    private <K, V> V lookup(Map<K, V> map, K key) {
+        V value = key != null ? map.get(key) : null;
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hr.management.cache;
+
+import com.hr.management.event.ChangeSet;
+import com.hr.management.event.InvalidationHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 其他节点修改部门或地点后，重建本节点的参考数据快照并递增对应资源的版本号，
+ * 本节点发出的 ETag 随之失效。
+ */
+@Component
+public class ReferenceDataInvalidationHandler implements InvalidationHandler {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionRegistry dataVersionRegistry;
+
+    @Autowired
+    public ReferenceDataInvalidationHandler(ReferenceDataCache referenceDataCache,
+                                            DataVersionRegistry dataVersionRegistry) {
+        this.referenceDataCache = referenceDataCache;
+        this.dataVersionRegistry = dataVersionRegistry;
+    }
+
+    @Override
+    public void invalidate(ChangeSet changes) {
+        boolean sections = changes.contains(DataResource.SECTIONS);
+        boolean places = changes.contains(DataResource.PLACES);
+        if (!sections && !places) {
+            return;
+        }
+        // 快照整体加载，同一批中部门和地点的变更只重建一次
+        referenceDataCache.rebuild();
+        if (sections) {
+            dataVersionRegistry.bump(DataResource.SECTIONS);
+        }
+        if (places) {
+            dataVersionRegistry.bump(DataResource.PLACES);
+        }
+    }
+}
\ No newline at end of file
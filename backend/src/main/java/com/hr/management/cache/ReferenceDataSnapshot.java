@@ -0,0 +1,104 @@
+package com.hr.management.cache;
+
+import com.hr.management.entity.Area;
+import com.hr.management.entity.College;
+import com.hr.management.entity.Employment;
+import com.hr.management.entity.Place;
+import com.hr.management.entity.Section;
+import com.hr.management.entity.State;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 参考数据的不可变快照，按主键索引部门、职位、国家/省份、地点、区域和学院。
+ *
+ * <p>快照一经创建便不再修改，更新时由 {@link ReferenceDataCache} 整体替换。
+ * 快照中的实体对象为只读副本，调用方不得修改其字段。</p>
+ */
+public final class ReferenceDataSnapshot {
+
+    private final long version;
+    private final Map<Long, Section> sections;
+    private final Map<String, Employment> employments;
+    private final Map<String, State> states;
+    private final Map<Long, Place> places;
+    private final Map<Long, Area> areas;
+    private final Map<Long, College> colleges;
+    // 部门经理ID -> 所管理的部门ID，管理多个部门时取部门ID最小者
+    private final Map<Long, Long> managedSections;
+
+    ReferenceDataSnapshot(long version,
+                          Collection<Section> sections,
+                          Collection<Employment> employments,
+                          Collection<State> states,
+                          Collection<Place> places,
+                          Collection<Area> areas,
+                          Collection<College> colleges) {
+        this.version = version;
+        this.sections = index(sections, Section::getSectionId);
+        this.employments = index(employments, Employment::getEmploymentId);
+        this.states = index(states, State::getStateId);
+        this.places = index(places, Place::getPlaceId);
+        this.areas = index(areas, Area::getAreaId);
+        this.colleges = index(colleges, College::getCollegeId);
+        this.managedSections = indexManagers(sections);
+    }
+
+    static ReferenceDataSnapshot empty() {
+        return new ReferenceDataSnapshot(0, List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    private static <K, V> Map<K, V> index(Collection<V> values, Function<V, K> keyOf) {
+        return Map.copyOf(values.stream().collect(Collectors.toMap(keyOf, Function.identity())));
+    }
+
+    private static Map<Long, Long> indexManagers(Collection<Section> sections) {
+        Map<Long, Long> managers = new HashMap<>();
+        for (Section section : sections) {
+            if (section.getManagerId() != null && section.getSectionId() != null) {
+                managers.merge(section.getManagerId(), section.getSectionId(), Math::min);
+            }
+        }
+        return Map.copyOf(managers);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<Long, Section> getSections() {
+        return sections;
+    }
+
+    public Map<String, Employment> getEmployments() {
+        return employments;
+    }
+
+    public Map<String, State> getStates() {
+        return states;
+    }
+
+    public Map<Long, Place> getPlaces() {
+        return places;
+    }
+
+    public Map<Long, Area> getAreas() {
+        return areas;
+    }
+
+    public Map<Long, College> getColleges() {
+        return colleges;
+    }
+
+    /**
+     * 员工所管理的部门ID，不是部门经理时返回 null。
+     */
+    public Long getManagedSectionId(Long staffId) {
+        return staffId != null ? managedSections.get(staffId) : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hr.management.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 按 ETag 缓存序列化后的 JSON 响应体。
+ *
+ * <p>每个接口只保留最新 ETag 对应的一份字节数组，ETag 不变时重复请求直接返回缓存，
+ * 不再查询数据库和执行 Jackson 序列化；ETag 变化后下一次请求重新生成并替换。</p>
+ */
+@Component
+public class VersionedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VersionedResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] get(String key, String etag, Supplier<?> loader) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.etag().equals(etag)) {
+            return entry.body();
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        // 并发生成时后写入者覆盖先写入者，即使旧版本覆盖了新版本，下次请求也会因 ETag 不同而重新生成
+        entries.put(key, new Entry(etag, body));
+        return body;
+    }
+
+    private record Entry(String etag, byte[] body) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.hr.management.config;
+
+import com.hr.management.datasource.ReadReplicaRouter;
+import com.hr.management.metrics.ReadReplicaMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源，配置了 hr.datasource.replica.urls 时启用，替代 Spring Boot 默认的单一连接池。
+ *
+ * <p>应用使用的 DataSource 是 {@link LazyConnectionDataSourceProxy}：事务开始时并不取物理连接，
+ * 直到执行第一条语句时才根据事务的只读标记决定取主库连接还是副本连接。
+ * 因此只有标注 {@code @Transactional(readOnly = true)} 的事务会被路由到副本，
+ * 写事务和事务之外的访问始终使用主库。</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "hr.datasource.replica.urls")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRouter readReplicaRouter(
+            DataSourceProperties properties,
+            @Value("${hr.datasource.replica.urls}") List<String> urls,
+            @Value("${hr.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${hr.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${hr.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${hr.datasource.replica.max-lag-seconds:10}") double maxLagSeconds,
+            @Value("${hr.datasource.replica.health-check-interval-ms:5000}") long healthCheckIntervalMillis,
+            @Value("${hr.datasource.replica.lag-query:}") String lagQuery) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("hr-primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("hr-replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            // 副本不可用时尽快回退主库，而不是等待默认的 30 秒
+            replica.setConnectionTimeout(2000);
+            // 副本未启动时不阻止应用启动，由健康检查决定何时开始使用
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReadReplicaRouter(primary, replicas,
+                StringUtils.hasText(lagQuery) ? lagQuery : ReadReplicaRouter.DEFAULT_LAG_QUERY,
+                maxLagSeconds, healthCheckIntervalMillis);
+    }
+
+    @Bean
+    public DataSource dataSource(ReadReplicaRouter router) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router.primaryDataSource());
+        dataSource.setReadOnlyDataSource(router.readOnlyDataSource());
+        // 显式给出默认值，避免启动时为探测默认值而提前获取连接
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaMetrics readReplicaMetrics(ReadReplicaRouter router) {
+        return new ReadReplicaMetrics(router);
+    }
+}
\ No newline at end of file
@@ -1,11 +1,25 @@
 package com.hr.management.config;
 
+import com.hr.management.security.AuthToken;
+import com.hr.management.security.TokenAuthenticationFilter;
+import com.hr.management.security.TokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.function.BiPredicate;
 
 /**
  * SecurityConfig 配置类，用于定义应用程序的安全配置。
@@ -15,12 +29,18 @@ import org.springframework.security.web.SecurityFilterChain;
  *
  * <p>主要功能包括：
  * <ul>
- *   <li>禁用 CSRF 和 CORS 功能。</li>
+ *   <li>禁用 CSRF，不创建 Session。CORS 沿用 {@link WebConfig} 中的跨域映射，
+ *       浏览器的预检请求不带令牌，在认证之前处理。</li>
+ *   <li>由 {@link TokenAuthenticationFilter} 校验登录时签发的令牌，授权判断只使用令牌中的
+ *       员工ID、角色和部门ID，不查询数据库。</li>
  *   <li>定义请求的授权规则：
  *       <ul>
  *         <li>允许所有访问路径为 "/api/auth/**" 的请求。</li>
- *         <li>允许所有访问路径为 "/api/**" 的请求。</li>
- *         <li>对其他所有请求进行认证。</li>
+ *         <li>"/api/hr/**" 仅限人事经理。</li>
+ *         <li>"/api/manager/section/{sectionId}/**" 限管理该部门的部门经理，人事经理可访问所有部门。</li>
+ *         <li>"/api/employee/{staffId}/**" 限员工本人，人事经理可访问所有员工。</li>
+ *         <li>允许匿名访问健康检查；Prometheus 指标等其他 Actuator 端点仅限人事经理。</li>
+ *         <li>对其他所有请求进行认证，未认证返回 401，无权限返回 403。</li>
  *       </ul>
  *   </li>
  * </ul>
@@ -32,15 +52,40 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
-            .cors(AbstractHttpConfigurer::disable)
+            .cors(Customizer.withDefaults())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/api/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // 指标包含各接口延迟、连接池和审计队列等运行信息，不对外公开
+                .requestMatchers("/actuator/**").hasRole(AuthToken.HR_MANAGER)
+                .requestMatchers("/api/hr/**").hasRole(AuthToken.HR_MANAGER)
+                .requestMatchers("/api/manager/section/{sectionId}/**").access(tokenMatches(
+                    (token, variables) -> AuthToken.DEPARTMENT_MANAGER.equals(token.role())
+                        && token.sectionId() != null
+                        && token.sectionId().toString().equals(variables.getVariables().get("sectionId"))))
+                .requestMatchers("/api/employee/{staffId}/**").access(tokenMatches(
+                    (token, variables) -> token.staffId().equals(variables.getVariables().get("staffId"))))
                 .anyRequest().authenticated());
 
         return http.build();
     }
+
+    // 人事经理始终通过；其他角色按令牌内容与路径变量比较
+    private static AuthorizationManager<RequestAuthorizationContext> tokenMatches(
+            BiPredicate<AuthToken, RequestAuthorizationContext> rule) {
+        return (authentication, context) -> {
+            Authentication current = authentication.get();
+            if (current == null || !(current.getPrincipal() instanceof AuthToken token)) {
+                return new AuthorizationDecision(false);
+            }
+            return new AuthorizationDecision(token.isHrManager() || rule.test(token, context));
+        };
+    }
 }
\ No newline at end of file
@@ -1,13 +1,26 @@
 package com.hr.management.config;
 
+import com.hr.management.workload.WorkloadContext;
+import com.hr.management.workload.WorkloadInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 // 标注为配置类
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final WorkloadInterceptor workloadInterceptor;
+
+    @Autowired
+    public WebConfig(WorkloadInterceptor workloadInterceptor) {
+        this.workloadInterceptor = workloadInterceptor;
+    }
+
     // 配置跨域映射
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -15,6 +28,19 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000")  // 允许的来源（React应用的URL）
                 .allowedMethods("GET", "POST", "PUT", "DELETE") // 允许的HTTP方法
                 .allowedHeaders("*") // 允许的请求头
+                .exposedHeaders("ETag", "Retry-After") // 允许前端读取 ETag 和 Retry-After 响应头
                 .allowCredentials(true); // 是否允许发送凭据（如Cookie）
     }
+
+    // 按工作负载类别做准入控制和连接分区
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(workloadInterceptor).addPathPatterns("/api/**");
+    }
+
+    // 流式导出等异步任务在应用任务执行器上运行，带上提交请求的工作负载类别
+    @Bean
+    public TaskDecorator workloadTaskDecorator() {
+        return WorkloadContext::propagate;
+    }
 }
\ No newline at end of file
@@ -3,7 +3,11 @@ package com.hr.management.controller;
 import com.hr.management.dto.LoginRequestDTO;
 import com.hr.management.dto.LoginResponseDTO;
 import com.hr.management.entity.Staff;
+import com.hr.management.security.AuthToken;
+import com.hr.management.security.TokenService;
 import com.hr.management.service.StaffService;
+import com.hr.management.workload.Workload;
+import com.hr.management.workload.WorkloadClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,20 +18,23 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.Optional;
 
 @RestController
+@Workload(WorkloadClass.INTERACTIVE)
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final StaffService staffService;
+    private final TokenService tokenService;
 
     @Autowired
-    public AuthController(StaffService staffService) {
+    public AuthController(StaffService staffService, TokenService tokenService) {
         this.staffService = staffService;
+        this.tokenService = tokenService;
     }
 
     /**
      * 登录接口
      * @param request 包含员工ID和密码的登录请求
-     * @return 登录响应，包含员工信息和角色
+     * @return 登录响应，包含员工信息、角色和签名令牌
      */
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO request) {
@@ -35,10 +42,10 @@ public class AuthController {
         if (request.getStaffId().equals("hr001") && "hrpassword".equals(request.getPassword())) {
             LoginResponseDTO response = new LoginResponseDTO();
             response.setStaffId("hr001");
-            response.setRole("HR_MANAGER"); // 设置角色为人事经理
+            response.setRole(AuthToken.HR_MANAGER); // 设置角色为人事经理
             response.setFirstName("HR");
             response.setLastName("Manager");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(withToken(response, null));
         }
 
         try {
@@ -54,15 +61,16 @@ public class AuthController {
                 response.setFirstName(staff.getFirstName());
                 response.setLastName(staff.getLastName());
 
-                // 确定员工角色
-                if (staffService.isManager(staff.getStaffId())) {
-                    response.setRole("DEPARTMENT_MANAGER"); // 设置角色为部门经理
-                    response.setSectionId(staff.getSectionId().toString()); // 设置部门ID
+                // 确定员工角色：按内存中的部门经理索引查找，不访问数据库
+                Long managedSectionId = staffService.getManagedSectionId(staff.getStaffId());
+                if (managedSectionId != null) {
+                    response.setRole(AuthToken.DEPARTMENT_MANAGER); // 设置角色为部门经理
+                    response.setSectionId(managedSectionId.toString()); // 设置所管理的部门ID
                 } else {
-                    response.setRole("EMPLOYEE"); // 设置角色为普通员工
+                    response.setRole(AuthToken.EMPLOYEE); // 设置角色为普通员工
                 }
 
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(withToken(response, managedSectionId));
             }
         } catch (NumberFormatException e) {
             // 捕获无效的员工ID格式异常
@@ -71,4 +79,10 @@ public class AuthController {
         // 返回401状态码表示登录失败
         return ResponseEntity.status(401).body(null);
     }
+
+    private LoginResponseDTO withToken(LoginResponseDTO response, Long sectionId) {
+        response.setToken(tokenService.issue(response.getStaffId(), response.getRole(), sectionId));
+        response.setExpiresAt(System.currentTimeMillis() + tokenService.getTtl().toMillis());
+        return response;
+    }
 }
\ No newline at end of file
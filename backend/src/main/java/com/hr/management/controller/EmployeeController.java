@@ -3,11 +3,14 @@ package com.hr.management.controller;
 import com.hr.management.dto.PhoneUpdateRequestDTO;
 import com.hr.management.dto.StaffDTO;
 import com.hr.management.service.StaffService;
+import com.hr.management.workload.Workload;
+import com.hr.management.workload.WorkloadClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Workload(WorkloadClass.INTERACTIVE)
 @RequestMapping("/api/employee")
 public class EmployeeController {
 
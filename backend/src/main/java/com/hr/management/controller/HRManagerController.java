@@ -1,17 +1,49 @@
 package com.hr.management.controller;
 
+import com.hr.management.cache.DataResource;
+import com.hr.management.cache.DataVersionRegistry;
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.cache.VersionedResponseCache;
 import com.hr.management.dto.*;
+import com.hr.management.service.BulkUpdateService;
+import com.hr.management.service.ChangeStreamService;
+import com.hr.management.service.DashboardService;
 import com.hr.management.service.EmploymentHistoryService;
+import com.hr.management.service.OrgChartService;
 import com.hr.management.service.PlaceService;
+import com.hr.management.service.SalaryDistributionService;
 import com.hr.management.service.SectionService;
+import com.hr.management.service.StaffDirectoryService;
+import com.hr.management.service.StaffExportService;
+import com.hr.management.service.StaffImportService;
 import com.hr.management.service.StaffService;
+import com.hr.management.workload.Workload;
+import com.hr.management.workload.WorkloadClass;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
 
 @RestController
+@Workload(WorkloadClass.INTERACTIVE)
 @RequestMapping("/api/hr")
 public class HRManagerController {
 
@@ -19,18 +51,66 @@ public class HRManagerController {
     private final SectionService sectionService;
     private final PlaceService placeService;
     private final EmploymentHistoryService employmentHistoryService;
+    private final ReferenceDataCache referenceDataCache;
+    private final StaffExportService staffExportService;
+    private final SalaryDistributionService salaryDistributionService;
+    private final DashboardService dashboardService;
+    private final BulkUpdateService bulkUpdateService;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final VersionedResponseCache responseCache;
+    private final OrgChartService orgChartService;
+    private final StaffImportService staffImportService;
+    private final ChangeStreamService changeStreamService;
+    private final StaffDirectoryService staffDirectoryService;
+    private final int bulkMaxItems;
 
     @Autowired
     public HRManagerController(StaffService staffService,
                                SectionService sectionService,
                                PlaceService placeService,
-                               EmploymentHistoryService employmentHistoryService) {
+                               EmploymentHistoryService employmentHistoryService,
+                               ReferenceDataCache referenceDataCache,
+                               StaffExportService staffExportService,
+                               SalaryDistributionService salaryDistributionService,
+                               DashboardService dashboardService,
+                               BulkUpdateService bulkUpdateService,
+                               DataVersionRegistry dataVersionRegistry,
+                               VersionedResponseCache responseCache,
+                               OrgChartService orgChartService,
+                               StaffImportService staffImportService,
+                               ChangeStreamService changeStreamService,
+                               StaffDirectoryService staffDirectoryService,
+                               @Value("${hr.bulk.max-items:50000}") int bulkMaxItems) {
         this.staffService = staffService;
         this.sectionService = sectionService;
         this.placeService = placeService;
         this.employmentHistoryService = employmentHistoryService;
+        this.referenceDataCache = referenceDataCache;
+        this.staffExportService = staffExportService;
+        this.salaryDistributionService = salaryDistributionService;
+        this.dashboardService = dashboardService;
+        this.bulkUpdateService = bulkUpdateService;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.responseCache = responseCache;
+        this.orgChartService = orgChartService;
+        this.staffImportService = staffImportService;
+        this.changeStreamService = changeStreamService;
+        this.staffDirectoryService = staffDirectoryService;
+        this.bulkMaxItems = bulkMaxItems;
     }
 
+    /**
+     * 仪表板数据：部门、地点、薪资统计、员工总数和员工列表第一页，各分项并发加载
+     * @param limit 员工列表第一页的行数
+     * @return 仪表板数据，失败的分项列在 failures 中
+     */
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping("/dashboard")
+    public ResponseEntity<HRDashboardDTO> getDashboard(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(dashboardService.getHRDashboard(limit));
+    }
+
+    @Workload(WorkloadClass.REPORTING)
     @GetMapping("/employees")
     public ResponseEntity<List<StaffDTO>> getAllEmployees(
             @RequestParam(defaultValue = "false") boolean orderBySalary) {
@@ -39,6 +119,64 @@ public class HRManagerController {
         return ResponseEntity.ok(employees);
     }
 
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping(value = "/employees", params = "limit")
+    public ResponseEntity<StaffPageDTO> getEmployeePage(
+            @RequestParam(defaultValue = "false") boolean orderBySalary,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        try {
+            return ResponseEntity.ok(staffService.getStaffPage(orderBySalary, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // 游标无效
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 全量导出员工目录，逐行写出到响应流
+     * @param format ndjson 或 csv
+     * @return 流式响应体
+     */
+    @Workload(WorkloadClass.BULK)
+    @GetMapping("/export/employees")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        StaffExportService.Format exportFormat;
+        try {
+            exportFormat = StaffExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        MediaType contentType = exportFormat == StaffExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String fileName = "staffs." + exportFormat.name().toLowerCase();
+
+        StreamingResponseBody body = out -> staffExportService.exportAllStaff(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    /**
+     * 员工目录组合查询：按薪资、入职日期、职位、部门和上级筛选，任意排序，可按部门或职位分组汇总。
+     * 由内存中的列式快照回答，只有返回的一页员工访问数据库
+     * @param request 查询条件、排序、分组和分页
+     * @return 匹配员工的汇总、分组汇总和当前页
+     */
+    @Workload(WorkloadClass.REPORTING)
+    @PostMapping("/directory/query")
+    public ResponseEntity<DirectoryQueryResultDTO> queryDirectory(@RequestBody DirectoryQueryRequestDTO request) {
+        try {
+            return ResponseEntity.ok(staffDirectoryService.query(request));
+        } catch (IllegalArgumentException e) {
+            // 排序字段、分组方式或分页范围无效
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/employee/{staffId}")
     public ResponseEntity<StaffDTO> getEmployeeById(@PathVariable Long staffId) {
         StaffDTO employee = staffService.getStaffById(staffId);
@@ -54,16 +192,62 @@ public class HRManagerController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<StaffNameSuggestionDTO>> suggestEmployeeNames(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Long sectionId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(staffService.suggestStaffNames(prefix, sectionId, limit));
+    }
+
+    @Workload(WorkloadClass.REPORTING)
     @GetMapping("/salary-stats")
-    public ResponseEntity<List<SalaryStatsDTO>> getAllSectionsSalaryStats() {
-        List<SalaryStatsDTO> stats = staffService.getSalaryStatsByAllSections();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<byte[]> getAllSectionsSalaryStats(WebRequest request) {
+        // 统计值随员工变更，部门名称随部门变更
+        String etag = dataVersionRegistry.etag(DataResource.STAFF, DataResource.SECTIONS);
+        return versionedJson(request, "hr.salary-stats", etag, staffService::getSalaryStatsByAllSections);
+    }
+
+    /**
+     * 薪资统计和部门列表的变更推送（text/event-stream），代替定时轮询 /salary-stats 和 /sections。
+     * 首次连接先收到 snapshot 事件（完整数据），之后只收到 salary-stats 和 sections 增量事件。
+     * EventSource 无法设置请求头，令牌可通过 access_token 查询参数传递。
+     * @param lastEventId 浏览器重连时自动携带的最后事件ID；页面重新打开时也可通过同名查询参数传入
+     * @return 事件流
+     */
+    @Workload(WorkloadClass.STREAM)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        SseEmitter emitter = changeStreamService.subscribe(lastEventId != null ? lastEventId : lastEventIdParam);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // 禁止反向代理缓冲事件流
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping("/salary-distribution")
+    public ResponseEntity<SalaryDistributionReportDTO> getSalaryDistributions(
+            @RequestParam(defaultValue = "1000") BigDecimal bucketWidth) {
+        if (bucketWidth.signum() <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(salaryDistributionService.getSalaryDistributions(bucketWidth));
+        } catch (IllegalArgumentException e) {
+            // 桶宽过小导致桶数超限
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/sections")
-    public ResponseEntity<List<SectionDTO>> getAllSections() {
-        List<SectionDTO> sections = sectionService.getAllSections();
-        return ResponseEntity.ok(sections);
+    public ResponseEntity<byte[]> getAllSections(WebRequest request) {
+        // 部门列表包含经理姓名和地点信息
+        String etag = dataVersionRegistry.etag(DataResource.SECTIONS, DataResource.STAFF, DataResource.PLACES);
+        return versionedJson(request, "hr.sections", etag, sectionService::getAllSections);
     }
 
     @GetMapping("/section/{sectionId}")
@@ -87,10 +271,86 @@ public class HRManagerController {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * 批量更新电话号码，按分块批量执行，每个分块一个事务
+     * @param items 员工ID和新电话号码
+     * @return 每个条目的更新结果，顺序与请求一致
+     */
+    @Workload(WorkloadClass.BULK)
+    @PutMapping("/bulk/phones")
+    public ResponseEntity<BulkUpdateResultDTO> bulkUpdatePhoneNumbers(
+            @RequestBody List<PhoneBulkUpdateItemDTO> items) {
+        if (items.size() > bulkMaxItems) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bulkUpdateService.updatePhoneNumbers(items));
+        } catch (IllegalArgumentException e) {
+            // 条目缺少员工ID
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Workload(WorkloadClass.BULK)
+    @PutMapping("/bulk/section-names")
+    public ResponseEntity<BulkUpdateResultDTO> bulkUpdateSectionNames(
+            @RequestBody List<SectionNameBulkUpdateItemDTO> items) {
+        if (items.size() > bulkMaxItems) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bulkUpdateService.updateSectionNames(items));
+        } catch (IllegalArgumentException e) {
+            // 条目缺少部门ID
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 批量导入员工，请求体为 CSV（带表头）或 NDJSON，写入临时文件后在后台导入
+     * @param format csv 或 ndjson
+     * @return 202 和任务状态，通过 /import/jobs/{jobId} 查询进度
+     */
+    @Workload(WorkloadClass.BULK)
+    @PostMapping("/import/staffs")
+    public ResponseEntity<ImportJobDTO> importStaffs(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        return startImport(StaffImportService.Target.STAFFS, format, body);
+    }
+
+    @Workload(WorkloadClass.BULK)
+    @PostMapping("/import/employment-history")
+    public ResponseEntity<ImportJobDTO> importEmploymentHistory(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        return startImport(StaffImportService.Target.EMPLOYMENT_HISTORY, format, body);
+    }
+
+    @GetMapping("/import/jobs/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        ImportJobDTO job = staffImportService.getJob(jobId);
+        if (job != null) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    private ResponseEntity<ImportJobDTO> startImport(StaffImportService.Target target, String format,
+                                                     InputStream body) throws IOException {
+        StaffImportService.Format importFormat;
+        try {
+            importFormat = StaffImportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted().body(staffImportService.startImport(target, importFormat, body));
+    }
+
     @GetMapping("/places")
-    public ResponseEntity<List<PlaceDTO>> getAllPlaces() {
-        List<PlaceDTO> places = placeService.getAllPlaces();
-        return ResponseEntity.ok(places);
+    public ResponseEntity<byte[]> getAllPlaces(WebRequest request) {
+        String etag = dataVersionRegistry.etag(DataResource.PLACES);
+        return versionedJson(request, "hr.places", etag, placeService::getAllPlaces);
     }
 
     @PostMapping("/places")
@@ -104,4 +364,96 @@ public class HRManagerController {
         List<EmploymentHistoryDTO> history = employmentHistoryService.getEmploymentHistoryByStaffId(staffId);
         return ResponseEntity.ok(history);
     }
+
+    /**
+     * 汇报链：从直接上级到最高层
+     */
+    @GetMapping("/employee/{staffId}/reporting-chain")
+    public ResponseEntity<List<OrgNodeDTO>> getReportingChain(@PathVariable Long staffId) {
+        List<OrgNodeDTO> chain = orgChartService.getReportingChain(staffId);
+        if (chain != null) {
+            return ResponseEntity.ok(chain);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/employee/{staffId}/direct-reports")
+    public ResponseEntity<List<OrgNodeDTO>> getDirectReports(@PathVariable Long staffId) {
+        List<OrgNodeDTO> reports = orgChartService.getDirectReports(staffId);
+        if (reports != null) {
+            return ResponseEntity.ok(reports);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 全部下属及子树人数、薪资总额
+     * @param maxDepth 最多展开的层数，0 表示不限制；人数和薪资总额始终覆盖整个子树
+     */
+    @GetMapping("/employee/{staffId}/subtree")
+    public ResponseEntity<OrgSubtreeDTO> getSubtree(
+            @PathVariable Long staffId,
+            @RequestParam(defaultValue = "0") int maxDepth) {
+        OrgSubtreeDTO subtree = orgChartService.getSubtree(staffId, maxDepth);
+        if (subtree != null) {
+            return ResponseEntity.ok(subtree);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 指定日期在该部门任职的员工
+     * @param date 日期，格式 yyyy-MM-dd
+     * @return 该日期覆盖的任职记录
+     */
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping("/section/{sectionId}/members")
+    public ResponseEntity<List<SectionMemberDTO>> getSectionMembersAt(
+            @PathVariable Long sectionId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(employmentHistoryService.getSectionMembersAt(sectionId, date));
+    }
+
+    /**
+     * 各部门每个月末的在职人数
+     * @param from 起始月份，格式 yyyy-MM
+     * @param to 结束月份（含）
+     * @param sectionId 部门过滤条件，不传时返回全部部门
+     */
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping("/headcount")
+    public ResponseEntity<List<SectionHeadcountDTO>> getMonthEndHeadcounts(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(required = false) Long sectionId) {
+        try {
+            return ResponseEntity.ok(employmentHistoryService.getMonthEndHeadcounts(sectionId, from, to));
+        } catch (IllegalArgumentException e) {
+            // 月份范围无效或过长
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/reference-data/stats")
+    public ResponseEntity<ReferenceDataStatsDTO> getReferenceDataStats() {
+        return ResponseEntity.ok(referenceDataCache.getStats());
+    }
+
+    /**
+     * 带 ETag 的 JSON 响应。If-None-Match 命中时直接返回 304，不加载数据；
+     * 否则返回按 ETag 缓存的响应体，同一版本只序列化一次。
+     */
+    private ResponseEntity<byte[]> versionedJson(WebRequest request, String key, String etag, Supplier<?> loader) {
+        // 客户端可以缓存，但每次使用前需向服务器验证
+        CacheControl cacheControl = CacheControl.noCache();
+        if (request.checkNotModified(etag)) {
+            // checkNotModified 已设置 304 状态和 ETag 响应头
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseCache.get(key, etag, loader));
+    }
 }
\ No newline at end of file
@@ -1,25 +1,37 @@
 package com.hr.management.controller;
 
+import com.hr.management.dto.SalaryDistributionDTO;
 import com.hr.management.dto.SalaryStatsDTO;
 import com.hr.management.dto.StaffDTO;
+import com.hr.management.dto.StaffNameSuggestionDTO;
+import com.hr.management.dto.StaffPageDTO;
+import com.hr.management.service.SalaryDistributionService;
 import com.hr.management.service.StaffService;
+import com.hr.management.workload.Workload;
+import com.hr.management.workload.WorkloadClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
+@Workload(WorkloadClass.INTERACTIVE)
 @RequestMapping("/api/manager")
 public class ManagerController {
 
     private final StaffService staffService;
+    private final SalaryDistributionService salaryDistributionService;
 
     @Autowired
-    public ManagerController(StaffService staffService) {
+    public ManagerController(StaffService staffService,
+                             SalaryDistributionService salaryDistributionService) {
         this.staffService = staffService;
+        this.salaryDistributionService = salaryDistributionService;
     }
 
+    @Workload(WorkloadClass.REPORTING)
     @GetMapping("/section/{sectionId}/employees")
     public ResponseEntity<List<StaffDTO>> getSectionEmployees(
             @PathVariable Long sectionId,
@@ -29,6 +41,21 @@ public class ManagerController {
         return ResponseEntity.ok(employees);
     }
 
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping(value = "/section/{sectionId}/employees", params = "limit")
+    public ResponseEntity<StaffPageDTO> getSectionEmployeePage(
+            @PathVariable Long sectionId,
+            @RequestParam(defaultValue = "false") boolean orderBySalary,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        try {
+            return ResponseEntity.ok(staffService.getStaffPageBySection(sectionId, orderBySalary, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // 游标无效
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/section/{sectionId}/employee/{staffId}")
     public ResponseEntity<StaffDTO> getEmployeeById(
             @PathVariable Long sectionId,
@@ -50,6 +77,15 @@ public class ManagerController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/section/{sectionId}/search/suggest")
+    public ResponseEntity<List<StaffNameSuggestionDTO>> suggestEmployeeNames(
+            @PathVariable Long sectionId,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(staffService.suggestStaffNames(prefix, sectionId, limit));
+    }
+
+    @Workload(WorkloadClass.REPORTING)
     @GetMapping("/section/{sectionId}/salary-stats")
     public ResponseEntity<SalaryStatsDTO> getSectionSalaryStats(@PathVariable Long sectionId) {
         SalaryStatsDTO stats = staffService.getSalaryStatsBySection(sectionId);
@@ -58,4 +94,20 @@ public class ManagerController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    @Workload(WorkloadClass.REPORTING)
+    @GetMapping("/section/{sectionId}/salary-distribution")
+    public ResponseEntity<SalaryDistributionDTO> getSectionSalaryDistribution(
+            @PathVariable Long sectionId,
+            @RequestParam(defaultValue = "1000") BigDecimal bucketWidth) {
+        if (bucketWidth.signum() <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(salaryDistributionService.getSalaryDistributionBySection(sectionId, bucketWidth));
+        } catch (IllegalArgumentException e) {
+            // 桶宽过小导致桶数超限
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.hr.management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 只读副本路由。
+ *
+ * <p>只读事务的连接按轮询依次从可用的副本获取。副本在健康检查中连接失败或复制延迟超过阈值、
+ * 或者获取连接时抛出异常，都会被标记为不可用并跳过，直到下一次健康检查恢复；
+ * 没有可用副本时回退到主库。副本启动后先标记为不可用，首次检查通过后才开始分担读请求。</p>
+ *
+ * <p>主库和副本的连接池都由本类持有，不注册为 Spring Bean，
+ * 避免被 {@code QueryCountingDataSourcePostProcessor} 重复包装；语句统计在外层数据源上完成。
+ * 健康检查直接使用副本连接池，不计入请求的语句数。</p>
+ */
+public class ReadReplicaRouter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    /**
+     * 复制延迟（秒）。WAL 已全部回放时为 0，避免主库空闲时回放时间戳变旧被误判为延迟；
+     * 不处于恢复状态（不是备库）时为 NULL，按 0 处理。
+     */
+    public static final String DEFAULT_LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService healthChecker;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    public ReadReplicaRouter(HikariDataSource primary,
+                             List<HikariDataSource> replicaPools,
+                             String lagQuery,
+                             double maxLagSeconds,
+                             long healthCheckIntervalMillis) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("read-replica-health").daemon().factory());
+        if (!replicas.isEmpty()) {
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 写事务和非事务访问使用的主库。
+     */
+    public DataSource primaryDataSource() {
+        return primary;
+    }
+
+    /**
+     * 只读事务使用的数据源：每次取连接时选择下一个可用副本，全部不可用时取主库连接。
+     */
+    public DataSource readOnlyDataSource() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return getReadOnlyConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+            }
+        };
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getReplicaConnectionCount() {
+        return replicaConnections.sum();
+    }
+
+    public long getPrimaryFallbackCount() {
+        return primaryFallbacks.sum();
+    }
+
+    private Connection getReadOnlyConnection() throws SQLException {
+        int size = replicas.size();
+        int start = size > 0 ? Math.floorMod(next.getAndIncrement(), size) : 0;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Read replica {} failed to provide a connection, skipping it until the next health check",
+                        replica.getName(), e);
+                replica.available = false;
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                double lag = rs.next() ? rs.getDouble(1) : 0;
+                replica.lagSeconds = lag;
+                available = lag <= maxLagSeconds;
+                if (!available && replica.available) {
+                    log.warn("Read replica {} is {} s behind the primary, routing reads elsewhere",
+                            replica.getName(), lag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                available = false;
+                replica.lagSeconds = Double.NaN;
+                if (replica.available) {
+                    log.warn("Read replica {} failed its health check", replica.getName(), e);
+                }
+            }
+            if (available && !replica.available) {
+                log.info("Read replica {} is available", replica.getName());
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+        primary.close();
+    }
+
+    /**
+     * 一个副本连接池及其最近一次健康检查的结果。
+     */
+    public static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        public String getName() {
+            return pool.getPoolName();
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        // 最近一次检查的复制延迟，检查失败时为 NaN
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+    }
+}
\ No newline at end of file
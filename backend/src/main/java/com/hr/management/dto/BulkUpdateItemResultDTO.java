@@ -0,0 +1,11 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkUpdateItemResultDTO {
+    private Long id;
+
+    // UPDATED、UNCHANGED、NOT_FOUND 或 FAILED
+    private String status;
+}
\ No newline at end of file
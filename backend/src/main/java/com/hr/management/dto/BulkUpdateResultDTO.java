@@ -0,0 +1,17 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkUpdateResultDTO {
+    private int updated;
+    // 员工或部门存在，但新值与现有值相同
+    private int unchanged;
+    private int notFound;
+    private int failed;
+
+    // 与请求中的条目一一对应
+    private List<BulkUpdateItemResultDTO> results;
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ChangeDeltaDTO<T> {
+    // 新增或内容有变化的条目，整条替换
+    private List<T> changed;
+
+    // 已不存在的条目的部门ID
+    private List<Long> removed;
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ChangeSnapshotDTO {
+    // 与 /api/hr/salary-stats 相同
+    private List<SalaryStatsDTO> salaryStats;
+
+    // 与 /api/hr/sections 相同
+    private List<SectionDTO> sections;
+}
\ No newline at end of file
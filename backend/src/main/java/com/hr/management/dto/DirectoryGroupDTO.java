@@ -0,0 +1,14 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class DirectoryGroupDTO {
+    // 部门ID或职位ID，未分配部门或职位的员工为空
+    private String key;
+
+    // 部门名称或职位名称
+    private String name;
+
+    private DirectoryStatsDTO stats;
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class DirectoryQueryRequestDTO {
+    // 薪资范围（含两端），任一端为空时该端不限
+    private BigDecimal salaryMin;
+    private BigDecimal salaryMax;
+
+    // 入职日期范围（含两端），格式 yyyy-MM-dd
+    private LocalDate hiredFrom;
+    private LocalDate hiredTo;
+
+    // 值集合条件，为空或空列表时不过滤
+    private List<String> employmentIds;
+    private List<Long> sectionIds;
+    private List<Long> managerIds;
+
+    // 排序键，依次比较，最后按员工ID升序
+    private List<DirectorySortDTO> sort;
+
+    // 分组汇总：section 或 employment，为空时只返回总计
+    private String groupBy;
+
+    private int offset = 0;
+
+    // 为 0 时只返回汇总，不返回员工
+    private int limit = 50;
+}
\ No newline at end of file
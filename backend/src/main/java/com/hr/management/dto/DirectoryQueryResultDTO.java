@@ -0,0 +1,17 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DirectoryQueryResultDTO {
+    // 全部匹配员工的汇总，与分页无关
+    private DirectoryStatsDTO total;
+
+    // 按分组列的值排序，未请求分组时为空列表
+    private List<DirectoryGroupDTO> groups;
+
+    // 排序后第 offset 行起的 limit 名员工
+    private List<StaffDTO> items;
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class DirectorySortDTO {
+    // staffId、salary、hireDate、employmentId、sectionId 或 managerId
+    private String field;
+    private boolean descending;
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class DirectoryStatsDTO {
+    private long count;
+
+    // 薪资汇总只计薪资不为空的员工，没有这样的员工时为空
+    private BigDecimal totalSalary;
+    private BigDecimal maxSalary;
+    private BigDecimal minSalary;
+    private Double avgSalary;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class HRDashboardDTO {
+    private long employeeCount;
+    private List<SectionDTO> sections;
+    private List<PlaceDTO> places;
+    private List<SalaryStatsDTO> salaryStats;
+
+    // 员工列表第一页
+    private StaffPageDTO employees;
+
+    // 失败或超时的分项 -> 原因，对应字段为空
+    private Map<String, String> failures;
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class HeadcountPointDTO {
+    private LocalDate date;
+    private int headcount;
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class HistogramBucketDTO {
+    // 区间 [lowerBound, upperBound)
+    private BigDecimal lowerBound;
+    private BigDecimal upperBound;
+    private long count;
+}
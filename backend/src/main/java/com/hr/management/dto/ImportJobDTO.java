@@ -0,0 +1,32 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ImportJobDTO {
+    private String jobId;
+
+    // STAFFS 或 EMPLOYMENT_HISTORY
+    private String target;
+
+    // QUEUED、RUNNING、COMPLETED 或 FAILED
+    private String status;
+
+    // 运行中的阶段：COPYING、VALIDATING、INSERTING
+    private String phase;
+
+    private long rowsRead;
+    private long rowsCopied;
+    private long rowsRejected;
+    private long rowsInserted;
+
+    // 被拒绝的行，按行号排序，最多返回 hr.import.max-reported-rejects 条
+    private List<ImportRejectDTO> rejected;
+
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportRejectDTO {
+    // 记录在文件中的起始行号，从 1 开始，CSV 表头为第 1 行
+    private long line;
+    private Long staffId;
+    private String reason;
+}
\ No newline at end of file
@@ -9,4 +9,6 @@ public class LoginResponseDTO {
     private String lastName;
     private String role;  // EMPLOYEE, DEPARTMENT_MANAGER, HR_MANAGER
     private String sectionId;  // 仅部门经理需要
+    private String token;  // 后续请求放在 Authorization: Bearer 请求头中
+    private long expiresAt;  // 令牌过期时间（毫秒时间戳）
 }
\ No newline at end of file
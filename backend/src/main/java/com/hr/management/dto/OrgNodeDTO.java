@@ -0,0 +1,20 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class OrgNodeDTO {
+    private Long staffId;
+    private String fullName;
+    private Long managerId;
+
+    // 相对于查询员工的层级：汇报链中直接上级为 1，子树中直接下属为 1
+    private int depth;
+    private int directReportCount;
+
+    // 以该员工为根的子树人数和薪资总额，含本人
+    private long subtreeSize;
+    private BigDecimal subtreeSalary;
+}
\ No newline at end of file
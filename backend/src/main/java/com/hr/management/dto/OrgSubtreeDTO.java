@@ -0,0 +1,14 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OrgSubtreeDTO {
+    // 查询的员工，包含整个子树的人数和薪资总额
+    private OrgNodeDTO root;
+
+    // 全部下属，按层级先序排列
+    private List<OrgNodeDTO> members;
+}
\ No newline at end of file
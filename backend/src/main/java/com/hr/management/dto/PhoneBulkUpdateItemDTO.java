@@ -0,0 +1,9 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class PhoneBulkUpdateItemDTO {
+    private Long staffId;
+    private String phoneNumber;
+}
\ No newline at end of file
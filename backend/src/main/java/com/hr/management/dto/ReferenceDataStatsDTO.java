@@ -0,0 +1,19 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class ReferenceDataStatsDTO {
+    private long version;
+    private long hits;
+    private long misses;
+    private long rebuilds;
+
+    // 快照中各类参考数据的条数
+    private int sections;
+    private int employments;
+    private int states;
+    private int places;
+    private int areas;
+    private int colleges;
+}
@@ -0,0 +1,26 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class SalaryDistributionDTO {
+    // 为空表示全公司汇总
+    private Long sectionId;
+    private String sectionName;
+    private long count;
+    private Double minSalary;
+    private Double maxSalary;
+
+    // 分位数估计值，相对误差不超过 1%
+    private Double p25;
+    private Double p50;
+    private Double p75;
+    private Double p90;
+    private Double p99;
+
+    private BigDecimal bucketWidth;
+    private List<HistogramBucketDTO> histogram;
+}
@@ -0,0 +1,11 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SalaryDistributionReportDTO {
+    private SalaryDistributionDTO organization;
+    private List<SalaryDistributionDTO> sections;
+}
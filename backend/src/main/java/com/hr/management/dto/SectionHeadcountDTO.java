@@ -0,0 +1,14 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SectionHeadcountDTO {
+    private Long sectionId;
+    private String sectionName;
+
+    // 每个月末的在职人数
+    private List<HeadcountPointDTO> points;
+}
\ No newline at end of file
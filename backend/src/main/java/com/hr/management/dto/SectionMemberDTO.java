@@ -0,0 +1,15 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class SectionMemberDTO {
+    private Long staffId;
+    private String fullName;
+
+    // 该段任职的起止日期，当前任职的结束日期为空
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class SectionNameBulkUpdateItemDTO {
+    private Long sectionId;
+    private String sectionName;
+}
\ No newline at end of file
@@ -2,11 +2,13 @@ package com.hr.management.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class StaffDTO {
     private Long staffId;
     private String firstName;
@@ -27,4 +29,25 @@ public class StaffDTO {
 
     @JsonIgnore
     private String password;
+
+    /**
+     * 供 JPQL 构造器表达式使用：只包含查询列，不含密码，经理姓名由调用方补全。
+     */
+    public StaffDTO(Long staffId, String firstName, String lastName, String email, String phoneNumber,
+                    LocalDateTime hireDate, String employmentId, BigDecimal salary, BigDecimal commissionPct,
+                    Long managerId, Long sectionId, String sectionName, String employmentTitle) {
+        this.staffId = staffId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.hireDate = hireDate;
+        this.employmentId = employmentId;
+        this.salary = salary;
+        this.commissionPct = commissionPct;
+        this.managerId = managerId;
+        this.sectionId = sectionId;
+        this.sectionName = sectionName;
+        this.employmentTitle = employmentTitle;
+    }
 }
\ No newline at end of file
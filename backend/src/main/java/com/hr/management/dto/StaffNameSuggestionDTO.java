@@ -0,0 +1,11 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+@Data
+public class StaffNameSuggestionDTO {
+    private Long staffId;
+    private String firstName;
+    private String lastName;
+    private Long sectionId;
+}
@@ -0,0 +1,13 @@
+package com.hr.management.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class StaffPageDTO {
+    private List<StaffDTO> items;
+
+    // 下一页游标，为空表示已是最后一页
+    private String nextCursor;
+}
@@ -0,0 +1,344 @@
+package com.hr.management.event;
+
+import com.hr.management.cache.DataResource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 跨节点的数据变更通知，基于 PostgreSQL LISTEN/NOTIFY。
+ *
+ * <p>多实例部署时，每个节点各自维护参考数据快照和员工索引，本节点的写操作只会更新本节点的缓存。
+ * 写操作在事务中调用 {@link #publish(DataResource, Long)} 登记变更的实体，提交前在同一连接上
+ * 执行 pg_notify：PostgreSQL 只在事务提交时投递通知，回滚的事务不会发出通知，
+ * 其他节点收到通知时数据已经提交。同一事务内的多次变更合并为每个资源一条通知。</p>
+ *
+ * <p>每个节点用一个独立连接（不占用连接池）LISTEN，收到通知后再等待 coalesce-ms，
+ * 把一段时间内的突发通知合并为一个 {@link ChangeSet}，交给各 {@link InvalidationHandler}。
+ * 连接断开期间的通知会丢失，因此重新连接后以 {@link ChangeSet#all()} 做一次全量同步。
+ * 启动时各缓存加载完成到开始监听之间的通知同样无法收到，这一窗口通常只有几毫秒。</p>
+ */
+@Component
+public class ChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    // 通道名直接拼入 LISTEN 语句，固定为常量
+    static final String CHANNEL = "hr_data_changes";
+    // NOTIFY 载荷上限为 8000 字节，ID 较多时拆成多条
+    private static final int MAX_PAYLOAD_CHARS = 7000;
+    private static final String WHOLE = "*";
+    // 检查监听连接是否可用的超时时间（秒）
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<InvalidationHandler> handlers;
+    private final boolean enabled;
+    private final long coalesceMillis;
+    private final int maxIds;
+    private final long reconnectIntervalMillis;
+    private final int pollIntervalMillis;
+
+    // 本节点标识，用于忽略自己发出的通知
+    private final String nodeId = Long.toHexString(new SecureRandom().nextLong());
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Thread listener;
+    private volatile Connection listenConnection;
+
+    @Autowired
+    public ChangeEventBus(DataSource dataSource,
+                          DataSourceProperties dataSourceProperties,
+                          ObjectProvider<InvalidationHandler> handlers,
+                          @Value("${hr.events.notify.enabled:false}") boolean enabled,
+                          @Value("${hr.events.notify.coalesce-ms:200}") long coalesceMillis,
+                          @Value("${hr.events.notify.max-ids:5000}") int maxIds,
+                          @Value("${hr.events.notify.reconnect-interval-ms:5000}") long reconnectIntervalMillis,
+                          @Value("${hr.events.notify.poll-interval-ms:10000}") int pollIntervalMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.dataSourceProperties = dataSourceProperties;
+        this.handlers = handlers;
+        this.enabled = enabled;
+        this.coalesceMillis = coalesceMillis;
+        this.maxIds = maxIds;
+        this.reconnectIntervalMillis = reconnectIntervalMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofVirtual().name("change-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        closeQuietly(listenConnection);
+    }
+
+    /**
+     * 登记一个实体的变更，在当前事务提交时通知其他节点；不在事务中时立即发送。
+     * @param id 实体ID，为 null 表示整个资源都可能变化
+     */
+    public void publish(DataResource resource, Long id) {
+        if (!enabled) {
+            return;
+        }
+        ChangeSet changes = transactionChanges();
+        if (changes == null) {
+            ChangeSet single = new ChangeSet(maxIds);
+            single.add(resource, id);
+            send(single);
+            return;
+        }
+        changes.add(resource, id);
+    }
+
+    /**
+     * 登记整个资源的变更，用于批量导入等无法逐条列出ID的写操作。
+     */
+    public void publishAll(DataResource resource) {
+        publish(resource, null);
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    public long getResyncCount() {
+        return resyncs.sum();
+    }
+
+    // 当前事务登记的变更，首次登记时注册提交前发送的回调；不在事务中时返回 null
+    private ChangeSet transactionChanges() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        ChangeSet changes = (ChangeSet) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            ChangeSet bound = new ChangeSet(maxIds);
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // 与业务写入在同一连接、同一事务中执行，提交成功才会投递
+                    send(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeEventBus.this);
+                }
+            });
+            changes = bound;
+        }
+        return changes;
+    }
+
+    private void send(ChangeSet changes) {
+        for (String payload : encode(changes)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> {
+            }, CHANNEL, payload);
+            published.increment();
+        }
+    }
+
+    // 载荷格式：节点标识:资源:以逗号分隔的ID，整个资源变更时ID部分为 *
+    private List<String> encode(ChangeSet changes) {
+        List<String> payloads = new ArrayList<>();
+        for (DataResource resource : changes.resources()) {
+            String prefix = nodeId + ":" + resource.name() + ":";
+            if (changes.isWhole(resource)) {
+                payloads.add(prefix + WHOLE);
+                continue;
+            }
+            StringBuilder payload = new StringBuilder(prefix);
+            for (Long id : changes.ids(resource)) {
+                if (payload.length() > MAX_PAYLOAD_CHARS) {
+                    payloads.add(payload.toString());
+                    payload = new StringBuilder(prefix);
+                }
+                if (payload.length() > prefix.length()) {
+                    payload.append(',');
+                }
+                payload.append(id);
+            }
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    private void decode(String payload, ChangeSet changes) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed change notification: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            // 本节点的缓存已在写操作提交后更新
+            return;
+        }
+        DataResource resource;
+        try {
+            resource = DataResource.valueOf(parts[1]);
+        } catch (IllegalArgumentException e) {
+            // 其他版本的节点发出的、本版本不认识的资源
+            log.debug("Ignoring change notification for unknown resource {}", parts[1]);
+            return;
+        }
+        received.increment();
+        if (WHOLE.equals(parts[2])) {
+            changes.addWhole(resource);
+            return;
+        }
+        try {
+            for (String id : parts[2].split(",")) {
+                changes.add(resource, Long.valueOf(id));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Change notification with malformed ids, reloading {}: {}", resource, payload);
+            changes.addWhole(resource);
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                listening = true;
+                log.info("Listening for data change notifications on channel {}", CHANNEL);
+                if (reconnect) {
+                    // 断开期间的通知已丢失，全部缓存重新加载
+                    resyncs.increment();
+                    dispatch(ChangeSet.all());
+                }
+                reconnect = true;
+                receive(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Change notification listener disconnected, reconnecting in {} ms",
+                            reconnectIntervalMillis, e);
+                }
+            } finally {
+                listening = false;
+                listenConnection = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMillis);
+            if (notifications == null || notifications.length == 0) {
+                // 空闲时确认连接仍然可用，半开的连接不会自行报错
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Change notification connection is no longer valid");
+                }
+                continue;
+            }
+            ChangeSet changes = new ChangeSet(maxIds);
+            collect(notifications, changes);
+            // 合并突发：收到第一条通知后继续收集 coalesce-ms 内到达的通知，一次分发
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(coalesceMillis);
+            long remaining;
+            while ((remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) > 0) {
+                collect(pgConnection.getNotifications((int) remaining), changes);
+            }
+            if (!changes.isEmpty()) {
+                dispatch(changes);
+            }
+        }
+    }
+
+    private void collect(PGNotification[] notifications, ChangeSet changes) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            if (CHANNEL.equals(notification.getName())) {
+                decode(notification.getParameter(), changes);
+            }
+        }
+    }
+
+    private void dispatch(ChangeSet changes) {
+        log.debug("Applying remote data changes: {}", changes);
+        handlers.orderedStream().forEach(handler -> {
+            try {
+                handler.invalidate(changes);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation handler {} failed for {}", handler.getClass().getSimpleName(), changes, e);
+            }
+        });
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close change notification connection", e);
+        }
+    }
+}
\ No newline at end of file
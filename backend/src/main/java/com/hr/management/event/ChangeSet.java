@@ -0,0 +1,102 @@
+package com.hr.management.event;
+
+import com.hr.management.cache.DataResource;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 一批合并后的数据变更：每个资源要么是若干实体ID，要么是整个资源（{@link #isWhole(DataResource)}）。
+ *
+ * <p>同一资源的ID超过 maxIds 个时改为整个资源，处理方整体重新加载，而不是逐条处理大量ID。</p>
+ */
+public final class ChangeSet {
+
+    private final int maxIds;
+    private final Map<DataResource, Set<Long>> ids = new EnumMap<>(DataResource.class);
+    private final Set<DataResource> whole = EnumSet.noneOf(DataResource.class);
+
+    public ChangeSet(int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * 所有资源都整体变更，用于监听连接重建后的全量同步。
+     */
+    public static ChangeSet all() {
+        ChangeSet changes = new ChangeSet(0);
+        for (DataResource resource : DataResource.values()) {
+            changes.addWhole(resource);
+        }
+        return changes;
+    }
+
+    public void add(DataResource resource, Long id) {
+        if (id == null) {
+            addWhole(resource);
+            return;
+        }
+        if (whole.contains(resource)) {
+            return;
+        }
+        Set<Long> resourceIds = ids.computeIfAbsent(resource, r -> new LinkedHashSet<>());
+        resourceIds.add(id);
+        if (resourceIds.size() > maxIds) {
+            addWhole(resource);
+        }
+    }
+
+    public void addWhole(DataResource resource) {
+        whole.add(resource);
+        ids.remove(resource);
+    }
+
+    public void addAll(ChangeSet other) {
+        for (DataResource resource : other.whole) {
+            addWhole(resource);
+        }
+        other.ids.forEach((resource, resourceIds) -> resourceIds.forEach(id -> add(resource, id)));
+    }
+
+    public boolean contains(DataResource resource) {
+        return whole.contains(resource) || ids.containsKey(resource);
+    }
+
+    public boolean isWhole(DataResource resource) {
+        return whole.contains(resource);
+    }
+
+    /**
+     * 变更的实体ID；资源整体变更或未变更时为空集合。
+     */
+    public Set<Long> ids(DataResource resource) {
+        return Collections.unmodifiableSet(ids.getOrDefault(resource, Set.of()));
+    }
+
+    public Set<DataResource> resources() {
+        Set<DataResource> resources = EnumSet.noneOf(DataResource.class);
+        resources.addAll(whole);
+        resources.addAll(ids.keySet());
+        return resources;
+    }
+
+    public boolean isEmpty() {
+        return whole.isEmpty() && ids.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (DataResource resource : resources()) {
+            if (!text.isEmpty()) {
+                text.append(", ");
+            }
+            text.append(resource).append('=').append(isWhole(resource) ? "*" : ids(resource).size());
+        }
+        return text.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.hr.management.event;
+
+import com.hr.management.cache.DataResource;
+
+/**
+ * 数据资源版本号递增事件，由 {@link com.hr.management.cache.DataVersionRegistry} 在每次递增后发布。
+ *
+ * <p>本节点的写操作、批量导入和其他节点的变更通知最终都会递增版本号，
+ * 只关心“某类数据变了”而不关心具体实体的订阅方监听本事件即可。</p>
+ *
+ * @param resource 变更的资源
+ * @param version  递增后的版本号
+ */
+public record DataVersionChangedEvent(DataResource resource, long version) {
+}
\ No newline at end of file
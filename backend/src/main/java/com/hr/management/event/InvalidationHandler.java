@@ -0,0 +1,16 @@
+package com.hr.management.event;
+
+/**
+ * 进程内缓存的失效处理，由 {@link ChangeEventBus} 在收到其他节点提交的变更后调用。
+ *
+ * <p>实现为 Spring Bean 即自动注册。调用在监听线程上串行执行，不在任何事务中；
+ * 处理方应从主库重新读取数据，不能依赖可能有复制延迟的副本。</p>
+ */
+public interface InvalidationHandler {
+
+    /**
+     * 处理一批合并后的变更。changes 可能包含处理方不关心的资源，需自行判断；
+     * 监听连接重建后会以 {@link ChangeSet#all()} 调用，要求整体重新加载。
+     */
+    void invalidate(ChangeSet changes);
+}
\ No newline at end of file
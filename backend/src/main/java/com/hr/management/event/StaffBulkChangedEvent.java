@@ -0,0 +1,12 @@
+package com.hr.management.event;
+
+/**
+ * 员工数据批量变更事件，由批量导入等一次写入大量行的操作在提交后发布。
+ *
+ * <p>逐行发布 {@link StaffChangedEvent} 需要把全部行加载为实体，
+ * 收到本事件的内存索引改为从数据库整体重新加载。</p>
+ *
+ * @param rows 本次写入的行数，仅用于日志
+ */
+public record StaffBulkChangedEvent(long rows) {
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.hr.management.event;
+
+import com.hr.management.entity.Staff;
+
+/**
+ * 员工数据变更事件，由写操作在保存成功后发布，供各内存索引同步。
+ *
+ * @param staffId 变更的员工ID
+ * @param staff   变更后的员工数据，为 null 表示该员工已被删除
+ */
+public record StaffChangedEvent(Long staffId, Staff staff) {
+
+    public boolean isDeleted() {
+        return staff == null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hr.management.event;
+
+import com.hr.management.cache.DataResource;
+import com.hr.management.entity.Staff;
+import com.hr.management.repository.StaffRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 把其他节点的员工变更转为本地的 {@link StaffChangedEvent} / {@link StaffBulkChangedEvent}，
+ * 姓名索引、组织架构、薪资聚合等内存索引与本节点写入时一样更新。
+ *
+ * <p>逐条变更只按ID重新读取一次（一条 IN 查询），数据库中已不存在的员工按删除处理；
+ * 整体变更（批量导入、全量同步）发布批量事件，各索引自行整体重新加载。</p>
+ */
+@Component
+public class StaffInvalidationHandler implements InvalidationHandler {
+
+    private final StaffRepository staffRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public StaffInvalidationHandler(StaffRepository staffRepository, ApplicationEventPublisher eventPublisher) {
+        this.staffRepository = staffRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void invalidate(ChangeSet changes) {
+        if (changes.isWhole(DataResource.STAFF)) {
+            // 远程变更的行数未知，事件中的行数只用于日志
+            eventPublisher.publishEvent(new StaffBulkChangedEvent(0));
+            return;
+        }
+        Set<Long> staffIds = changes.ids(DataResource.STAFF);
+        if (staffIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(staffIds);
+        for (Staff staff : staffRepository.findAllById(staffIds)) {
+            missing.remove(staff.getStaffId());
+            eventPublisher.publishEvent(new StaffChangedEvent(staff.getStaffId(), staff));
+        }
+        for (Long staffId : missing) {
+            eventPublisher.publishEvent(new StaffChangedEvent(staffId, null));
+        }
+    }
+}
\ No newline at end of file
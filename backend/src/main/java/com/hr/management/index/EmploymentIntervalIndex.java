@@ -0,0 +1,296 @@
+package com.hr.management.index;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.EmploymentHistoryRepository;
+import com.hr.management.repository.StaffRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按部门组织的任职区间索引，用于时间点查询。
+ *
+ * <p>任职区间来自两部分：employment_history 中的历史任职（起止日期均包含在内），
+ * 以及 staffs 中的当前任职（从最后一条历史记录结束的次日或入职日开始，没有结束日）。
+ * 每个部门的区间按开始日排序保存在数组中，并以数组中点递归构成隐式平衡树，
+ * 每个节点记录子树内的最大结束日：</p>
+ * <ul>
+ *   <li>某日在职人员：沿树剪枝查找，O(log n + k)。</li>
+ *   <li>某日在职人数：开始日 ≤ T 的区间数减去结束日 &lt; T 的区间数，两次二分查找，O(log n)。</li>
+ * </ul>
+ *
+ * <p>历史区间启动时加载一次；当前任职通过 {@link StaffChangedEvent} 更新，
+ * 受影响的部门整体重建后原子替换，查询不加锁。批量导入后收到 {@link StaffBulkChangedEvent} 时全部重新加载。</p>
+ */
+@Component
+public class EmploymentIntervalIndex {
+
+    // 当前任职没有结束日
+    private static final long OPEN_END = Long.MAX_VALUE;
+    // 没有入职日期也没有历史记录时，视为一直在职
+    private static final long UNKNOWN_START = Long.MIN_VALUE;
+
+    private final EmploymentHistoryRepository employmentHistoryRepository;
+    private final StaffRepository staffRepository;
+
+    private final Map<Long, SectionIntervals> sections = new ConcurrentHashMap<>();
+    // 以下字段只在持有锁时访问
+    private final Map<Long, List<Interval>> historical = new HashMap<>();
+    private final Map<Long, Interval> current = new HashMap<>();
+    private final Map<Long, Long> lastHistoryEnd = new HashMap<>();
+
+    @Autowired
+    public EmploymentIntervalIndex(EmploymentHistoryRepository employmentHistoryRepository,
+                                   StaffRepository staffRepository) {
+        this.employmentHistoryRepository = employmentHistoryRepository;
+        this.staffRepository = staffRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 批量导入员工或任职历史后整体重建，数据库中已不存在区间的部门被移除。
+     */
+    @EventListener
+    public void onStaffBulkChanged(StaffBulkChangedEvent event) {
+        reload();
+    }
+
+    private synchronized void reload() {
+        historical.clear();
+        current.clear();
+        lastHistoryEnd.clear();
+        for (Object[] row : employmentHistoryRepository.findAllIntervalEntries()) {
+            Long staffId = (Long) row[0];
+            Long sectionId = (Long) row[1];
+            LocalDateTime startDate = (LocalDateTime) row[2];
+            LocalDateTime endDate = (LocalDateTime) row[3];
+            if (staffId == null || sectionId == null || startDate == null) {
+                continue;
+            }
+            long end = endDate != null ? toDay(endDate) : OPEN_END;
+            historical.computeIfAbsent(sectionId, id -> new ArrayList<>())
+                    .add(new Interval(staffId, sectionId, toDay(startDate), end));
+            if (endDate != null) {
+                lastHistoryEnd.merge(staffId, end, Math::max);
+            }
+        }
+        for (Object[] row : staffRepository.findAllPositionEntries()) {
+            Interval interval = currentInterval((Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+            if (interval != null) {
+                current.put(interval.staffId(), interval);
+            }
+        }
+        Set<Long> sectionIds = new HashSet<>(historical.keySet());
+        sectionIds.addAll(sections.keySet());
+        for (Interval interval : current.values()) {
+            sectionIds.add(interval.sectionId());
+        }
+        rebuild(sectionIds);
+    }
+
+    @EventListener
+    public synchronized void onStaffChanged(StaffChangedEvent event) {
+        Staff staff = event.staff();
+        Interval updated = event.isDeleted()
+                ? null
+                : currentInterval(staff.getStaffId(), staff.getSectionId(), staff.getHireDate());
+        Interval previous = updated != null ? current.put(event.staffId(), updated) : current.remove(event.staffId());
+        if (Objects.equals(previous, updated)) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>();
+        if (previous != null) {
+            affected.add(previous.sectionId());
+        }
+        if (updated != null) {
+            affected.add(updated.sectionId());
+        }
+        rebuild(affected);
+    }
+
+    /**
+     * 返回指定日期在该部门任职的区间，按开始日排序。
+     */
+    public List<Interval> membersAt(Long sectionId, LocalDate date) {
+        SectionIntervals intervals = sections.get(sectionId);
+        if (intervals == null) {
+            return List.of();
+        }
+        List<Interval> result = new ArrayList<>();
+        intervals.collect(0, intervals.size() - 1, date.toEpochDay(), result);
+        return result;
+    }
+
+    /**
+     * 返回指定日期该部门的任职人数。
+     */
+    public int headcountAt(Long sectionId, LocalDate date) {
+        SectionIntervals intervals = sections.get(sectionId);
+        return intervals != null ? intervals.countAt(date.toEpochDay()) : 0;
+    }
+
+    /**
+     * 有任职记录的全部部门ID，升序。
+     */
+    public Set<Long> sectionIds() {
+        return new TreeSet<>(sections.keySet());
+    }
+
+    private Interval currentInterval(Long staffId, Long sectionId, LocalDateTime hireDate) {
+        if (staffId == null || sectionId == null) {
+            return null;
+        }
+        long start = hireDate != null ? toDay(hireDate) : UNKNOWN_START;
+        // 当前任职从最后一条历史记录结束的次日开始
+        Long historyEnd = lastHistoryEnd.get(staffId);
+        if (historyEnd != null) {
+            start = Math.max(start, historyEnd + 1);
+        }
+        return new Interval(staffId, sectionId, start, OPEN_END);
+    }
+
+    private void rebuild(Set<Long> sectionIds) {
+        Map<Long, List<Interval>> bySection = new HashMap<>();
+        for (Long sectionId : sectionIds) {
+            bySection.put(sectionId, new ArrayList<>(historical.getOrDefault(sectionId, List.of())));
+        }
+        for (Interval interval : current.values()) {
+            List<Interval> list = bySection.get(interval.sectionId());
+            if (list != null) {
+                list.add(interval);
+            }
+        }
+        for (Map.Entry<Long, List<Interval>> entry : bySection.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                sections.remove(entry.getKey());
+            } else {
+                sections.put(entry.getKey(), new SectionIntervals(entry.getValue()));
+            }
+        }
+    }
+
+    private static long toDay(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay();
+    }
+
+    /**
+     * 一段任职，起止日为 epoch day，均包含在内。
+     */
+    public record Interval(long staffId, long sectionId, long startDay, long endDay) {
+
+        /**
+         * 开始日期，未知时返回 null。
+         */
+        public LocalDate startDate() {
+            return startDay != UNKNOWN_START ? LocalDate.ofEpochDay(startDay) : null;
+        }
+
+        /**
+         * 结束日期，当前任职返回 null。
+         */
+        public LocalDate endDate() {
+            return endDay != OPEN_END ? LocalDate.ofEpochDay(endDay) : null;
+        }
+    }
+
+    /**
+     * 一个部门的全部区间，创建后不再修改。
+     */
+    private static final class SectionIntervals {
+
+        private final Interval[] byStart;
+        private final long[] starts;
+        private final long[] sortedEnds;
+        // 以 mid 为根的子树（数组区间）内的最大结束日
+        private final long[] maxEnds;
+
+        SectionIntervals(List<Interval> intervals) {
+            byStart = intervals.toArray(new Interval[0]);
+            Arrays.sort(byStart, Comparator.comparingLong(Interval::startDay));
+            int n = byStart.length;
+            starts = new long[n];
+            sortedEnds = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = byStart[i].startDay();
+                sortedEnds[i] = byStart[i].endDay();
+            }
+            Arrays.sort(sortedEnds);
+            maxEnds = new long[n];
+            buildMaxEnds(0, n - 1);
+        }
+
+        int size() {
+            return byStart.length;
+        }
+
+        private long buildMaxEnds(int lo, int hi) {
+            if (lo > hi) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            long max = Math.max(byStart[mid].endDay(), Math.max(buildMaxEnds(lo, mid - 1), buildMaxEnds(mid + 1, hi)));
+            maxEnds[mid] = max;
+            return max;
+        }
+
+        void collect(int lo, int hi, long day, List<Interval> out) {
+            if (lo > hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // 子树内所有区间都在该日之前结束
+            if (maxEnds[mid] < day) {
+                return;
+            }
+            collect(lo, mid - 1, day, out);
+            // 右子树的开始日都不早于 mid，mid 在该日之后开始时右子树也都在之后
+            if (starts[mid] > day) {
+                return;
+            }
+            if (byStart[mid].endDay() >= day) {
+                out.add(byStart[mid]);
+            }
+            collect(mid + 1, hi, day, out);
+        }
+
+        int countAt(long day) {
+            return countAtMost(starts, day) - countAtMost(sortedEnds, day - 1);
+        }
+
+        // 有序数组中 ≤ value 的元素个数
+        private static int countAtMost(long[] sorted, long value) {
+            int lo = 0;
+            int hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] <= value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
\ No newline at end of file
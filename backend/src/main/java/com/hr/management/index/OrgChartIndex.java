@@ -0,0 +1,375 @@
+package com.hr.management.index;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 汇报关系内存索引（Staff.managerId 构成的树）。
+ *
+ * <p>保存每名员工的上级和直接下属，并为每个节点预先汇总子树人数和薪资总额。
+ * 汇报链沿上级指针向上查找，子树人数和薪资总额直接读取节点上的汇总值，均不访问数据库。</p>
+ *
+ * <p>通过 {@link StaffChangedEvent} 增量维护：调薪时把差额加到本人及所有上级；
+ * 更换上级时从原上级链上减去整个子树的汇总值，再加到新上级链上，代价与层级深度成正比。</p>
+ *
+ * <p>数据中若存在汇报环（包括起点上方的环，如 A→B→C→B），向上查找在遇到已访问过的节点时停止，
+ * 环上节点的汇总值只包含环外部分。变更前或变更后员工的上级链通向汇报环时
+ * （例如把员工挂到自己的下属之下），差额无法沿上级链正确累加，改为整体重新汇总。</p>
+ */
+@Component
+public class OrgChartIndex {
+
+    private final StaffRepository staffRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Node> nodes = new HashMap<>();
+    // 上级ID -> 直接下属ID；上级不在 nodes 中时下属视为根节点
+    private final Map<Long, Set<Long>> children = new HashMap<>();
+
+    @Autowired
+    public OrgChartIndex(StaffRepository staffRepository) {
+        this.staffRepository = staffRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 批量写入后整体重建。查询在重建期间等待，不会看到部分加载的树。
+     */
+    @EventListener
+    public void onStaffBulkChanged(StaffBulkChangedEvent event) {
+        reload();
+    }
+
+    private void reload() {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            children.clear();
+            for (Object[] row : staffRepository.findAllReportingEntries()) {
+                Node node = new Node((Long) row[0], (Long) row[1], salaryOf((BigDecimal) row[2]));
+                nodes.put(node.staffId, node);
+                link(node);
+            }
+            computeSubtreeTotals();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.get(event.staffId());
+            boolean cyclic = reachesCycle(node);
+            apply(event, node);
+            if (cyclic || reachesCycle(nodes.get(event.staffId()))) {
+                computeSubtreeTotals();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(StaffChangedEvent event, Node node) {
+        if (event.isDeleted()) {
+            if (node != null) {
+                remove(node);
+            }
+            return;
+        }
+        Staff staff = event.staff();
+        BigDecimal salary = salaryOf(staff.getSalary());
+        if (node == null) {
+            add(new Node(staff.getStaffId(), staff.getManagerId(), salary));
+            return;
+        }
+        if (salary.compareTo(node.salary) != 0) {
+            BigDecimal delta = salary.subtract(node.salary);
+            node.salary = salary;
+            node.subtreeSalary = node.subtreeSalary.add(delta);
+            propagate(node, 0, delta);
+        }
+        if (!Objects.equals(staff.getManagerId(), node.managerId)) {
+            propagate(node, -node.subtreeSize, node.subtreeSalary.negate());
+            unlink(node);
+            node.managerId = staff.getManagerId();
+            link(node);
+            propagate(node, node.subtreeSize, node.subtreeSalary);
+        }
+    }
+
+    public boolean contains(Long staffId) {
+        lock.readLock().lock();
+        try {
+            return nodes.containsKey(staffId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从直接上级到最高层的汇报链，员工不存在时返回空列表。
+     */
+    public List<OrgNode> reportingChain(Long staffId) {
+        lock.readLock().lock();
+        try {
+            List<OrgNode> chain = new ArrayList<>();
+            Node start = nodes.get(staffId);
+            if (start == null) {
+                return chain;
+            }
+            Set<Long> visited = new HashSet<>();
+            visited.add(start.staffId);
+            for (Node manager = parentOf(start); manager != null && visited.add(manager.staffId);
+                 manager = parentOf(manager)) {
+                chain.add(manager.toOrgNode(chain.size() + 1));
+            }
+            return chain;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 直接下属，按员工ID排序。
+     */
+    public List<OrgNode> directReports(Long staffId) {
+        lock.readLock().lock();
+        try {
+            List<OrgNode> reports = new ArrayList<>();
+            for (Long childId : children.getOrDefault(staffId, Set.of())) {
+                Node child = nodes.get(childId);
+                if (child != null) {
+                    reports.add(child.toOrgNode(1));
+                }
+            }
+            return reports;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 员工自身的汇总节点，不存在时返回 null。
+     */
+    public OrgNode node(Long staffId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(staffId);
+            return node != null ? node.toOrgNode(0) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 子树中的全部下属（不含本人），按层级先序排列。
+     * @param maxDepth 最多展开的层数，小于 1 时不限制
+     */
+    public List<OrgNode> subtree(Long staffId, int maxDepth) {
+        lock.readLock().lock();
+        try {
+            List<OrgNode> members = new ArrayList<>();
+            Node root = nodes.get(staffId);
+            if (root == null) {
+                return members;
+            }
+            Set<Long> visited = new HashSet<>();
+            visited.add(root.staffId);
+            Deque<Visit> stack = new ArrayDeque<>();
+            pushChildren(stack, root.staffId, 1);
+            while (!stack.isEmpty()) {
+                Visit visit = stack.pop();
+                Node node = nodes.get(visit.staffId());
+                if (node == null || !visited.add(node.staffId)) {
+                    continue;
+                }
+                members.add(node.toOrgNode(visit.depth()));
+                if (maxDepth < 1 || visit.depth() < maxDepth) {
+                    pushChildren(stack, node.staffId, visit.depth() + 1);
+                }
+            }
+            return members;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 逆序入栈，出栈时按员工ID升序
+    private void pushChildren(Deque<Visit> stack, Long staffId, int depth) {
+        Set<Long> ids = children.get(staffId);
+        if (ids == null) {
+            return;
+        }
+        List<Long> ordered = new ArrayList<>(ids);
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            stack.push(new Visit(ordered.get(i), depth));
+        }
+    }
+
+    private void add(Node node) {
+        nodes.put(node.staffId, node);
+        link(node);
+        // 已经存在的下属（上级先被删除或后加入）挂回该节点下
+        for (Long childId : children.getOrDefault(node.staffId, Set.of())) {
+            Node child = nodes.get(childId);
+            if (child != null) {
+                node.subtreeSize += child.subtreeSize;
+                node.subtreeSalary = node.subtreeSalary.add(child.subtreeSalary);
+            }
+        }
+        propagate(node, node.subtreeSize, node.subtreeSalary);
+    }
+
+    // 删除后下属保留原上级ID，成为根节点
+    private void remove(Node node) {
+        propagate(node, -node.subtreeSize, node.subtreeSalary.negate());
+        unlink(node);
+        nodes.remove(node.staffId);
+    }
+
+    // 把差额加到所有上级（不含本人），遇到已访问过的节点（汇报环）时停止
+    private void propagate(Node node, long sizeDelta, BigDecimal salaryDelta) {
+        Set<Long> visited = new HashSet<>();
+        visited.add(node.staffId);
+        for (Node manager = parentOf(node); manager != null && visited.add(manager.staffId);
+             manager = parentOf(manager)) {
+            manager.subtreeSize += sizeDelta;
+            manager.subtreeSalary = manager.subtreeSalary.add(salaryDelta);
+        }
+    }
+
+    // 上级链是否通向汇报环（本人在环上，或某个上级在环上）
+    private boolean reachesCycle(Node node) {
+        if (node == null) {
+            return false;
+        }
+        Set<Long> visited = new HashSet<>();
+        for (Node current = node; current != null; current = parentOf(current)) {
+            if (!visited.add(current.staffId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Node parentOf(Node node) {
+        return node != null && node.managerId != null ? nodes.get(node.managerId) : null;
+    }
+
+    private void link(Node node) {
+        if (node.managerId != null) {
+            children.computeIfAbsent(node.managerId, id -> new TreeSet<>()).add(node.staffId);
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.managerId != null) {
+            children.computeIfPresent(node.managerId, (id, ids) -> {
+                ids.remove(node.staffId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    // 自底向上汇总：下属全部汇总完成后才汇总上级，环上的节点不会被处理
+    private void computeSubtreeTotals() {
+        Map<Long, Integer> pending = new HashMap<>();
+        Deque<Node> ready = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            node.subtreeSize = 1;
+            node.subtreeSalary = node.salary;
+            int count = 0;
+            for (Long childId : children.getOrDefault(node.staffId, Set.of())) {
+                if (nodes.containsKey(childId)) {
+                    count++;
+                }
+            }
+            pending.put(node.staffId, count);
+            if (count == 0) {
+                ready.add(node);
+            }
+        }
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            Node manager = parentOf(node);
+            if (manager == null) {
+                continue;
+            }
+            manager.subtreeSize += node.subtreeSize;
+            manager.subtreeSalary = manager.subtreeSalary.add(node.subtreeSalary);
+            if (pending.merge(manager.staffId, -1, Integer::sum) == 0) {
+                ready.add(manager);
+            }
+        }
+    }
+
+    private static BigDecimal salaryOf(BigDecimal salary) {
+        return salary != null ? salary : BigDecimal.ZERO;
+    }
+
+    /**
+     * 汇报关系中的一个节点。
+     *
+     * @param depth          相对于查询起点的层级，起点为 0
+     * @param subtreeSize    子树人数，含本人
+     * @param subtreeSalary  子树薪资总额，含本人
+     */
+    public record OrgNode(Long staffId, Long managerId, int depth, int directReportCount,
+                          long subtreeSize, BigDecimal subtreeSalary) {
+    }
+
+    private record Visit(Long staffId, int depth) {
+    }
+
+    private final class Node {
+
+        private final Long staffId;
+        private Long managerId;
+        private BigDecimal salary;
+        private long subtreeSize = 1;
+        private BigDecimal subtreeSalary;
+
+        Node(Long staffId, Long managerId, BigDecimal salary) {
+            this.staffId = staffId;
+            this.managerId = managerId;
+            this.salary = salary;
+            this.subtreeSalary = salary;
+        }
+
+        OrgNode toOrgNode(int depth) {
+            int directReports = 0;
+            for (Long childId : children.getOrDefault(staffId, Set.of())) {
+                if (nodes.containsKey(childId)) {
+                    directReports++;
+                }
+            }
+            return new OrgNode(staffId, managerId, depth, directReports, subtreeSize, subtreeSalary);
+        }
+    }
+}
\ No newline at end of file
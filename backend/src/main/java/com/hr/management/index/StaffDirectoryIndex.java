@@ -0,0 +1,736 @@
+package com.hr.management.index;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 员工目录的列式内存快照，支持按薪资、入职日期、职位、部门和上级任意组合筛选、排序和汇总。
+ *
+ * <p>每列是一个基本类型数组：员工ID和上级ID为 long，薪资以分为单位存为 long，入职日期存为纪元日 int，
+ * 职位和部门经字典编码后存为 int。查询把行切分为固定大小的段，各段在独立的 ForkJoin 工作线程上
+ * 直接比较数组元素，只为每段分配汇总数组和前 N 行的堆，不为任何一行创建对象。</p>
+ *
+ * <p>启动时从 staffs 表加载，之后通过 {@link StaffChangedEvent} 原地更新：新员工追加到末尾，
+ * 删除只做标记，已删除的行超过四分之一时压缩。批量写入后在锁外重新加载再整体替换，
+ * 加载期间收到的逐条变更在替换前重放。查询持有读锁，写入在查询结束后进行。</p>
+ */
+@Component
+public class StaffDirectoryIndex {
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_DAY = Integer.MIN_VALUE;
+    private static final int NULL_CODE = -1;
+
+    // 每段的行数，段内顺序扫描
+    private static final int SEGMENT_ROWS = 16384;
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    // 汇总数组中每个槽位的布局：人数、有薪资的人数、薪资总和、最低、最高
+    private static final int COUNT = 0;
+    private static final int SALARY_COUNT = 1;
+    private static final int SALARY_SUM = 2;
+    private static final int SALARY_MIN = 3;
+    private static final int SALARY_MAX = 4;
+    private static final int STATS_WIDTH = 5;
+
+    private final StaffRepository staffRepository;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private Columns columns = new Columns(0);
+    // 重新加载期间收到的逐条变更，替换前重放到新加载的列上；不在加载时为 null
+    private List<StaffChangedEvent> pendingChanges;
+
+    @Autowired
+    public StaffDirectoryIndex(StaffRepository staffRepository,
+                               @Value("${hr.directory.parallelism:0}") int parallelism,
+                               @Value("${hr.directory.parallel-threshold:65536}") int parallelThreshold) {
+        this.staffRepository = staffRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @PostConstruct
+    public void init() {
+        Columns loaded = load();
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @EventListener
+    public void onStaffBulkChanged(StaffBulkChangedEvent event) {
+        reloadLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Columns loaded = null;
+            try {
+                loaded = load();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    // 加载失败时保留现有的列，逐条变更已应用在上面，不再需要记录
+                    if (loaded != null) {
+                        for (StaffChangedEvent change : pendingChanges) {
+                            apply(loaded, change);
+                        }
+                        columns = loaded;
+                    }
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(columns, event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 筛选、汇总并返回排序后的前 window 行。
+     */
+    public Result query(Query query) {
+        lock.readLock().lock();
+        try {
+            Plan plan = new Plan(columns, query);
+            Partial total = null;
+            for (Partial partial : scan(plan)) {
+                if (total == null) {
+                    total = partial;
+                } else {
+                    total.merge(partial);
+                }
+            }
+            return plan.toResult(total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 行数较少或不足两段时在调用线程上扫描（至少返回一个结果），否则每段一个任务；
+    // 调用线程持有读锁，任务执行期间列不会变化
+    private List<Partial> scan(Plan plan) {
+        int size = plan.columns.size;
+        if (size < parallelThreshold || size <= SEGMENT_ROWS) {
+            return List.of(scanRange(plan, 0, size));
+        }
+        List<ForkJoinTask<Partial>> tasks = new ArrayList<>();
+        for (int from = 0; from < size; from += SEGMENT_ROWS) {
+            int start = from;
+            int end = Math.min(size, from + SEGMENT_ROWS);
+            tasks.add(pool.submit(() -> scanRange(plan, start, end)));
+        }
+        List<Partial> partials = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<Partial> task : tasks) {
+            partials.add(task.join());
+        }
+        return partials;
+    }
+
+    private static Partial scanRange(Plan plan, int from, int to) {
+        Partial partial = new Partial(plan);
+        Columns c = plan.columns;
+        for (int row = from; row < to; row++) {
+            if (c.live[row] && plan.matches(row)) {
+                partial.add(row);
+            }
+        }
+        return partial;
+    }
+
+    private Columns load() {
+        List<Object[]> entries = staffRepository.findAllDirectoryEntries();
+        Columns loaded = new Columns(entries.size());
+        for (Object[] row : entries) {
+            loaded.put((Long) row[0], (BigDecimal) row[1], (LocalDateTime) row[2], (String) row[3],
+                    (Long) row[4], (Long) row[5]);
+        }
+        return loaded;
+    }
+
+    private static void apply(Columns target, StaffChangedEvent event) {
+        if (event.isDeleted()) {
+            target.remove(event.staffId());
+            return;
+        }
+        Staff staff = event.staff();
+        target.put(staff.getStaffId(), staff.getSalary(), staff.getHireDate(), staff.getEmploymentId(),
+                staff.getSectionId(), staff.getManagerId());
+    }
+
+    private static long toCents(BigDecimal salary) {
+        return salary != null ? salary.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : NULL_LONG;
+    }
+
+    public enum Field {
+        STAFF_ID, SALARY, HIRE_DATE, EMPLOYMENT_ID, SECTION_ID, MANAGER_ID
+    }
+
+    public enum GroupBy {
+        SECTION, EMPLOYMENT
+    }
+
+    /**
+     * 排序键。空值不论升序降序都排在最后。
+     */
+    public record Order(Field field, boolean descending) {
+    }
+
+    /**
+     * 查询条件，为 null 的条件不过滤；设置了薪资或入职日期范围时，该列为空的员工不匹配。
+     *
+     * @param salaryMinCents 薪资下限（分，含）
+     * @param salaryMaxCents 薪资上限（分，含）
+     * @param hiredFrom      入职日期下限（含）
+     * @param hiredTo        入职日期上限（含）
+     * @param orders         排序键，最后总是按员工ID升序
+     * @param groupBy        分组汇总的列，为 null 时不分组
+     * @param window         返回排序后的前 window 行，为 0 时只汇总
+     */
+    public record Query(Long salaryMinCents, Long salaryMaxCents, LocalDate hiredFrom, LocalDate hiredTo,
+                        Collection<String> employmentIds, Collection<Long> sectionIds, Collection<Long> managerIds,
+                        List<Order> orders, GroupBy groupBy, int window) {
+    }
+
+    /**
+     * 一组员工的人数和薪资汇总，薪资以分为单位；salaryCount 为 0 时最低和最高薪资无意义。
+     */
+    public record Stats(long count, long salaryCount, long salarySumCents, long salaryMinCents, long salaryMaxCents) {
+    }
+
+    /**
+     * 分组汇总，按分组列的值排序，值为空的分组在最后。只有对应分组方式的键有值。
+     */
+    public record Group(Long sectionId, String employmentId, Stats stats) {
+    }
+
+    public record Result(Stats total, List<Group> groups, long[] staffIds) {
+    }
+
+    /**
+     * 一次查询编译后的条件：值集合条件转为按字典编码索引的掩码，字典列的排序转为按编码索引的名次。
+     */
+    private static final class Plan {
+
+        private final Columns columns;
+        private final long salaryMin;
+        private final long salaryMax;
+        private final boolean salaryFiltered;
+        private final int hiredFrom;
+        private final int hiredTo;
+        private final boolean hireFiltered;
+        private final boolean[] employmentMask;
+        private final boolean[] sectionMask;
+        // 已排序，逐行二分查找
+        private final long[] managerIds;
+        private final Field[] fields;
+        private final boolean[] descending;
+        private final int[] employmentRanks;
+        private final int[] sectionRanks;
+        private final GroupBy groupBy;
+        private final int groupSlots;
+        private final int window;
+
+        Plan(Columns columns, Query query) {
+            this.columns = columns;
+            this.salaryFiltered = query.salaryMinCents() != null || query.salaryMaxCents() != null;
+            this.salaryMin = query.salaryMinCents() != null ? query.salaryMinCents() : Long.MIN_VALUE;
+            this.salaryMax = query.salaryMaxCents() != null ? query.salaryMaxCents() : Long.MAX_VALUE;
+            this.hireFiltered = query.hiredFrom() != null || query.hiredTo() != null;
+            this.hiredFrom = query.hiredFrom() != null ? (int) query.hiredFrom().toEpochDay() : Integer.MIN_VALUE;
+            this.hiredTo = query.hiredTo() != null ? (int) query.hiredTo().toEpochDay() : Integer.MAX_VALUE;
+            this.employmentMask = query.employmentIds() != null
+                    ? columns.employments.mask(query.employmentIds())
+                    : null;
+            this.sectionMask = query.sectionIds() != null ? columns.sections.mask(query.sectionIds()) : null;
+            this.managerIds = query.managerIds() != null
+                    ? query.managerIds().stream()
+                            .filter(Objects::nonNull)
+                            .mapToLong(Long::longValue)
+                            .sorted()
+                            .toArray()
+                    : null;
+
+            List<Order> orders = query.orders() != null ? query.orders() : List.of();
+            this.fields = new Field[orders.size()];
+            this.descending = new boolean[orders.size()];
+            for (int i = 0; i < orders.size(); i++) {
+                fields[i] = orders.get(i).field();
+                descending[i] = orders.get(i).descending();
+            }
+            this.employmentRanks = columns.employments.ranks();
+            this.sectionRanks = columns.sections.ranks();
+
+            this.groupBy = query.groupBy();
+            if (groupBy == GroupBy.SECTION) {
+                // 最后一个分组槽位存放编码为空的行
+                this.groupSlots = columns.sections.size() + 1;
+            } else if (groupBy == GroupBy.EMPLOYMENT) {
+                this.groupSlots = columns.employments.size() + 1;
+            } else {
+                this.groupSlots = 0;
+            }
+            this.window = query.window();
+        }
+
+        boolean matches(int row) {
+            Columns c = columns;
+            if (salaryFiltered) {
+                long salary = c.salaries[row];
+                if (salary == NULL_LONG || salary < salaryMin || salary > salaryMax) {
+                    return false;
+                }
+            }
+            if (hireFiltered) {
+                int day = c.hireDays[row];
+                if (day == NULL_DAY || day < hiredFrom || day > hiredTo) {
+                    return false;
+                }
+            }
+            if (employmentMask != null && !inMask(employmentMask, c.employmentCodes[row])) {
+                return false;
+            }
+            if (sectionMask != null && !inMask(sectionMask, c.sectionCodes[row])) {
+                return false;
+            }
+            if (managerIds != null) {
+                long managerId = c.managerIds[row];
+                return managerId != NULL_LONG && Arrays.binarySearch(managerIds, managerId) >= 0;
+            }
+            return true;
+        }
+
+        // 行在汇总数组中的分组槽位，槽位 0 为总计
+        int groupSlot(int row) {
+            int code = groupBy == GroupBy.SECTION ? columns.sectionCodes[row] : columns.employmentCodes[row];
+            return 1 + (code == NULL_CODE ? groupSlots - 1 : code);
+        }
+
+        /**
+         * 按排序键比较两行，a 排在前面时返回负数。
+         */
+        int compare(int a, int b) {
+            Columns c = columns;
+            for (int i = 0; i < fields.length; i++) {
+                int result = switch (fields[i]) {
+                    case STAFF_ID -> compareValues(c.staffIds[a], c.staffIds[b], NULL_LONG, descending[i]);
+                    case SALARY -> compareValues(c.salaries[a], c.salaries[b], NULL_LONG, descending[i]);
+                    case HIRE_DATE -> compareValues(c.hireDays[a], c.hireDays[b], NULL_DAY, descending[i]);
+                    case EMPLOYMENT_ID -> compareCodes(employmentRanks, c.employmentCodes[a],
+                            c.employmentCodes[b], descending[i]);
+                    case SECTION_ID -> compareCodes(sectionRanks, c.sectionCodes[a], c.sectionCodes[b], descending[i]);
+                    case MANAGER_ID -> compareValues(c.managerIds[a], c.managerIds[b], NULL_LONG, descending[i]);
+                };
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Long.compare(c.staffIds[a], c.staffIds[b]);
+        }
+
+        Result toResult(Partial total) {
+            long[] staffIds = new long[total.top.size];
+            int[] rows = total.top.drainSorted();
+            for (int i = 0; i < rows.length; i++) {
+                staffIds[i] = columns.staffIds[rows[i]];
+            }
+            List<Group> groups = new ArrayList<>();
+            if (groupBy != null) {
+                Dictionary<?> dictionary = groupBy == GroupBy.SECTION ? columns.sections : columns.employments;
+                for (int code : dictionary.sortedCodes()) {
+                    addGroup(groups, total, 1 + code, dictionary.value(code));
+                }
+                addGroup(groups, total, groupSlots, null);
+            }
+            return new Result(total.stats(0), groups, staffIds);
+        }
+
+        private void addGroup(List<Group> groups, Partial total, int slot, Object key) {
+            if (total.stats[slot * STATS_WIDTH + COUNT] == 0) {
+                return;
+            }
+            Stats stats = total.stats(slot);
+            if (groupBy == GroupBy.SECTION) {
+                groups.add(new Group((Long) key, null, stats));
+            } else {
+                groups.add(new Group(null, (String) key, stats));
+            }
+        }
+
+        private static boolean inMask(boolean[] mask, int code) {
+            return code != NULL_CODE && code < mask.length && mask[code];
+        }
+
+        private static int compareValues(long a, long b, long nullValue, boolean descending) {
+            if (a == b) {
+                return 0;
+            }
+            if (a == nullValue) {
+                return 1;
+            }
+            if (b == nullValue) {
+                return -1;
+            }
+            return descending ? Long.compare(b, a) : Long.compare(a, b);
+        }
+
+        private static int compareCodes(int[] ranks, int a, int b, boolean descending) {
+            return compareValues(a == NULL_CODE ? NULL_LONG : ranks[a], b == NULL_CODE ? NULL_LONG : ranks[b],
+                    NULL_LONG, descending);
+        }
+    }
+
+    /**
+     * 一段行的扫描结果：总计和各分组的汇总，以及排序后的前 window 行。
+     */
+    private static final class Partial {
+
+        private final Plan plan;
+        private final long[] stats;
+        private final TopRows top;
+
+        Partial(Plan plan) {
+            this.plan = plan;
+            this.stats = new long[(plan.groupSlots + 1) * STATS_WIDTH];
+            for (int slot = 0; slot <= plan.groupSlots; slot++) {
+                stats[slot * STATS_WIDTH + SALARY_MIN] = Long.MAX_VALUE;
+                stats[slot * STATS_WIDTH + SALARY_MAX] = Long.MIN_VALUE;
+            }
+            this.top = new TopRows(plan, plan.window);
+        }
+
+        void add(int row) {
+            long salary = plan.columns.salaries[row];
+            accumulate(0, salary);
+            if (plan.groupSlots > 0) {
+                accumulate(plan.groupSlot(row), salary);
+            }
+            top.offer(row);
+        }
+
+        void merge(Partial other) {
+            for (int slot = 0; slot <= plan.groupSlots; slot++) {
+                int base = slot * STATS_WIDTH;
+                stats[base + COUNT] += other.stats[base + COUNT];
+                stats[base + SALARY_COUNT] += other.stats[base + SALARY_COUNT];
+                stats[base + SALARY_SUM] += other.stats[base + SALARY_SUM];
+                stats[base + SALARY_MIN] = Math.min(stats[base + SALARY_MIN], other.stats[base + SALARY_MIN]);
+                stats[base + SALARY_MAX] = Math.max(stats[base + SALARY_MAX], other.stats[base + SALARY_MAX]);
+            }
+            for (int i = 0; i < other.top.size; i++) {
+                top.offer(other.top.heap[i]);
+            }
+        }
+
+        Stats stats(int slot) {
+            int base = slot * STATS_WIDTH;
+            return new Stats(stats[base + COUNT], stats[base + SALARY_COUNT], stats[base + SALARY_SUM],
+                    stats[base + SALARY_MIN], stats[base + SALARY_MAX]);
+        }
+
+        private void accumulate(int slot, long salary) {
+            int base = slot * STATS_WIDTH;
+            stats[base + COUNT]++;
+            if (salary != NULL_LONG) {
+                stats[base + SALARY_COUNT]++;
+                stats[base + SALARY_SUM] += salary;
+                stats[base + SALARY_MIN] = Math.min(stats[base + SALARY_MIN], salary);
+                stats[base + SALARY_MAX] = Math.max(stats[base + SALARY_MAX], salary);
+            }
+        }
+    }
+
+    /**
+     * 保留排序最靠前的 capacity 行：堆顶是其中排序最靠后的一行，新行只需与堆顶比较。
+     */
+    private static final class TopRows {
+
+        private final Plan plan;
+        private final int[] heap;
+        private int size;
+
+        TopRows(Plan plan, int capacity) {
+            this.plan = plan;
+            this.heap = new int[capacity];
+        }
+
+        void offer(int row) {
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(size++);
+            } else if (size > 0 && plan.compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(0);
+            }
+        }
+
+        // 依次取出堆顶从后往前填充，得到升序排列；取出后堆为空
+        int[] drainSorted() {
+            int[] sorted = new int[size];
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                sorted[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (plan.compare(heap[index], heap[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && plan.compare(heap[child + 1], heap[child]) > 0) {
+                    child++;
+                }
+                if (plan.compare(heap[child], heap[index]) <= 0) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = heap[a];
+            heap[a] = heap[b];
+            heap[b] = row;
+        }
+    }
+
+    /**
+     * 列数组。只在写锁内修改，查询在读锁内读取。
+     */
+    private static final class Columns {
+
+        // 已使用的行数，含已删除的行
+        private int size;
+        private int deleted;
+        private long[] staffIds;
+        private long[] salaries;
+        private int[] hireDays;
+        private int[] employmentCodes;
+        private int[] sectionCodes;
+        private long[] managerIds;
+        private boolean[] live;
+        // 员工ID -> 行号，只含未删除的行
+        private final Map<Long, Integer> rows = new HashMap<>();
+        private final Dictionary<String> employments = new Dictionary<>();
+        private final Dictionary<Long> sections = new Dictionary<>();
+
+        Columns(int capacity) {
+            int initial = Math.max(16, capacity);
+            staffIds = new long[initial];
+            salaries = new long[initial];
+            hireDays = new int[initial];
+            employmentCodes = new int[initial];
+            sectionCodes = new int[initial];
+            managerIds = new long[initial];
+            live = new boolean[initial];
+        }
+
+        void put(Long staffId, BigDecimal salary, LocalDateTime hireDate, String employmentId,
+                 Long sectionId, Long managerId) {
+            Integer existing = rows.get(staffId);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                ensureCapacity(size + 1);
+                row = size++;
+                rows.put(staffId, row);
+                staffIds[row] = staffId;
+                live[row] = true;
+            }
+            salaries[row] = toCents(salary);
+            hireDays[row] = hireDate != null ? (int) hireDate.toLocalDate().toEpochDay() : NULL_DAY;
+            employmentCodes[row] = employments.encode(employmentId);
+            sectionCodes[row] = sections.encode(sectionId);
+            managerIds[row] = managerId != null ? managerId : NULL_LONG;
+        }
+
+        void remove(Long staffId) {
+            Integer row = rows.remove(staffId);
+            if (row == null) {
+                return;
+            }
+            live[row] = false;
+            deleted++;
+            if (deleted >= COMPACT_MIN_DELETED && deleted > size / 4) {
+                compact();
+            }
+        }
+
+        // 把未删除的行依次前移，行号随之更新
+        private void compact() {
+            int target = 0;
+            for (int row = 0; row < size; row++) {
+                if (!live[row]) {
+                    continue;
+                }
+                if (target != row) {
+                    staffIds[target] = staffIds[row];
+                    salaries[target] = salaries[row];
+                    hireDays[target] = hireDays[row];
+                    employmentCodes[target] = employmentCodes[row];
+                    sectionCodes[target] = sectionCodes[row];
+                    managerIds[target] = managerIds[row];
+                    live[target] = true;
+                    rows.put(staffIds[target], target);
+                }
+                target++;
+            }
+            Arrays.fill(live, target, size, false);
+            size = target;
+            deleted = 0;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= staffIds.length) {
+                return;
+            }
+            int capacity = Math.max(required, staffIds.length + (staffIds.length >> 1));
+            staffIds = Arrays.copyOf(staffIds, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            hireDays = Arrays.copyOf(hireDays, capacity);
+            employmentCodes = Arrays.copyOf(employmentCodes, capacity);
+            sectionCodes = Arrays.copyOf(sectionCodes, capacity);
+            managerIds = Arrays.copyOf(managerIds, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+    }
+
+    /**
+     * 只增不减的字典编码，编码为值首次出现的顺序。
+     */
+    private static final class Dictionary<K extends Comparable<K>> {
+
+        private final List<K> values = new ArrayList<>();
+        private final Map<K, Integer> codes = new HashMap<>();
+
+        int encode(K value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        K value(int code) {
+            return values.get(code);
+        }
+
+        // 按编码索引的选择掩码，字典中没有的值忽略
+        boolean[] mask(Collection<K> selected) {
+            boolean[] mask = new boolean[values.size()];
+            for (K value : selected) {
+                Integer code = codes.get(value);
+                if (code != null) {
+                    mask[code] = true;
+                }
+            }
+            return mask;
+        }
+
+        // 按值排序后的编码
+        int[] sortedCodes() {
+            return IntStream.range(0, values.size())
+                    .boxed()
+                    .sorted(Comparator.comparing(values::get))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        // 每个编码按值排序后的名次
+        int[] ranks() {
+            int[] sorted = sortedCodes();
+            int[] ranks = new int[sorted.length];
+            for (int rank = 0; rank < sorted.length; rank++) {
+                ranks[sorted[rank]] = rank;
+            }
+            return ranks;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.hr.management.index;
+
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 员工ID布隆过滤器，登录时先判断员工ID是否可能存在。
+ *
+ * <p>过滤器判定不存在的ID一定不存在，登录直接失败，不执行数据库查询；判定可能存在时
+ * 仍按原流程查询数据库，误判只多一次查询，不影响结果。位数组按容量和目标误判率确定大小，
+ * 1% 误判率时每个ID约占 10 位，远小于保存完整ID集合。</p>
+ *
+ * <p>启动时加载全部员工ID，新增员工通过 {@link StaffChangedEvent} 置位，查询不加锁。
+ * 布隆过滤器不支持删除，离职员工的位保留到下次重建；批量导入或员工数超过容量时，
+ * 按当前人数重新分配并整体替换。</p>
+ */
+@Component
+public class StaffIdBloomFilter {
+
+    private final StaffRepository staffRepository;
+    private final int minCapacity;
+    private final double targetFalsePositiveRate;
+
+    private final AtomicReference<Bits> current = new AtomicReference<>();
+    // 重建期间执行数据库查询，使用 ReentrantLock 而不是 synchronized，避免虚拟线程被固定在载体线程上
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    @Autowired
+    public StaffIdBloomFilter(StaffRepository staffRepository,
+                              @Value("${hr.auth.bloom.min-capacity:100000}") int minCapacity,
+                              @Value("${hr.auth.bloom.false-positive-rate:0.01}") double targetFalsePositiveRate) {
+        this.staffRepository = staffRepository;
+        this.minCapacity = minCapacity;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onStaffBulkChanged(StaffBulkChangedEvent event) {
+        rebuild();
+    }
+
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        if (event.isDeleted()) {
+            return;
+        }
+        // 与重建互斥，避免重建读取数据库之后提交的新员工只写入即将被替换的旧位数组
+        rebuildLock.lock();
+        try {
+            Bits bits = current.get();
+            bits.add(event.staffId());
+            if (bits.insertions() > bits.capacity) {
+                rebuild();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 员工ID可能存在时返回 true；返回 false 时该ID一定不存在。
+     */
+    public boolean mightContain(Long staffId) {
+        checks.increment();
+        if (staffId != null && current.get().mightContain(staffId)) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * 按当前置位比例估算的误判率：(已置位数 / 总位数) ^ 哈希函数个数。
+     */
+    public double estimatedFalsePositiveRate() {
+        Bits bits = current.get();
+        return Math.pow((double) bits.bitsSet.sum() / bits.size, bits.hashes);
+    }
+
+    public long getCheckCount() {
+        return checks.sum();
+    }
+
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    public long getInsertionCount() {
+        return current.get().insertions();
+    }
+
+    public long getBitSize() {
+        return current.get().size;
+    }
+
+    public long getCapacity() {
+        return current.get().capacity;
+    }
+
+    public int getHashCount() {
+        return current.get().hashes;
+    }
+
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<Long> staffIds = staffRepository.findAllStaffIds();
+            // 预留一倍余量，持续新增员工时不必频繁重建
+            Bits bits = new Bits(Math.max(minCapacity, staffIds.size() * 2L), targetFalsePositiveRate);
+            for (Long staffId : staffIds) {
+                bits.add(staffId);
+            }
+            current.set(bits);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 位数组和哈希参数。位数 m = -n·ln(p) / (ln 2)²，哈希函数个数 k = m/n·ln 2；
+     * 由 ID 的两个 64 位混淆值 h1、h2 组合出 k 个位置 h1 + i·h2（Kirsch–Mitzenmacher）。
+     */
+    private static final class Bits {
+
+        private final long capacity;
+        private final long size;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final LongAdder bitsSet = new LongAdder();
+        private final LongAdder insertions = new LongAdder();
+
+        Bits(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+            this.size = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+        }
+
+        // 员工信息的每次修改都会再次置位，只有置位了新位时才计为一次插入（近似的去重计数）
+        void add(long staffId) {
+            long h1 = mix(staffId);
+            long h2 = mix(h1) | 1;
+            boolean added = false;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long previous = words.getAndUpdate(index, word -> word | mask);
+                if ((previous & mask) == 0) {
+                    bitsSet.increment();
+                    added = true;
+                }
+            }
+            if (added) {
+                insertions.increment();
+            }
+        }
+
+        boolean mightContain(long staffId) {
+            long h1 = mix(staffId);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long insertions() {
+            return insertions.sum();
+        }
+
+        // SplitMix64 的终结函数，连续的员工ID也能均匀分布
+        private static long mix(long value) {
+            long z = value + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
\ No newline at end of file
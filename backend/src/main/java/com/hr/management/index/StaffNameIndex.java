@@ -0,0 +1,297 @@
+package com.hr.management.index;
+
+import com.hr.management.dto.StaffNameSuggestionDTO;
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 员工姓名内存索引。
+ *
+ * <p>对名和姓建立三元组（trigram）倒排表，用于任意子串搜索；另用有序表保存小写姓名，
+ * 用于前缀自动补全。启动时从 staffs 表加载，之后通过 {@link StaffChangedEvent} 增量维护。</p>
+ *
+ * <p>倒排表只用于产生候选，候选一律按 {@link #entries} 中的当前姓名复核，
+ * 因此更新过程中倒排表短暂滞后不会产生错误结果。</p>
+ */
+@Component
+public class StaffNameIndex {
+
+    private static final int GRAM = 3;
+
+    private final StaffRepository staffRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> prefixTerms = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    public StaffNameIndex(StaffRepository staffRepository) {
+        this.staffRepository = staffRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        for (Object[] row : staffRepository.findAllNameEntries()) {
+            put((Long) row[0], (String) row[1], (String) row[2], (Long) row[3]);
+        }
+    }
+
+    /**
+     * 批量写入后从数据库重新加载：逐条覆盖现有条目，再删除数据库中已不存在的员工，
+     * 重新加载期间搜索照常进行。
+     */
+    @EventListener
+    public void onStaffBulkChanged(StaffBulkChangedEvent event) {
+        Set<Long> loaded = new HashSet<>();
+        for (Object[] row : staffRepository.findAllNameEntries()) {
+            put((Long) row[0], (String) row[1], (String) row[2], (Long) row[3]);
+            loaded.add((Long) row[0]);
+        }
+        for (Long staffId : List.copyOf(entries.keySet())) {
+            if (!loaded.contains(staffId)) {
+                remove(staffId);
+            }
+        }
+    }
+
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        Staff staff = event.staff();
+        if (event.isDeleted()) {
+            remove(event.staffId());
+        } else {
+            put(staff.getStaffId(), staff.getFirstName(), staff.getLastName(), staff.getSectionId());
+        }
+    }
+
+    /**
+     * 按姓名子串搜索，忽略大小写。
+     * @param query 搜索词
+     * @param sectionId 部门过滤条件，为 null 时不过滤
+     * @param limit 最多返回条数
+     * @return 按匹配程度排序的员工ID：完全匹配优先，其次前缀匹配，最后是中间匹配
+     */
+    public List<Long> search(String query, Long sectionId, int limit) {
+        String needle = normalize(query);
+        Collection<Long> candidates;
+        if (needle.length() < GRAM) {
+            // 不足一个三元组时直接扫描内存中的全部条目
+            candidates = entries.keySet();
+        } else {
+            candidates = smallestPosting(needle);
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        for (Long staffId : candidates) {
+            Entry entry = entries.get(staffId);
+            if (entry != null && entry.inSection(sectionId) && entry.rank(needle) < Entry.NO_MATCH) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.<Entry>comparingInt(entry -> entry.rank(needle))
+                .thenComparingInt(Entry::length)
+                .thenComparing(Entry::staffId));
+
+        // 一两个字符的搜索词可能匹配大部分员工，只返回排名最靠前的 limit 条
+        int size = Math.min(matches.size(), limit);
+        List<Long> result = new ArrayList<>(size);
+        for (Entry entry : matches.subList(0, size)) {
+            result.add(entry.staffId());
+        }
+        return result;
+    }
+
+    /**
+     * 姓名前缀自动补全，匹配名、姓或“名 姓”。
+     * @param prefix 前缀
+     * @param sectionId 部门过滤条件，为 null 时不过滤
+     * @param limit 最多返回条数
+     * @return 按姓名字典序排列的候选
+     */
+    public List<StaffNameSuggestionDTO> suggest(String prefix, Long sectionId, int limit) {
+        String needle = normalize(prefix);
+        Set<Long> seen = new LinkedHashSet<>();
+        ConcurrentNavigableMap<String, Set<Long>> range = prefixTerms.tailMap(needle, true);
+        for (Map.Entry<String, Set<Long>> term : range.entrySet()) {
+            if (!term.getKey().startsWith(needle) || seen.size() >= limit) {
+                break;
+            }
+            for (Long staffId : term.getValue()) {
+                Entry entry = entries.get(staffId);
+                if (entry != null && entry.inSection(sectionId) && entry.hasTerm(term.getKey())) {
+                    seen.add(staffId);
+                    if (seen.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<StaffNameSuggestionDTO> result = new ArrayList<>(seen.size());
+        for (Long staffId : seen) {
+            Entry entry = entries.get(staffId);
+            if (entry != null) {
+                StaffNameSuggestionDTO dto = new StaffNameSuggestionDTO();
+                dto.setStaffId(entry.staffId());
+                dto.setFirstName(entry.firstName());
+                dto.setLastName(entry.lastName());
+                dto.setSectionId(entry.sectionId());
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 返回员工的全名（“名 姓”），不存在时返回 null。
+     */
+    public String findFullName(Long staffId) {
+        Entry entry = staffId != null ? entries.get(staffId) : null;
+        return entry != null ? entry.firstName() + " " + entry.lastName() : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized void put(Long staffId, String firstName, String lastName, Long sectionId) {
+        Entry entry = new Entry(staffId, firstName, lastName, sectionId);
+        Entry previous = entries.put(staffId, entry);
+        if (previous != null) {
+            unlink(previous, entry);
+        }
+        for (String gram : entry.grams()) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(staffId);
+        }
+        for (String term : entry.terms()) {
+            prefixTerms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(staffId);
+        }
+    }
+
+    private synchronized void remove(Long staffId) {
+        Entry previous = entries.remove(staffId);
+        if (previous != null) {
+            unlink(previous, null);
+        }
+    }
+
+    // 删除旧条目中不再出现在新条目里的三元组和前缀词
+    private void unlink(Entry previous, Entry current) {
+        Set<String> keepGrams = current != null ? current.grams() : Set.of();
+        for (String gram : previous.grams()) {
+            if (!keepGrams.contains(gram)) {
+                removeFrom(postings, gram, previous.staffId());
+            }
+        }
+        Set<String> keepTerms = current != null ? current.terms() : Set.of();
+        for (String term : previous.terms()) {
+            if (!keepTerms.contains(term)) {
+                removeFrom(prefixTerms, term, previous.staffId());
+            }
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<Long>> map, String key, Long staffId) {
+        map.computeIfPresent(key, (k, ids) -> {
+            ids.remove(staffId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private Collection<Long> smallestPosting(String needle) {
+        Set<Long> smallest = null;
+        for (String gram : grams(needle)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest != null ? smallest : List.of();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private record Entry(Long staffId, String firstName, String lastName, Long sectionId,
+                         String first, String last) {
+
+        static final int NO_MATCH = 3;
+
+        Entry(Long staffId, String firstName, String lastName, Long sectionId) {
+            this(staffId, firstName != null ? firstName : "", lastName != null ? lastName : "", sectionId,
+                    normalize(firstName), normalize(lastName));
+        }
+
+        boolean inSection(Long filter) {
+            return filter == null || filter.equals(sectionId);
+        }
+
+        // 0 完全匹配，1 前缀匹配，2 中间匹配，3 不匹配
+        int rank(String needle) {
+            if (first.equals(needle) || last.equals(needle)) {
+                return 0;
+            }
+            if (first.startsWith(needle) || last.startsWith(needle)) {
+                return 1;
+            }
+            if (first.contains(needle) || last.contains(needle)) {
+                return 2;
+            }
+            return NO_MATCH;
+        }
+
+        int length() {
+            return first.length() + last.length();
+        }
+
+        Set<String> grams() {
+            Set<String> grams = StaffNameIndex.grams(first);
+            grams.addAll(StaffNameIndex.grams(last));
+            return grams;
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new HashSet<>();
+            terms.add(first);
+            terms.add(last);
+            terms.add(first + " " + last);
+            terms.remove("");
+            return terms;
+        }
+
+        boolean hasTerm(String term) {
+            return term.equals(first) || term.equals(last) || term.equals(first + " " + last);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hr.management.metrics;
+
+import com.hr.management.audit.AuditTrail;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 注册审计队列和后台写入线程的指标。hr.audit.buffer.full 持续增长说明写入跟不上，
+ * hr.audit.lost 非零时需按错误日志补录。
+ */
+@Component
+public class AuditMetrics implements MeterBinder {
+
+    private final AuditTrail auditTrail;
+
+    @Autowired
+    public AuditMetrics(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hr.audit.buffer.size", auditTrail, AuditTrail::getBufferSize)
+                .description("Audit records waiting to be written")
+                .register(registry);
+        Gauge.builder("hr.audit.buffer.capacity", auditTrail, AuditTrail::getBufferCapacity)
+                .description("Capacity of the audit ring buffer")
+                .register(registry);
+        FunctionCounter.builder("hr.audit.recorded", auditTrail, AuditTrail::getRecordedCount)
+                .description("Audit records accepted after commit")
+                .register(registry);
+        FunctionCounter.builder("hr.audit.written", auditTrail, AuditTrail::getWrittenCount)
+                .description("Audit records written to audit_log")
+                .register(registry);
+        FunctionCounter.builder("hr.audit.batches", auditTrail, AuditTrail::getBatchCount)
+                .description("Batch inserts executed by the audit writer")
+                .register(registry);
+        FunctionCounter.builder("hr.audit.buffer.full", auditTrail, AuditTrail::getBufferFullCount)
+                .description("Records that found the ring buffer full")
+                .register(registry);
+        FunctionCounter.builder("hr.audit.synchronous.writes", auditTrail, AuditTrail::getSynchronousWriteCount)
+                .description("Records written by the calling thread because the buffer stayed full")
+                .register(registry);
+        FunctionCounter.builder("hr.audit.failed.batches", auditTrail, AuditTrail::getFailedBatchCount)
+                .description("Batch inserts that failed and were retried")
+                .register(registry);
+        FunctionCounter.builder("hr.audit.lost", auditTrail, AuditTrail::getLostCount)
+                .description("Audit records that could not be written")
+                .register(registry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.hr.management.metrics;
+
+import com.hr.management.datasource.ReadReplicaRouter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 将只读副本的可用状态、复制延迟和路由结果注册为指标，只在启用读写分离时创建。
+ */
+public class ReadReplicaMetrics implements MeterBinder {
+
+    private final ReadReplicaRouter router;
+
+    public ReadReplicaMetrics(ReadReplicaRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("hr.datasource.read.connections", router, ReadReplicaRouter::getReplicaConnectionCount)
+                .description("Read-only transaction connections served by a replica")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("hr.datasource.read.connections", router, ReadReplicaRouter::getPrimaryFallbackCount)
+                .description("Read-only transaction connections served by the primary because no replica was available")
+                .tag("target", "primary")
+                .register(registry);
+        for (ReadReplicaRouter.Replica replica : router.getReplicas()) {
+            Gauge.builder("hr.datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .description("Whether the replica passed its last health check")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+            Gauge.builder("hr.datasource.replica.lag", replica, ReadReplicaRouter.Replica::getLagSeconds)
+                    .description("Replication lag measured by the last health check")
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+}
\ No newline at end of file
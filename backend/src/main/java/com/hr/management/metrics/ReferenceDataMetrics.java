@@ -0,0 +1,85 @@
+package com.hr.management.metrics;
+
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.event.ChangeEventBus;
+import com.hr.management.index.StaffIdBloomFilter;
+import com.hr.management.index.StaffNameIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 将内存缓存、索引、登录布隆过滤器和跨节点变更通知的状态注册为指标。
+ */
+@Component
+public class ReferenceDataMetrics implements MeterBinder {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final StaffNameIndex staffNameIndex;
+    private final StaffIdBloomFilter staffIdBloomFilter;
+    private final ChangeEventBus changeEventBus;
+
+    @Autowired
+    public ReferenceDataMetrics(ReferenceDataCache referenceDataCache,
+                                StaffNameIndex staffNameIndex,
+                                StaffIdBloomFilter staffIdBloomFilter,
+                                ChangeEventBus changeEventBus) {
+        this.referenceDataCache = referenceDataCache;
+        this.staffNameIndex = staffNameIndex;
+        this.staffIdBloomFilter = staffIdBloomFilter;
+        this.changeEventBus = changeEventBus;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("hr.reference.cache.hits", referenceDataCache, ReferenceDataCache::getHitCount)
+                .description("Reference data lookups served from the snapshot")
+                .register(registry);
+        FunctionCounter.builder("hr.reference.cache.misses", referenceDataCache, ReferenceDataCache::getMissCount)
+                .description("Reference data lookups not found in the snapshot")
+                .register(registry);
+        FunctionCounter.builder("hr.reference.cache.rebuilds", referenceDataCache, ReferenceDataCache::getRebuildCount)
+                .description("Reference data snapshot rebuilds")
+                .register(registry);
+        Gauge.builder("hr.staff.name.index.size", staffNameIndex, StaffNameIndex::size)
+                .description("Staff entries in the in-memory name index")
+                .register(registry);
+        FunctionCounter.builder("hr.auth.bloom.checks", staffIdBloomFilter, StaffIdBloomFilter::getCheckCount)
+                .description("Login staff ids checked against the Bloom filter")
+                .register(registry);
+        FunctionCounter.builder("hr.auth.bloom.rejections", staffIdBloomFilter, StaffIdBloomFilter::getRejectionCount)
+                .description("Logins rejected by the Bloom filter without a database query")
+                .register(registry);
+        Gauge.builder("hr.auth.bloom.false.positive.rate", staffIdBloomFilter,
+                        StaffIdBloomFilter::estimatedFalsePositiveRate)
+                .description("Estimated false positive rate from the fraction of bits set")
+                .register(registry);
+        Gauge.builder("hr.auth.bloom.insertions", staffIdBloomFilter, StaffIdBloomFilter::getInsertionCount)
+                .description("Staff ids added to the Bloom filter")
+                .register(registry);
+        Gauge.builder("hr.auth.bloom.bits", staffIdBloomFilter, StaffIdBloomFilter::getBitSize)
+                .description("Size of the Bloom filter bit array")
+                .register(registry);
+        Gauge.builder("hr.auth.bloom.capacity", staffIdBloomFilter, StaffIdBloomFilter::getCapacity)
+                .description("Staff ids the Bloom filter is sized for before it is rebuilt")
+                .register(registry);
+        Gauge.builder("hr.auth.bloom.hashes", staffIdBloomFilter, StaffIdBloomFilter::getHashCount)
+                .description("Hash functions per staff id in the Bloom filter")
+                .register(registry);
+        FunctionCounter.builder("hr.events.notify.published", changeEventBus, ChangeEventBus::getPublishedCount)
+                .description("Change notifications sent to other nodes")
+                .register(registry);
+        FunctionCounter.builder("hr.events.notify.received", changeEventBus, ChangeEventBus::getReceivedCount)
+                .description("Change notifications received from other nodes")
+                .register(registry);
+        FunctionCounter.builder("hr.events.notify.resyncs", changeEventBus, ChangeEventBus::getResyncCount)
+                .description("Full cache reloads after the notification listener reconnected")
+                .register(registry);
+        Gauge.builder("hr.events.notify.listening", changeEventBus, bus -> bus.isListening() ? 1 : 0)
+                .description("Whether the change notification listener is connected")
+                .register(registry);
+    }
+}
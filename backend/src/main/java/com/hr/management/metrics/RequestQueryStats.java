@@ -0,0 +1,48 @@
+package com.hr.management.metrics;
+
+/**
+ * 当前请求内执行的 SQL 语句统计，按线程保存。
+ *
+ * <p>由 {@link RequestMetricsFilter} 在请求开始时创建、结束时清除，
+ * {@link QueryStatisticsListener} 在每条语句执行后累加。</p>
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statementCount;
+    private long elapsedMillis;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 返回当前线程的统计，不在请求内时返回 null。
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void record(long elapsedMillis) {
+        this.statementCount++;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    public long getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hr.management.metrics;
+
+import com.hr.management.workload.WorkloadClass;
+import com.hr.management.workload.WorkloadLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按工作负载类别注册准入和连接分区指标，标签 workload 为类别名（interactive、reporting、bulk）。
+ */
+@Component
+public class WorkloadMetrics implements MeterBinder {
+
+    private final WorkloadLimiter workloadLimiter;
+
+    @Autowired
+    public WorkloadMetrics(WorkloadLimiter workloadLimiter) {
+        this.workloadLimiter = workloadLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            String tag = workload.key();
+            Gauge.builder("hr.workload.active", workloadLimiter, limiter -> limiter.getActiveCount(workload))
+                    .description("Requests currently being processed")
+                    .tag("workload", tag)
+                    .register(registry);
+            Gauge.builder("hr.workload.queued", workloadLimiter, limiter -> limiter.getQueuedCount(workload))
+                    .description("Requests waiting for admission")
+                    .tag("workload", tag)
+                    .register(registry);
+            Gauge.builder("hr.workload.connections.active", workloadLimiter,
+                            limiter -> limiter.getActiveConnectionCount(workload))
+                    .description("Connections held by the workload partition")
+                    .tag("workload", tag)
+                    .register(registry);
+            FunctionCounter.builder("hr.workload.admitted", workloadLimiter, limiter -> limiter.getAdmittedCount(workload))
+                    .description("Requests admitted")
+                    .tag("workload", tag)
+                    .register(registry);
+            FunctionCounter.builder("hr.workload.rejected", workloadLimiter, limiter -> limiter.getRejectedCount(workload))
+                    .description("Requests rejected with 503 because the workload was saturated")
+                    .tag("workload", tag)
+                    .register(registry);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.hr.management.repository;
+
+import com.hr.management.entity.College;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CollegeRepository extends JpaRepository<College, Long> {
+}
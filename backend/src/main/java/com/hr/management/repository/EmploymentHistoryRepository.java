@@ -2,6 +2,7 @@ package com.hr.management.repository;
 
 import com.hr.management.entity.EmploymentHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +10,8 @@ import java.util.List;
 @Repository
 public interface EmploymentHistoryRepository extends JpaRepository<EmploymentHistory, Long> {
     List<EmploymentHistory> findByStaffId(Long staffId);
+
+    // 任职区间索引初始化用
+    @Query("SELECT h.staffId, h.sectionId, h.startDate, h.endDate FROM EmploymentHistory h")
+    List<Object[]> findAllIntervalEntries();
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.hr.management.repository;
 
+import com.hr.management.dto.StaffDTO;
 import com.hr.management.entity.Staff;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,14 +23,102 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
 
     Optional<Staff> findByStaffId(Long staffId);
 
-    List<Staff> findBySectionIdAndFirstNameContainingOrSectionIdAndLastNameContaining(
-            Long sectionId1, String firstName, Long sectionId2, String lastName);
+    /**
+     * StaffDTO 投影：只取 DTO 需要的列（不含密码），部门名称和职位名称在同一查询中连接得到，
+     * 结果不进入持久化上下文。
+     */
+    String STAFF_DTO_SELECT = "SELECT new com.hr.management.dto.StaffDTO(" +
+            "s.staffId, s.firstName, s.lastName, s.email, s.phoneNumber, s.hireDate, s.employmentId, " +
+            "s.salary, s.commissionPct, s.managerId, s.sectionId, sec.sectionName, e.employmentTitle) " +
+            "FROM Staff s " +
+            "LEFT JOIN Section sec ON sec.sectionId = s.sectionId " +
+            "LEFT JOIN Employment e ON e.employmentId = s.employmentId ";
 
-    List<Staff> findByFirstNameContainingOrLastNameContaining(String firstName, String lastName);
+    String ORDER_BY_STAFF_ID = "ORDER BY s.staffId ASC";
+    // 薪资为空的员工排在最后（PostgreSQL 降序默认把 NULL 排在最前），键集条件与之对应
+    String ORDER_BY_SALARY = "ORDER BY s.salary DESC NULLS LAST, s.staffId ASC";
 
-    @Query("SELECT MAX(s.salary) as maxSalary, MIN(s.salary) as minSalary, AVG(s.salary) as avgSalary FROM Staff s WHERE s.sectionId = ?1")
-    Object[][] getSalaryStatsBySection(Long sectionId);
+    @Query(STAFF_DTO_SELECT + "WHERE s.staffId = :staffId")
+    Optional<StaffDTO> findStaffDTOById(@Param("staffId") Long staffId);
 
-    @Query("SELECT s.sectionId, MAX(s.salary) as maxSalary, MIN(s.salary) as minSalary, AVG(s.salary) as avgSalary FROM Staff s GROUP BY s.sectionId")
-    List<Object[]> getSalaryStatsByAllSections();
+    @Query(STAFF_DTO_SELECT + "WHERE s.staffId IN :staffIds")
+    List<StaffDTO> findStaffDTOsByIds(@Param("staffIds") Collection<Long> staffIds);
+
+    @Query(STAFF_DTO_SELECT + ORDER_BY_STAFF_ID)
+    List<StaffDTO> findAllStaffDTOs();
+
+    @Query(STAFF_DTO_SELECT + ORDER_BY_SALARY)
+    List<StaffDTO> findAllStaffDTOsOrderBySalary();
+
+    // 键集分页：按 staff_id 升序，需要 staffs 主键索引
+    @Query(STAFF_DTO_SELECT + ORDER_BY_STAFF_ID)
+    List<StaffDTO> findAllStaffDTOs(Limit limit);
+
+    @Query(STAFF_DTO_SELECT + "WHERE s.staffId > :afterStaffId " + ORDER_BY_STAFF_ID)
+    List<StaffDTO> findStaffDTOPageAfterStaffId(@Param("afterStaffId") Long afterStaffId, Limit limit);
+
+    // 键集分页：按 (salary DESC NULLS LAST, staff_id) 排序，建议建立 (salary DESC NULLS LAST, staff_id) 索引
+    @Query(STAFF_DTO_SELECT + ORDER_BY_SALARY)
+    List<StaffDTO> findAllStaffDTOsOrderBySalary(Limit limit);
+
+    @Query(STAFF_DTO_SELECT +
+            "WHERE s.salary < :salary OR s.salary IS NULL OR (s.salary = :salary AND s.staffId > :afterStaffId) " +
+            ORDER_BY_SALARY)
+    List<StaffDTO> findStaffDTOPageAfterSalary(@Param("salary") BigDecimal salary,
+                                               @Param("afterStaffId") Long afterStaffId,
+                                               Limit limit);
+
+    // 上一页停在薪资为空的员工上，之后只剩薪资为空的员工
+    @Query(STAFF_DTO_SELECT + "WHERE s.salary IS NULL AND s.staffId > :afterStaffId " + ORDER_BY_SALARY)
+    List<StaffDTO> findStaffDTOPageAfterNullSalary(@Param("afterStaffId") Long afterStaffId, Limit limit);
+
+    // 部门内键集分页，建议建立 (section_id, staff_id) 和 (section_id, salary DESC NULLS LAST, staff_id) 索引
+    @Query(STAFF_DTO_SELECT + "WHERE s.sectionId = :sectionId " + ORDER_BY_STAFF_ID)
+    List<StaffDTO> findSectionStaffDTOs(@Param("sectionId") Long sectionId, Limit limit);
+
+    @Query(STAFF_DTO_SELECT + "WHERE s.sectionId = :sectionId AND s.staffId > :afterStaffId " + ORDER_BY_STAFF_ID)
+    List<StaffDTO> findSectionStaffDTOPageAfterStaffId(@Param("sectionId") Long sectionId,
+                                                       @Param("afterStaffId") Long afterStaffId,
+                                                       Limit limit);
+
+    @Query(STAFF_DTO_SELECT + "WHERE s.sectionId = :sectionId " + ORDER_BY_SALARY)
+    List<StaffDTO> findSectionStaffDTOsOrderBySalary(@Param("sectionId") Long sectionId, Limit limit);
+
+    @Query(STAFF_DTO_SELECT + "WHERE s.sectionId = :sectionId " +
+            "AND (s.salary < :salary OR s.salary IS NULL OR (s.salary = :salary AND s.staffId > :afterStaffId)) " +
+            ORDER_BY_SALARY)
+    List<StaffDTO> findSectionStaffDTOPageAfterSalary(@Param("sectionId") Long sectionId,
+                                                      @Param("salary") BigDecimal salary,
+                                                      @Param("afterStaffId") Long afterStaffId,
+                                                      Limit limit);
+
+    @Query(STAFF_DTO_SELECT + "WHERE s.sectionId = :sectionId AND s.salary IS NULL AND s.staffId > :afterStaffId " +
+            ORDER_BY_SALARY)
+    List<StaffDTO> findSectionStaffDTOPageAfterNullSalary(@Param("sectionId") Long sectionId,
+                                                          @Param("afterStaffId") Long afterStaffId,
+                                                          Limit limit);
+
+    // 姓名索引初始化用，只取索引需要的列
+    @Query("SELECT s.staffId, s.firstName, s.lastName, s.sectionId FROM Staff s")
+    List<Object[]> findAllNameEntries();
+
+    // 薪资聚合初始化用
+    @Query("SELECT s.staffId, s.sectionId, s.salary FROM Staff s")
+    List<Object[]> findAllSalaryEntries();
+
+    // 任职区间索引初始化用：当前任职的部门和入职日期
+    @Query("SELECT s.staffId, s.sectionId, s.hireDate FROM Staff s")
+    List<Object[]> findAllPositionEntries();
+
+    // 登录布隆过滤器初始化用
+    @Query("SELECT s.staffId FROM Staff s")
+    List<Long> findAllStaffIds();
+
+    // 汇报关系索引初始化用
+    @Query("SELECT s.staffId, s.managerId, s.salary FROM Staff s")
+    List<Object[]> findAllReportingEntries();
+
+    // 员工目录列式快照初始化用
+    @Query("SELECT s.staffId, s.salary, s.hireDate, s.employmentId, s.sectionId, s.managerId FROM Staff s")
+    List<Object[]> findAllDirectoryEntries();
 }
\ No newline at end of file
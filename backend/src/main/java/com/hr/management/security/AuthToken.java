@@ -0,0 +1,21 @@
+package com.hr.management.security;
+
+import java.time.Instant;
+
+/**
+ * 登录令牌中携带的身份信息，校验签名后直接作为请求的认证主体，不再查询数据库。
+ *
+ * @param staffId   员工ID，人事经理为 hr001
+ * @param role      EMPLOYEE、DEPARTMENT_MANAGER 或 HR_MANAGER
+ * @param sectionId 部门经理所管理的部门ID，其他角色为 null
+ */
+public record AuthToken(String staffId, String role, Long sectionId, Instant expiresAt) {
+
+    public static final String EMPLOYEE = "EMPLOYEE";
+    public static final String DEPARTMENT_MANAGER = "DEPARTMENT_MANAGER";
+    public static final String HR_MANAGER = "HR_MANAGER";
+
+    public boolean isHrManager() {
+        return HR_MANAGER.equals(role);
+    }
+}
\ No newline at end of file
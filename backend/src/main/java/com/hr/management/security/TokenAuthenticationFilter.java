@@ -0,0 +1,75 @@
+package com.hr.management.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 从 Authorization: Bearer 请求头读取登录令牌，校验通过后以 {@link AuthToken} 作为认证主体，
+ * 角色映射为 ROLE_ 前缀的权限。令牌缺失或无效时不设置认证信息，由授权规则返回 401。
+ *
+ * <p>浏览器的 EventSource 无法设置请求头，接受 text/event-stream 的请求可改用 access_token 查询参数；
+ * 其他请求不读取查询参数，避免令牌出现在普通接口的访问日志和浏览器历史中。</p>
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    // 异步响应（流式导出）完成后的再次分派和错误分派同样需要认证信息
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String credentials = credentials(request);
+        if (credentials != null) {
+            AuthToken token = tokenService.verify(credentials);
+            if (token != null) {
+                UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                        token, null, List.of(new SimpleGrantedAuthority("ROLE_" + token.role())));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String credentials(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return header.substring(BEARER.length()).trim();
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            return request.getParameter(ACCESS_TOKEN_PARAMETER);
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.hr.management.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * 签发和校验登录令牌。
+ *
+ * <p>令牌为 HS256 签名的 JWT（header.payload.signature，Base64URL 编码），载荷包含
+ * sub（员工ID）、role、sectionId、iat 和 exp。校验只做 HMAC 计算和 JSON 解析，不访问数据库；
+ * 令牌有效期较短，角色或部门变化在令牌过期后重新登录时生效。</p>
+ *
+ * <p>未配置 hr.auth.token.secret 时启动时随机生成密钥，重启后已签发的令牌全部失效；
+ * 多实例部署必须配置相同的密钥（Base64 编码，至少 32 字节）。</p>
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TokenService(@Value("${hr.auth.token.secret:}") String secret,
+                        @Value("${hr.auth.token.ttl-seconds:1800}") long ttlSeconds,
+                        ObjectMapper objectMapper) {
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.objectMapper = objectMapper;
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("hr.auth.token.secret is not set; using a random key, tokens will not survive a restart");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = Base64.getDecoder().decode(secret.trim());
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("hr.auth.token.secret must decode to at least "
+                    + MIN_SECRET_BYTES + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * 签发令牌，有效期从当前时间起算。
+     */
+    public String issue(String staffId, String role, Long sectionId) {
+        Instant now = Instant.now();
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("sub", staffId);
+        payload.put("role", role);
+        if (sectionId != null) {
+            payload.put("sectionId", sectionId);
+        }
+        payload.put("iat", now.getEpochSecond());
+        payload.put("exp", now.plus(ttl).getEpochSecond());
+        String signingInput = HEADER + "." + ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+    }
+
+    /**
+     * 校验签名和有效期，令牌无效或已过期时返回 null。
+     */
+    public AuthToken verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            return null;
+        }
+        // 只接受本服务签发的 header，不信任令牌自带的算法声明
+        if (!HEADER.equals(token.substring(0, first))) {
+            return null;
+        }
+        try {
+            byte[] signature = DECODER.decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, second)))) {
+                return null;
+            }
+            JsonNode payload = objectMapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+            Instant expiresAt = Instant.ofEpochSecond(payload.path("exp").asLong());
+            if (!Instant.now().isBefore(expiresAt)) {
+                return null;
+            }
+            String staffId = payload.path("sub").asText(null);
+            String role = payload.path("role").asText(null);
+            if (staffId == null || role == null) {
+                return null;
+            }
+            JsonNode sectionId = payload.path("sectionId");
+            return new AuthToken(staffId, role, sectionId.isNumber() ? sectionId.asLong() : null, expiresAt);
+        } catch (IllegalArgumentException | IOException e) {
+            // Base64 或 JSON 格式错误
+            return null;
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
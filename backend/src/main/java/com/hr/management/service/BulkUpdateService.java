@@ -0,0 +1,13 @@
+package com.hr.management.service;
+
+import com.hr.management.dto.BulkUpdateResultDTO;
+import com.hr.management.dto.PhoneBulkUpdateItemDTO;
+import com.hr.management.dto.SectionNameBulkUpdateItemDTO;
+
+import java.util.List;
+
+public interface BulkUpdateService {
+    BulkUpdateResultDTO updatePhoneNumbers(List<PhoneBulkUpdateItemDTO> items);
+
+    BulkUpdateResultDTO updateSectionNames(List<SectionNameBulkUpdateItemDTO> items);
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.hr.management.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChangeStreamService {
+
+    /**
+     * 订阅薪资统计和部门列表的变更推送。
+     * @param lastEventId 断线重连时客户端收到的最后一个事件ID；可以从该事件之后补发时只补发增量，
+     *                    否则（为 null、已过期或来自服务重启之前）先发送一次完整快照
+     */
+    SseEmitter subscribe(String lastEventId);
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.hr.management.service;
+
+import com.hr.management.dto.HRDashboardDTO;
+
+public interface DashboardService {
+    HRDashboardDTO getHRDashboard(int employeePageSize);
+}
\ No newline at end of file
@@ -1,9 +1,17 @@
 package com.hr.management.service;
 
 import com.hr.management.dto.EmploymentHistoryDTO;
+import com.hr.management.dto.SectionHeadcountDTO;
+import com.hr.management.dto.SectionMemberDTO;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface EmploymentHistoryService {
     List<EmploymentHistoryDTO> getEmploymentHistoryByStaffId(Long staffId);
+
+    List<SectionMemberDTO> getSectionMembersAt(Long sectionId, LocalDate date);
+
+    List<SectionHeadcountDTO> getMonthEndHeadcounts(Long sectionId, YearMonth from, YearMonth to);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hr.management.service;
+
+import com.hr.management.dto.OrgNodeDTO;
+import com.hr.management.dto.OrgSubtreeDTO;
+
+import java.util.List;
+
+public interface OrgChartService {
+    List<OrgNodeDTO> getReportingChain(Long staffId);
+
+    List<OrgNodeDTO> getDirectReports(Long staffId);
+
+    OrgSubtreeDTO getSubtree(Long staffId, int maxDepth);
+}
\ No newline at end of file
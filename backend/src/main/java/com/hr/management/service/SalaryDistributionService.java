@@ -0,0 +1,12 @@
+package com.hr.management.service;
+
+import com.hr.management.dto.SalaryDistributionDTO;
+import com.hr.management.dto.SalaryDistributionReportDTO;
+
+import java.math.BigDecimal;
+
+public interface SalaryDistributionService {
+    SalaryDistributionReportDTO getSalaryDistributions(BigDecimal bucketWidth);
+
+    SalaryDistributionDTO getSalaryDistributionBySection(Long sectionId, BigDecimal bucketWidth);
+}
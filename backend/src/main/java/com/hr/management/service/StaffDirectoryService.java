@@ -0,0 +1,8 @@
+package com.hr.management.service;
+
+import com.hr.management.dto.DirectoryQueryRequestDTO;
+import com.hr.management.dto.DirectoryQueryResultDTO;
+
+public interface StaffDirectoryService {
+    DirectoryQueryResultDTO query(DirectoryQueryRequestDTO request);
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.hr.management.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface StaffExportService {
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    void exportAllStaff(Format format, OutputStream out) throws IOException;
+}
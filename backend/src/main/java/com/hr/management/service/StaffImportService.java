@@ -0,0 +1,29 @@
+package com.hr.management.service;
+
+import com.hr.management.dto.ImportJobDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface StaffImportService {
+
+    enum Target {
+        STAFFS,
+        EMPLOYMENT_HISTORY
+    }
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * 将上传内容写入临时文件后排队导入，立即返回任务状态。
+     */
+    ImportJobDTO startImport(Target target, Format format, InputStream body) throws IOException;
+
+    /**
+     * 查询导入任务进度，任务不存在或已过期时返回 null。
+     */
+    ImportJobDTO getJob(String jobId);
+}
\ No newline at end of file
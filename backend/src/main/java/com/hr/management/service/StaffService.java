@@ -2,6 +2,8 @@ package com.hr.management.service;
 
 import com.hr.management.dto.SalaryStatsDTO;
 import com.hr.management.dto.StaffDTO;
+import com.hr.management.dto.StaffNameSuggestionDTO;
+import com.hr.management.dto.StaffPageDTO;
 import com.hr.management.entity.Staff;
 
 import java.util.List;
@@ -18,15 +20,28 @@ public interface StaffService {
 
     List<StaffDTO> getAllStaff(boolean orderBySalary);
 
+    StaffPageDTO getStaffPage(boolean orderBySalary, String cursor, int limit);
+
+    StaffPageDTO getStaffPageBySection(Long sectionId, boolean orderBySalary, String cursor, int limit);
+
     StaffDTO getStaffById(Long staffId);
 
     List<StaffDTO> searchStaffByName(String name, Long sectionId);
 
     List<StaffDTO> searchStaffByName(String name);
 
+    List<StaffNameSuggestionDTO> suggestStaffNames(String prefix, Long sectionId, int limit);
+
     SalaryStatsDTO getSalaryStatsBySection(Long sectionId);
 
     List<SalaryStatsDTO> getSalaryStatsByAllSections();
 
     boolean isManager(Long staffId);
+
+    /**
+     * 员工所管理的部门ID，不是部门经理时返回 null。
+     */
+    Long getManagedSectionId(Long staffId);
+
+    long countStaff();
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.entity.Employment;
+import com.hr.management.entity.Place;
+import com.hr.management.entity.Section;
+import com.hr.management.entity.Staff;
+import com.hr.management.entity.State;
+import com.hr.management.repository.EmploymentRepository;
+import com.hr.management.repository.PlaceRepository;
+import com.hr.management.repository.SectionRepository;
+import com.hr.management.repository.StaffRepository;
+import com.hr.management.repository.StateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 关联数据批量加载器。
+ *
+ * <p>收集结果列表中引用的全部外键，对每种被引用的实体只发起一次 {@code IN (...)} 查询，
+ * 供各 Service 的 convertToDTO 使用，避免逐行 findById 造成的 N+1 查询。</p>
+ *
+ * <p>部门、职位、地点和国家/省份优先从 {@link ReferenceDataCache} 内存快照解析，
+ * 只有快照中不存在的主键才回落到数据库。</p>
+ */
+@Component
+public class AssociationBatchLoader {
+
+    private final SectionRepository sectionRepository;
+    private final EmploymentRepository employmentRepository;
+    private final StaffRepository staffRepository;
+    private final PlaceRepository placeRepository;
+    private final StateRepository stateRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public AssociationBatchLoader(SectionRepository sectionRepository,
+                                  EmploymentRepository employmentRepository,
+                                  StaffRepository staffRepository,
+                                  PlaceRepository placeRepository,
+                                  StateRepository stateRepository,
+                                  ReferenceDataCache referenceDataCache) {
+        this.sectionRepository = sectionRepository;
+        this.employmentRepository = employmentRepository;
+        this.staffRepository = staffRepository;
+        this.placeRepository = placeRepository;
+        this.stateRepository = stateRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    public <R> Map<Long, Section> loadSections(Collection<R> rows, Function<R, Long> sectionIdOf) {
+        return resolve(collectIds(rows, sectionIdOf), referenceDataCache::findSection,
+                sectionRepository, Section::getSectionId);
+    }
+
+    public <R> Map<String, Employment> loadEmployments(Collection<R> rows, Function<R, String> employmentIdOf) {
+        return resolve(collectIds(rows, employmentIdOf), referenceDataCache::findEmployment,
+                employmentRepository, Employment::getEmploymentId);
+    }
+
+    public <R> Map<Long, Staff> loadStaffs(Collection<R> rows, Function<R, Long> staffIdOf) {
+        return loadByIds(staffRepository, collectIds(rows, staffIdOf), Staff::getStaffId);
+    }
+
+    public <R> Map<Long, Place> loadPlaces(Collection<R> rows, Function<R, Long> placeIdOf) {
+        return resolve(collectIds(rows, placeIdOf), referenceDataCache::findPlace,
+                placeRepository, Place::getPlaceId);
+    }
+
+    public <R> Map<String, State> loadStates(Collection<R> rows, Function<R, String> stateIdOf) {
+        return resolve(collectIds(rows, stateIdOf), referenceDataCache::findState,
+                stateRepository, State::getStateId);
+    }
+
+    // 去重并忽略空外键
+    private static <R, ID> Set<ID> collectIds(Collection<R> rows, Function<R, ID> idOf) {
+        Set<ID> ids = new LinkedHashSet<>();
+        for (R row : rows) {
+            ID id = idOf.apply(row);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // 先查内存快照，未命中的主键再合并为一次数据库查询
+    private static <T, ID> Map<ID, T> resolve(Set<ID> ids,
+                                              Function<ID, T> cached,
+                                              JpaRepository<T, ID> repository,
+                                              Function<T, ID> idOf) {
+        Map<ID, T> result = new HashMap<>();
+        Set<ID> missing = new LinkedHashSet<>();
+        for (ID id : ids) {
+            T entity = cached.apply(id);
+            if (entity != null) {
+                result.put(id, entity);
+            } else {
+                missing.add(id);
+            }
+        }
+        result.putAll(loadByIds(repository, missing, idOf));
+        return result;
+    }
+
+    // findAllById 在单主键实体上生成一条 WHERE id IN (...) 查询
+    private static <T, ID> Map<ID, T> loadByIds(JpaRepository<T, ID> repository,
+                                                Set<ID> ids,
+                                                Function<T, ID> idOf) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<ID, T> result = new HashMap<>();
+        for (T entity : repository.findAllById(ids)) {
+            result.put(idOf.apply(entity), entity);
+        }
+        return result;
+    }
+}
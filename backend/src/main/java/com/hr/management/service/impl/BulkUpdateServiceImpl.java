@@ -0,0 +1,281 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.audit.AuditAction;
+import com.hr.management.audit.AuditTrail;
+import com.hr.management.cache.DataResource;
+import com.hr.management.cache.DataVersionRegistry;
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.dto.BulkUpdateItemResultDTO;
+import com.hr.management.dto.BulkUpdateResultDTO;
+import com.hr.management.dto.PhoneBulkUpdateItemDTO;
+import com.hr.management.dto.SectionNameBulkUpdateItemDTO;
+import com.hr.management.entity.Section;
+import com.hr.management.entity.Staff;
+import com.hr.management.event.ChangeEventBus;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import com.hr.management.service.BulkUpdateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 批量更新电话号码和部门名称。
+ *
+ * <p>每个条目对应一条按主键更新的条件 UPDATE 语句，值与现有值相同时不更新，不先查询实体；
+ * 同一分块内的语句通过 JDBC batch 一次发送，并在一个事务中提交。某个分块失败只回滚该分块，
+ * 之前已提交的分块保持不变。每条语句的影响行数决定该条目的结果：更新到行为 UPDATED，
+ * 行存在但值未变为 UNCHANGED，否则为 NOT_FOUND；所在分块回滚的条目为 FAILED。
+ * 未变化的条目不写审计、不通知其他节点，也不发布变更事件。</p>
+ */
+@Service
+public class BulkUpdateServiceImpl implements BulkUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUpdateServiceImpl.class);
+
+    private static final String STATUS_UPDATED = "UPDATED";
+    private static final String STATUS_UNCHANGED = "UNCHANGED";
+    private static final String STATUS_NOT_FOUND = "NOT_FOUND";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private static final String UPDATE_PHONE_SQL =
+            "UPDATE staffs SET phone_number = ? WHERE staff_id = ? AND phone_number IS DISTINCT FROM ?";
+    private static final String UPDATE_SECTION_NAME_SQL =
+            "UPDATE sections SET section_name = ? WHERE section_id = ? AND section_name IS DISTINCT FROM ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StaffRepository staffRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeEventBus changeEventBus;
+    private final AuditTrail auditTrail;
+    private final int chunkSize;
+
+    @Autowired
+    public BulkUpdateServiceImpl(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 StaffRepository staffRepository,
+                                 ReferenceDataCache referenceDataCache,
+                                 DataVersionRegistry dataVersionRegistry,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ChangeEventBus changeEventBus,
+                                 AuditTrail auditTrail,
+                                 @Value("${hr.bulk.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.staffRepository = staffRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.eventPublisher = eventPublisher;
+        this.changeEventBus = changeEventBus;
+        this.auditTrail = auditTrail;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkUpdateResultDTO updatePhoneNumbers(List<PhoneBulkUpdateItemDTO> items) {
+        requireIds(items, PhoneBulkUpdateItemDTO::getStaffId);
+        BulkUpdateResultDTO result = newResult(items.size());
+        for (List<PhoneBulkUpdateItemDTO> chunk : chunks(items)) {
+            PhoneChunkOutcome outcome;
+            try {
+                outcome = transactionTemplate.execute(status -> {
+                    Map<Long, String> previous = lockPhoneNumbers(chunk);
+                    int[] counts = executeBatch(UPDATE_PHONE_SQL, chunk, (ps, item) -> {
+                        ps.setString(1, item.getPhoneNumber());
+                        ps.setLong(2, item.getStaffId());
+                        ps.setString(3, item.getPhoneNumber());
+                    });
+                    Set<Long> updatedIds = updatedIds(chunk, counts, PhoneBulkUpdateItemDTO::getStaffId);
+                    // 分块提交时一并通知其他节点
+                    updatedIds.forEach(staffId -> changeEventBus.publish(DataResource.STAFF, staffId));
+                    // 同一员工在分块中出现多次时按顺序更新，修改前值是上一条的新值
+                    Map<Long, String> current = new HashMap<>(previous);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (isUpdated(counts[i])) {
+                            PhoneBulkUpdateItemDTO item = chunk.get(i);
+                            auditTrail.record(AuditAction.PHONE_UPDATED, item.getStaffId(),
+                                    Collections.singletonMap("phoneNumber", current.get(item.getStaffId())),
+                                    Collections.singletonMap("phoneNumber", item.getPhoneNumber()));
+                            current.put(item.getStaffId(), item.getPhoneNumber());
+                        }
+                    }
+                    // 每个分块只需一次 IN 查询取回更新后的行
+                    List<Staff> changed = updatedIds.isEmpty() ? List.of() : staffRepository.findAllById(updatedIds);
+                    return new PhoneChunkOutcome(counts, previous.keySet(), changed);
+                });
+            } catch (DataAccessException e) {
+                log.warn("Bulk phone update chunk of {} items rolled back", chunk.size(), e);
+                recordFailed(result, chunk, PhoneBulkUpdateItemDTO::getStaffId);
+                continue;
+            }
+            record(result, chunk, outcome.counts(), PhoneBulkUpdateItemDTO::getStaffId, outcome.existingIds()::contains);
+            // 提交后再发布变更事件，内存索引只看到已提交的数据
+            for (Staff staff : outcome.changed()) {
+                eventPublisher.publishEvent(new StaffChangedEvent(staff.getStaffId(), staff));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public BulkUpdateResultDTO updateSectionNames(List<SectionNameBulkUpdateItemDTO> items) {
+        requireIds(items, SectionNameBulkUpdateItemDTO::getSectionId);
+        BulkUpdateResultDTO result = newResult(items.size());
+        for (List<SectionNameBulkUpdateItemDTO> chunk : chunks(items)) {
+            int[] counts;
+            try {
+                counts = transactionTemplate.execute(status -> {
+                    int[] chunkCounts = executeBatch(UPDATE_SECTION_NAME_SQL, chunk, (ps, item) -> {
+                        ps.setString(1, item.getSectionName());
+                        ps.setLong(2, item.getSectionId());
+                        ps.setString(3, item.getSectionName());
+                    });
+                    updatedIds(chunk, chunkCounts, SectionNameBulkUpdateItemDTO::getSectionId)
+                            .forEach(sectionId -> changeEventBus.publish(DataResource.SECTIONS, sectionId));
+                    // 修改前的名称取自参考数据快照，不额外查询
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (isUpdated(chunkCounts[i])) {
+                            SectionNameBulkUpdateItemDTO item = chunk.get(i);
+                            Section previous = referenceDataCache.findSection(item.getSectionId());
+                            auditTrail.record(AuditAction.SECTION_RENAMED, item.getSectionId(),
+                                    Collections.singletonMap("sectionName",
+                                            previous != null ? previous.getSectionName() : null),
+                                    Collections.singletonMap("sectionName", item.getSectionName()));
+                        }
+                    }
+                    return chunkCounts;
+                });
+            } catch (DataAccessException e) {
+                log.warn("Bulk section rename chunk of {} items rolled back", chunk.size(), e);
+                recordFailed(result, chunk, SectionNameBulkUpdateItemDTO::getSectionId);
+                continue;
+            }
+            // 部门是否存在同样取自参考数据快照
+            record(result, chunk, counts, SectionNameBulkUpdateItemDTO::getSectionId,
+                    sectionId -> referenceDataCache.findSection(sectionId) != null);
+        }
+        // 全部分块完成后只重建一次参考数据快照
+        if (result.getUpdated() > 0) {
+            referenceDataCache.rebuild();
+            dataVersionRegistry.bump(DataResource.SECTIONS);
+        }
+        return result;
+    }
+
+    /**
+     * 一次 IN 查询读取分块中员工的现有号码并锁定这些行，用于审计的修改前值，
+     * 以及区分未变化（行存在）和不存在的员工。
+     */
+    private Map<Long, String> lockPhoneNumbers(List<PhoneBulkUpdateItemDTO> chunk) {
+        Set<Long> staffIds = new LinkedHashSet<>();
+        chunk.forEach(item -> staffIds.add(item.getStaffId()));
+        String placeholders = String.join(", ", Collections.nCopies(staffIds.size(), "?"));
+        Map<Long, String> phoneNumbers = new HashMap<>();
+        jdbcTemplate.query("SELECT staff_id, phone_number FROM staffs " +
+                        "WHERE staff_id IN (" + placeholders + ") FOR UPDATE",
+                rs -> {
+                    phoneNumbers.put(rs.getLong(1), rs.getString(2));
+                },
+                staffIds.toArray());
+        return phoneNumbers;
+    }
+
+    private <T> int[] executeBatch(String sql, List<T> chunk, ParameterizedPreparedStatementSetter<T> setter) {
+        // 批大小等于分块大小，整块只有一次往返
+        return jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), setter)[0];
+    }
+
+    // 驱动无法报告行数时返回 SUCCESS_NO_INFO（负数），按已更新处理
+    private static boolean isUpdated(int count) {
+        return count != 0;
+    }
+
+    private static <T> Set<Long> updatedIds(List<T> chunk, int[] counts, Function<T, Long> idOf) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (isUpdated(counts[i])) {
+                ids.add(idOf.apply(chunk.get(i)));
+            }
+        }
+        return ids;
+    }
+
+    // 没有更新到行时，行存在说明值未变化
+    private static <T> void record(BulkUpdateResultDTO result, List<T> chunk, int[] counts, Function<T, Long> idOf,
+                                   Predicate<Long> exists) {
+        for (int i = 0; i < chunk.size(); i++) {
+            Long id = idOf.apply(chunk.get(i));
+            if (isUpdated(counts[i])) {
+                result.setUpdated(result.getUpdated() + 1);
+                addItem(result, id, STATUS_UPDATED);
+            } else if (exists.test(id)) {
+                result.setUnchanged(result.getUnchanged() + 1);
+                addItem(result, id, STATUS_UNCHANGED);
+            } else {
+                result.setNotFound(result.getNotFound() + 1);
+                addItem(result, id, STATUS_NOT_FOUND);
+            }
+        }
+    }
+
+    private static <T> void recordFailed(BulkUpdateResultDTO result, List<T> chunk, Function<T, Long> idOf) {
+        for (T item : chunk) {
+            result.setFailed(result.getFailed() + 1);
+            addItem(result, idOf.apply(item), STATUS_FAILED);
+        }
+    }
+
+    private static void addItem(BulkUpdateResultDTO result, Long id, String status) {
+        BulkUpdateItemResultDTO item = new BulkUpdateItemResultDTO();
+        item.setId(id);
+        item.setStatus(status);
+        result.getResults().add(item);
+    }
+
+    private static <T> void requireIds(List<T> items, Function<T, Long> idOf) {
+        for (T item : items) {
+            if (item == null || idOf.apply(item) == null) {
+                throw new IllegalArgumentException("Every item must have an id");
+            }
+        }
+    }
+
+    private static BulkUpdateResultDTO newResult(int size) {
+        BulkUpdateResultDTO result = new BulkUpdateResultDTO();
+        result.setResults(new ArrayList<>(size));
+        return result;
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private record PhoneChunkOutcome(int[] counts, Set<Long> existingIds, List<Staff> changed) {
+    }
+}
\ No newline at end of file
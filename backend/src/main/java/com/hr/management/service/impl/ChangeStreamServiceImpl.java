@@ -0,0 +1,381 @@
+package com.hr.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hr.management.cache.DataResource;
+import com.hr.management.dto.ChangeDeltaDTO;
+import com.hr.management.dto.ChangeSnapshotDTO;
+import com.hr.management.dto.SalaryStatsDTO;
+import com.hr.management.dto.SectionDTO;
+import com.hr.management.event.DataVersionChangedEvent;
+import com.hr.management.service.ChangeStreamService;
+import com.hr.management.service.SectionService;
+import com.hr.management.service.StaffService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 通过服务器推送事件（SSE）推送薪资统计和部门列表的增量。
+ *
+ * <p>服务端保存最近一次推送后的薪资统计和部门列表。数据版本变化（{@link DataVersionChangedEvent}）后
+ * 先去抖：静默 debounce-ms 或距第一次变化已达 max-delay-ms 时才重新计算一次，与上次的结果逐条比较，
+ * 只推送有变化或已删除的条目。无论有多少订阅者，每次变化最多计算一次。</p>
+ *
+ * <p>事件ID由启动时生成的随机前缀和递增序号组成，最近 replay-size 个增量事件保留在内存中。
+ * 客户端断线重连时浏览器自动带上 Last-Event-ID，仍在保留范围内且错过的增量少于订阅者队列容量时
+ * 只补发之后的增量，否则先发送一次完整快照（snapshot 事件）。</p>
+ *
+ * <p>订阅建立后请求线程立即归还；每个订阅者由一个虚拟线程从自己的有界队列取事件写出，
+ * 空闲时每 heartbeat-ms 发送一次注释行检测断开的连接。慢客户端只阻塞自己的线程，
+ * 队列溢出时关闭该订阅，客户端重连后补发或重新获取快照。</p>
+ */
+@Service
+public class ChangeStreamServiceImpl implements ChangeStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamServiceImpl.class);
+
+    static final String EVENT_SNAPSHOT = "snapshot";
+    static final String EVENT_SALARY_STATS = "salary-stats";
+    static final String EVENT_SECTIONS = "sections";
+
+    private final StaffService staffService;
+    private final SectionService sectionService;
+    private final ObjectMapper objectMapper;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final long heartbeatMillis;
+    private final long emitterTimeoutMillis;
+    private final long reconnectMillis;
+    private final int replaySize;
+    private final int subscriberQueueSize;
+
+    private final String nonce = Long.toHexString(new SecureRandom().nextLong());
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("change-stream").factory());
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // 待处理的变更，只在 synchronized (pending) 中访问，临界区内不阻塞
+    private final Set<DataResource> pending = EnumSet.noneOf(DataResource.class);
+    private long firstPendingNanos;
+    private long lastChangeNanos;
+    private boolean flushScheduled;
+
+    // 以下状态由 stateLock 保护；计算增量时查询数据库，使用 ReentrantLock 避免虚拟线程被固定在载体线程上
+    private final ReentrantLock stateLock = new ReentrantLock();
+    // 最近一次推送后的数据，没有订阅者时置为 null，不再随变更重新计算
+    private Map<Long, SalaryStatsDTO> salaryStats;
+    private Map<Long, SectionDTO> sections;
+    private long sequence;
+    // 序号大于该值的增量事件都在 replay 中
+    private long replayFloor;
+    private final Deque<StreamEvent> replay = new ArrayDeque<>();
+
+    @Autowired
+    public ChangeStreamServiceImpl(StaffService staffService,
+                                   SectionService sectionService,
+                                   ObjectMapper objectMapper,
+                                   @Value("${hr.stream.debounce-ms:500}") long debounceMillis,
+                                   @Value("${hr.stream.max-delay-ms:2000}") long maxDelayMillis,
+                                   @Value("${hr.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                                   @Value("${hr.stream.timeout-ms:1800000}") long emitterTimeoutMillis,
+                                   @Value("${hr.stream.reconnect-ms:3000}") long reconnectMillis,
+                                   @Value("${hr.stream.replay-size:64}") int replaySize,
+                                   @Value("${hr.stream.subscriber-queue-size:64}") int subscriberQueueSize) {
+        this.staffService = staffService;
+        this.sectionService = sectionService;
+        this.objectMapper = objectMapper;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.heartbeatMillis = heartbeatMillis;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.replaySize = replaySize;
+        this.subscriberQueueSize = subscriberQueueSize;
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        stateLock.lock();
+        try {
+            List<StreamEvent> missed = replayAfter(lastEventId);
+            // 补发的事件多于订阅者队列容量时会立即溢出并断开，改为发送一次快照
+            if (missed != null && missed.size() < subscriberQueueSize) {
+                missed.forEach(subscriber::offer);
+            } else {
+                subscriber.offer(snapshotEvent());
+            }
+            // 在锁内加入，之后产生的增量一定会送达，不会与补发的事件重复或遗漏
+            subscribers.add(subscriber);
+        } finally {
+            stateLock.unlock();
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start();
+        return emitter;
+    }
+
+    @EventListener
+    public void onDataVersionChanged(DataVersionChangedEvent event) {
+        long now = System.nanoTime();
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                firstPendingNanos = now;
+            }
+            pending.add(event.resource());
+            lastChangeNanos = now;
+            if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, debounceNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+    }
+
+    private void flush() {
+        Set<DataResource> changed;
+        synchronized (pending) {
+            long now = System.nanoTime();
+            long quiet = now - lastChangeNanos;
+            long waited = now - firstPendingNanos;
+            if (quiet < debounceNanos && waited < maxDelayNanos) {
+                // 仍有变更陆续到达，推迟到静默期结束，但不超过最长等待时间
+                scheduler.schedule(this::flush, Math.min(debounceNanos - quiet, maxDelayNanos - waited),
+                        TimeUnit.NANOSECONDS);
+                return;
+            }
+            changed = EnumSet.copyOf(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        stateLock.lock();
+        try {
+            if (salaryStats == null) {
+                return;
+            }
+            if (subscribers.isEmpty()) {
+                // 没有订阅者时停止维护，下一个订阅者重新加载并收到快照
+                discardState();
+                return;
+            }
+            // 薪资统计包含部门名称；部门列表包含经理姓名和地点地址
+            if (changed.contains(DataResource.STAFF) || changed.contains(DataResource.SECTIONS)) {
+                Map<Long, SalaryStatsDTO> current = byId(staffService.getSalaryStatsByAllSections(),
+                        SalaryStatsDTO::getSectionId);
+                ChangeDeltaDTO<SalaryStatsDTO> delta = diff(salaryStats, current);
+                salaryStats = current;
+                publish(EVENT_SALARY_STATS, delta);
+            }
+            Map<Long, SectionDTO> current = byId(sectionService.getAllSections(), SectionDTO::getSectionId);
+            ChangeDeltaDTO<SectionDTO> delta = diff(sections, current);
+            sections = current;
+            publish(EVENT_SECTIONS, delta);
+        } catch (RuntimeException e) {
+            // 数据已变化但增量计算失败，丢弃保存的数据，之后的订阅者和重连者都会收到完整快照
+            log.warn("Failed to compute change stream deltas for {}", changed, e);
+            discardState();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+                subscriber.close();
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void publish(String name, ChangeDeltaDTO<?> delta) {
+        if (delta.getChanged().isEmpty() && delta.getRemoved().isEmpty()) {
+            return;
+        }
+        StreamEvent event = new StreamEvent(nextId(), name, toJson(delta));
+        replay.addLast(event);
+        while (replay.size() > replaySize) {
+            replayFloor = replay.removeFirst().sequence;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    // 之前发出的事件ID都不能再补发；调用方持有 stateLock
+    private void discardState() {
+        salaryStats = null;
+        sections = null;
+        replay.clear();
+        replayFloor = ++sequence;
+    }
+
+    // 调用方持有 stateLock
+    private StreamEvent snapshotEvent() {
+        if (salaryStats == null) {
+            salaryStats = byId(staffService.getSalaryStatsByAllSections(), SalaryStatsDTO::getSectionId);
+            sections = byId(sectionService.getAllSections(), SectionDTO::getSectionId);
+        }
+        ChangeSnapshotDTO snapshot = new ChangeSnapshotDTO();
+        snapshot.setSalaryStats(new ArrayList<>(salaryStats.values()));
+        snapshot.setSections(new ArrayList<>(sections.values()));
+        // 快照使用当前序号：客户端以它重连时从下一个增量开始补发
+        return new StreamEvent(sequence, EVENT_SNAPSHOT, toJson(snapshot));
+    }
+
+    // 可以补发时返回 lastEventId 之后的增量（可能为空），否则返回 null；调用方持有 stateLock
+    private List<StreamEvent> replayAfter(String lastEventId) {
+        if (lastEventId == null || salaryStats == null) {
+            return null;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !nonce.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (after < replayFloor || after > sequence) {
+            return null;
+        }
+        return replay.stream().filter(event -> event.sequence > after).toList();
+    }
+
+    private long nextId() {
+        return ++sequence;
+    }
+
+    private String toJson(Object data) {
+        try {
+            // 每个事件只序列化一次，所有订阅者共用
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize change stream event", e);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> idOf) {
+        Map<Long, T> result = new LinkedHashMap<>();
+        for (T item : items) {
+            result.put(idOf.apply(item), item);
+        }
+        return result;
+    }
+
+    private static <T> ChangeDeltaDTO<T> diff(Map<Long, T> previous, Map<Long, T> current) {
+        List<T> changed = new ArrayList<>();
+        current.forEach((id, item) -> {
+            if (!Objects.equals(previous.get(id), item)) {
+                changed.add(item);
+            }
+        });
+        List<Long> removed = new ArrayList<>();
+        for (Long id : previous.keySet()) {
+            if (!current.containsKey(id)) {
+                removed.add(id);
+            }
+        }
+        ChangeDeltaDTO<T> delta = new ChangeDeltaDTO<>();
+        delta.setChanged(changed);
+        delta.setRemoved(removed);
+        return delta;
+    }
+
+    private record StreamEvent(long sequence, String name, String json) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private volatile boolean closed;
+        private volatile Thread thread;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(StreamEvent event) {
+            if (!closed && !queue.offer(event)) {
+                log.debug("Change stream subscriber is too slow, closing the stream");
+                emitter.complete();
+                close();
+            }
+        }
+
+        void start() {
+            thread = Thread.ofVirtual().name("change-stream-subscriber").start(this::run);
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread current = thread;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    StreamEvent event = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (closed) {
+                        return;
+                    }
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(nonce + "-" + event.sequence())
+                                .name(event.name())
+                                .reconnectTime(reconnectMillis)
+                                .data(event.json()));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开或订阅已结束，容器随后回调 onError/onCompletion
+                log.debug("Change stream subscriber disconnected: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+    }
+}
\ No newline at end of file
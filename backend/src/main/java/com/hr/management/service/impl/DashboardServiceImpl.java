@@ -0,0 +1,136 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.dto.HRDashboardDTO;
+import com.hr.management.service.DashboardService;
+import com.hr.management.service.PlaceService;
+import com.hr.management.service.SectionService;
+import com.hr.management.service.StaffService;
+import com.hr.management.workload.WorkloadContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 人事仪表板聚合。
+ *
+ * <p>部门、地点、薪资统计和员工首页互不依赖，每项在独立的虚拟线程上并发执行，
+ * 总耗时约等于最慢的一项。每项有各自的超时，失败或超时的分项记录在 failures 中，
+ * 其余分项照常返回。</p>
+ *
+ * <p>执行器的生命周期限定在一次调用内：返回前取消所有未完成的分项并关闭执行器，
+ * 分项不会在请求结束后继续占用连接。</p>
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    private final StaffService staffService;
+    private final SectionService sectionService;
+    private final PlaceService placeService;
+    private final long branchTimeoutMillis;
+
+    @Autowired
+    public DashboardServiceImpl(StaffService staffService,
+                                SectionService sectionService,
+                                PlaceService placeService,
+                                @Value("${hr.dashboard.branch-timeout-ms:3000}") long branchTimeoutMillis) {
+        this.staffService = staffService;
+        this.sectionService = sectionService;
+        this.placeService = placeService;
+        this.branchTimeoutMillis = branchTimeoutMillis;
+    }
+
+    @Override
+    public HRDashboardDTO getHRDashboard(int employeePageSize) {
+        HRDashboardDTO dashboard = new HRDashboardDTO();
+        Map<String, String> failures = new LinkedHashMap<>();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Branches branches = new Branches(executor, failures);
+            branches.fork("sections", sectionService::getAllSections, dashboard::setSections);
+            branches.fork("places", placeService::getAllPlaces, dashboard::setPlaces);
+            branches.fork("salaryStats", staffService::getSalaryStatsByAllSections, dashboard::setSalaryStats);
+            branches.fork("employees",
+                    () -> staffService.getStaffPage(false, null, employeePageSize), dashboard::setEmployees);
+            branches.fork("employeeCount", staffService::countStaff, dashboard::setEmployeeCount);
+            branches.join();
+        } finally {
+            // 超时的分项已被取消，这里中断仍在运行的线程，不等待其结束
+            executor.shutdownNow();
+        }
+
+        dashboard.setFailures(failures);
+        return dashboard;
+    }
+
+    /**
+     * 一次仪表板调用中的全部分项。
+     */
+    private final class Branches {
+
+        private final ExecutorService executor;
+        private final Map<String, String> failures;
+        private final Map<String, Branch<?>> forked = new LinkedHashMap<>();
+
+        Branches(ExecutorService executor, Map<String, String> failures) {
+            this.executor = executor;
+            this.failures = failures;
+        }
+
+        <T> void fork(String name, Callable<T> task, Consumer<T> onSuccess) {
+            // 分项与仪表板请求使用同一工作负载类别的连接分区
+            forked.put(name, new Branch<>(executor.submit(WorkloadContext.propagate(task)), onSuccess));
+        }
+
+        // 各分项从同一时刻开始计时，依次等待到各自的截止时间
+        void join() {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(branchTimeoutMillis);
+            for (Map.Entry<String, Branch<?>> entry : forked.entrySet()) {
+                String name = entry.getKey();
+                Branch<?> branch = entry.getValue();
+                try {
+                    branch.complete(Math.max(0, deadline - System.nanoTime()));
+                } catch (TimeoutException e) {
+                    branch.future.cancel(true);
+                    failures.put(name, "Timed out after " + branchTimeoutMillis + " ms");
+                } catch (ExecutionException e) {
+                    log.warn("Dashboard branch {} failed", name, e.getCause());
+                    failures.put(name, e.getCause().getClass().getSimpleName());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelAll();
+                    failures.put(name, "Interrupted");
+                    return;
+                }
+            }
+        }
+
+        private void cancelAll() {
+            for (Branch<?> branch : forked.values()) {
+                branch.future.cancel(true);
+            }
+        }
+    }
+
+    private record Branch<T>(Future<T> future, Consumer<T> onSuccess) {
+
+        void complete(long timeoutNanos) throws InterruptedException, ExecutionException, TimeoutException {
+            onSuccess.accept(future.get(timeoutNanos, TimeUnit.NANOSECONDS));
+        }
+    }
+}
\ No newline at end of file
@@ -1,40 +1,115 @@
 package com.hr.management.service.impl;
 
+import com.hr.management.cache.ReferenceDataCache;
 import com.hr.management.dto.EmploymentHistoryDTO;
+import com.hr.management.dto.HeadcountPointDTO;
+import com.hr.management.dto.SectionHeadcountDTO;
+import com.hr.management.dto.SectionMemberDTO;
+import com.hr.management.entity.Employment;
 import com.hr.management.entity.EmploymentHistory;
+import com.hr.management.entity.Section;
+import com.hr.management.index.EmploymentIntervalIndex;
+import com.hr.management.index.StaffNameIndex;
 import com.hr.management.repository.EmploymentHistoryRepository;
-import com.hr.management.repository.EmploymentRepository;
-import com.hr.management.repository.SectionRepository;
 import com.hr.management.service.EmploymentHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class EmploymentHistoryServiceImpl implements EmploymentHistoryService {
 
+    // 单次人数统计最多的月数
+    private static final long MAX_MONTHS = 1200;
+
     private final EmploymentHistoryRepository employmentHistoryRepository;
-    private final EmploymentRepository employmentRepository;
-    private final SectionRepository sectionRepository;
+    private final AssociationBatchLoader batchLoader;
+    private final EmploymentIntervalIndex intervalIndex;
+    private final StaffNameIndex staffNameIndex;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
     public EmploymentHistoryServiceImpl(EmploymentHistoryRepository employmentHistoryRepository,
-                                        EmploymentRepository employmentRepository,
-                                        SectionRepository sectionRepository) {
+                                        AssociationBatchLoader batchLoader,
+                                        EmploymentIntervalIndex intervalIndex,
+                                        StaffNameIndex staffNameIndex,
+                                        ReferenceDataCache referenceDataCache) {
         this.employmentHistoryRepository = employmentHistoryRepository;
-        this.employmentRepository = employmentRepository;
-        this.sectionRepository = sectionRepository;
+        this.batchLoader = batchLoader;
+        this.intervalIndex = intervalIndex;
+        this.staffNameIndex = staffNameIndex;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmploymentHistoryDTO> getEmploymentHistoryByStaffId(Long staffId) {
         List<EmploymentHistory> historyList = employmentHistoryRepository.findByStaffId(staffId);
-        return historyList.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return convertToDTOs(historyList);
+    }
+
+    @Override
+    public List<SectionMemberDTO> getSectionMembersAt(Long sectionId, LocalDate date) {
+        List<SectionMemberDTO> result = new ArrayList<>();
+        for (EmploymentIntervalIndex.Interval interval : intervalIndex.membersAt(sectionId, date)) {
+            SectionMemberDTO dto = new SectionMemberDTO();
+            dto.setStaffId(interval.staffId());
+            // 已离职的员工不在姓名索引中，姓名为空
+            dto.setFullName(staffNameIndex.findFullName(interval.staffId()));
+            dto.setStartDate(interval.startDate());
+            dto.setEndDate(interval.endDate());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    public List<SectionHeadcountDTO> getMonthEndHeadcounts(Long sectionId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to) || ChronoUnit.MONTHS.between(from, to) >= MAX_MONTHS) {
+            throw new IllegalArgumentException("Month range must be ascending and at most " + MAX_MONTHS + " months");
+        }
+        List<Long> sectionIds = sectionId != null ? List.of(sectionId) : new ArrayList<>(intervalIndex.sectionIds());
+        List<SectionHeadcountDTO> result = new ArrayList<>(sectionIds.size());
+        for (Long id : sectionIds) {
+            List<HeadcountPointDTO> points = new ArrayList<>();
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                HeadcountPointDTO point = new HeadcountPointDTO();
+                point.setDate(month.atEndOfMonth());
+                point.setHeadcount(intervalIndex.headcountAt(id, point.getDate()));
+                points.add(point);
+            }
+            SectionHeadcountDTO dto = new SectionHeadcountDTO();
+            dto.setSectionId(id);
+            Section section = referenceDataCache.findSection(id);
+            if (section != null) {
+                dto.setSectionName(section.getSectionName());
+            }
+            dto.setPoints(points);
+            result.add(dto);
+        }
+        return result;
     }
 
-    private EmploymentHistoryDTO convertToDTO(EmploymentHistory history) {
+    // 批量转换：职位和部门各只查询一次
+    private List<EmploymentHistoryDTO> convertToDTOs(List<EmploymentHistory> historyList) {
+        Map<String, Employment> employments = batchLoader.loadEmployments(historyList, EmploymentHistory::getEmploymentId);
+        Map<Long, Section> sections = batchLoader.loadSections(historyList, EmploymentHistory::getSectionId);
+        return historyList.stream()
+                .map(history -> convertToDTO(history, employments, sections))
+                .collect(Collectors.toList());
+    }
+
+    private EmploymentHistoryDTO convertToDTO(EmploymentHistory history,
+                                              Map<String, Employment> employments,
+                                              Map<Long, Section> sections) {
         EmploymentHistoryDTO dto = new EmploymentHistoryDTO();
         dto.setStaffId(history.getStaffId());
         dto.setStartDate(history.getStartDate());
@@ -43,13 +118,16 @@ public class EmploymentHistoryServiceImpl implements EmploymentHistoryService {
         dto.setSectionId(history.getSectionId());
 
         // 获取职位名称
-        employmentRepository.findById(history.getEmploymentId())
-                .ifPresent(employment -> dto.setEmploymentTitle(employment.getEmploymentTitle()));
+        Employment employment = employments.get(history.getEmploymentId());
+        if (employment != null) {
+            dto.setEmploymentTitle(employment.getEmploymentTitle());
+        }
 
         // 获取部门名称
-        sectionRepository.findById(history.getSectionId())
-                .ifPresent(section -> dto.setSectionName(section.getSectionName()));
-
+        Section section = sections.get(history.getSectionId());
+        if (section != null) {
+            dto.setSectionName(section.getSectionName());
+        }
 
         return dto;
     }
@@ -0,0 +1,220 @@
+package com.hr.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hr.management.service.StaffImportService;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 逐条读取导入文件中的记录，每条记录为“归一化字段名 -> 原始值”。
+ *
+ * <p>每次只在内存中保存一条记录，单条记录超过 {@link #MAX_RECORD_CHARS} 个字符时视为文件损坏
+ * （例如 CSV 引号未闭合），抛出 {@link IllegalStateException} 终止导入，内存占用与文件大小无关。</p>
+ */
+abstract class ImportRecordReader implements Closeable {
+
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    protected final BufferedReader reader;
+    // 下一个字符所在的行号，从 1 开始
+    protected long line = 1;
+    private long recordLine;
+
+    protected ImportRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    static ImportRecordReader open(StaffImportService.Format format, BufferedReader reader,
+                                   ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(reader);
+            case NDJSON -> new Ndjson(reader, objectMapper);
+        };
+    }
+
+    /**
+     * 读取下一条记录，文件结束时返回 null。
+     * @throws IllegalArgumentException 记录本身格式错误（如 NDJSON 行不是 JSON 对象），可跳过继续读取
+     */
+    abstract Map<String, String> next() throws IOException;
+
+    /**
+     * 最近一次 {@link #next()} 返回或拒绝的记录的起始行号。
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    protected void startRecord() {
+        recordLine = line;
+    }
+
+    protected void checkLength(int length) {
+        if (length > MAX_RECORD_CHARS) {
+            throw new IllegalStateException("Record starting at line " + recordLine
+                    + " exceeds " + MAX_RECORD_CHARS + " characters");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * RFC 4180 CSV，第一行为表头，带引号的字段可以包含逗号、引号和换行。
+     */
+    private static final class Csv extends ImportRecordReader {
+
+        private final List<String> header = new ArrayList<>();
+
+        Csv(BufferedReader reader) throws IOException {
+            super(reader);
+            List<String> names = readFields();
+            if (names == null) {
+                return;
+            }
+            for (String name : names) {
+                header.add(ImportTable.normalizeKey(name.trim()));
+            }
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readFields();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                record.put(header.get(i), fields.get(i));
+            }
+            return record;
+        }
+
+        private List<String> readFields() throws IOException {
+            startRecord();
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            int length = 0;
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                checkLength(++length);
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * 每行一个 JSON 对象，字段值为字符串、数字或 null。
+     */
+    private static final class Ndjson extends ImportRecordReader {
+
+        private final ObjectMapper objectMapper;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            String text;
+            do {
+                text = readLine();
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("INVALID_JSON", e);
+            }
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("INVALID_JSON");
+            }
+            Map<String, String> record = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = field.getValue();
+                if (value.isContainerNode()) {
+                    throw new IllegalArgumentException("INVALID_" + field.getKey().toUpperCase(Locale.ROOT));
+                }
+                record.put(ImportTable.normalizeKey(field.getKey()), value.isNull() ? null : value.asText());
+            }
+            return record;
+        }
+
+        private String readLine() throws IOException {
+            startRecord();
+            StringBuilder text = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '\n') {
+                    line++;
+                    return text.toString();
+                }
+                if (c != '\r') {
+                    text.append((char) c);
+                    checkLength(text.length());
+                }
+            }
+            return text.isEmpty() ? null : text.toString();
+        }
+    }
+}
\ No newline at end of file
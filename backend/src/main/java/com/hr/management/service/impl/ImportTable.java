@@ -0,0 +1,267 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.service.StaffImportService;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * 批量导入的目标表定义：可导入的列、暂存表结构、校验规则和最终的插入语句。
+ *
+ * <p>列值的格式（数字、日期、长度）在解析时逐行检查；外键和重复等需要与数据库比较的规则
+ * 在全部行 COPY 到暂存表之后，以集合操作的 UPDATE 语句一次性标记，被标记的行不会插入。</p>
+ */
+enum ImportTable {
+
+    STAFFS("staffs", "import_staffs",
+            List.of(
+                    Column.id("staff_id", true),
+                    Column.text("first_name", 20),
+                    Column.text("last_name", 25),
+                    Column.text("email", 25),
+                    Column.text("phone_number", 20),
+                    Column.timestamp("hire_date", false),
+                    Column.text("employment_id", 10),
+                    Column.decimal("salary", 6, 2),
+                    Column.decimal("commission_pct", 0, 2),
+                    Column.id("manager_id", false),
+                    Column.id("section_id", false),
+                    Column.text("password", 64)),
+            List.of(
+                    Rule.once("DUPLICATE_IN_FILE",
+                            "EXISTS (SELECT 1 FROM import_staffs d WHERE d.staff_id = i.staff_id AND d.line_no < i.line_no)"),
+                    Rule.once("STAFF_EXISTS",
+                            "EXISTS (SELECT 1 FROM staffs s WHERE s.staff_id = i.staff_id)"),
+                    Rule.once("UNKNOWN_SECTION",
+                            "i.section_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM sections s WHERE s.section_id = i.section_id)"),
+                    Rule.once("UNKNOWN_EMPLOYMENT",
+                            "i.employment_id IS NOT NULL " +
+                            "AND NOT EXISTS (SELECT 1 FROM employments e WHERE e.employment_id = i.employment_id)"),
+                    // 经理可以是已有员工或同一文件中的员工；经理被拒绝时其下属也被拒绝，逐层重复直到没有新的拒绝
+                    Rule.repeated("UNKNOWN_MANAGER",
+                            "i.manager_id IS NOT NULL " +
+                            "AND NOT EXISTS (SELECT 1 FROM staffs s WHERE s.staff_id = i.manager_id) " +
+                            "AND NOT EXISTS (SELECT 1 FROM import_staffs m " +
+                            "WHERE m.staff_id = i.manager_id AND m.reject_reason IS NULL)"),
+                    // 文件中的员工互为上级（A→B→A）时上一条规则无法发现：从没有上级或上级是已有员工的行出发，
+                    // 沿文件内的汇报关系向下走不到的行处在环上或环的下方，一并拒绝
+                    Rule.once("MANAGER_CYCLE",
+                            "i.manager_id IS NOT NULL AND i.staff_id NOT IN (" +
+                            "WITH RECURSIVE rooted (staff_id) AS (" +
+                            "SELECT r.staff_id FROM import_staffs r WHERE r.reject_reason IS NULL " +
+                            "AND (r.manager_id IS NULL OR EXISTS (SELECT 1 FROM staffs s WHERE s.staff_id = r.manager_id)) " +
+                            "UNION SELECT c.staff_id FROM import_staffs c JOIN rooted p ON c.manager_id = p.staff_id " +
+                            "WHERE c.reject_reason IS NULL) " +
+                            "SELECT staff_id FROM rooted)"))),
+
+    EMPLOYMENT_HISTORY("employment_history", "import_employment_history",
+            List.of(
+                    Column.id("staff_id", true),
+                    Column.timestamp("start_date", true),
+                    Column.timestamp("end_date", false),
+                    Column.text("employment_id", 10),
+                    Column.id("section_id", false)),
+            List.of(
+                    Rule.once("INVALID_PERIOD",
+                            "i.end_date IS NOT NULL AND i.end_date < i.start_date"),
+                    Rule.once("DUPLICATE_IN_FILE",
+                            "EXISTS (SELECT 1 FROM import_employment_history d " +
+                            "WHERE d.staff_id = i.staff_id AND d.start_date = i.start_date AND d.line_no < i.line_no)"),
+                    // 同一员工同一开始日期的记录已存在，重复导入同一文件不会产生重复历史
+                    Rule.once("HISTORY_EXISTS",
+                            "EXISTS (SELECT 1 FROM employment_history h " +
+                            "WHERE h.staff_id = i.staff_id AND h.start_date = i.start_date)"),
+                    Rule.once("UNKNOWN_STAFF",
+                            "NOT EXISTS (SELECT 1 FROM staffs s WHERE s.staff_id = i.staff_id)"),
+                    Rule.once("UNKNOWN_SECTION",
+                            "i.section_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM sections s WHERE s.section_id = i.section_id)"),
+                    Rule.once("UNKNOWN_EMPLOYMENT",
+                            "i.employment_id IS NOT NULL " +
+                            "AND NOT EXISTS (SELECT 1 FROM employments e WHERE e.employment_id = i.employment_id)")));
+
+    private static final DateTimeFormatter COPY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String tableName;
+    private final String stageName;
+    private final List<Column> columns;
+    private final List<Rule> rules;
+
+    ImportTable(String tableName, String stageName, List<Column> columns, List<Rule> rules) {
+        this.tableName = tableName;
+        this.stageName = stageName;
+        this.columns = columns;
+        this.rules = rules;
+    }
+
+    static ImportTable of(StaffImportService.Target target) {
+        return switch (target) {
+            case STAFFS -> STAFFS;
+            case EMPLOYMENT_HISTORY -> EMPLOYMENT_HISTORY;
+        };
+    }
+
+    List<Column> columns() {
+        return columns;
+    }
+
+    List<Rule> rules() {
+        return rules;
+    }
+
+    // 暂存表随事务提交删除，字符串列不限长度，超长值在解析时已被拒绝
+    String createStageSql() {
+        return "CREATE TEMP TABLE " + stageName + " (line_no BIGINT NOT NULL, reject_reason VARCHAR(32), " +
+                columns.stream().map(column -> column.name() + " " + column.type().sqlType)
+                        .collect(Collectors.joining(", ")) +
+                ") ON COMMIT DROP";
+    }
+
+    // 临时表不会被自动 ANALYZE，建索引后手动收集统计信息，校验语句才能选到合适的连接方式
+    List<String> prepareStageSql() {
+        return List.of(
+                "CREATE INDEX " + stageName + "_staff_idx ON " + stageName + " (staff_id, line_no)",
+                "ANALYZE " + stageName);
+    }
+
+    String copySql() {
+        return "COPY " + stageName + " (line_no, " + columnList() + ") FROM STDIN";
+    }
+
+    String rejectSql(Rule rule) {
+        return "UPDATE " + stageName + " i SET reject_reason = '" + rule.reason() + "' " +
+                "WHERE i.reject_reason IS NULL AND (" + rule.predicate() + ")";
+    }
+
+    String rejectedSampleSql() {
+        return "SELECT line_no, staff_id, reject_reason FROM " + stageName +
+                " WHERE reject_reason IS NOT NULL ORDER BY line_no LIMIT ?";
+    }
+
+    String insertSql() {
+        return "INSERT INTO " + tableName + " (" + columnList() + ") SELECT " + columnList() +
+                " FROM " + stageName + " WHERE reject_reason IS NULL ORDER BY staff_id";
+    }
+
+    private String columnList() {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+
+    enum Type {
+        ID("BIGINT"),
+        TEXT("TEXT"),
+        DECIMAL("NUMERIC"),
+        TIMESTAMP("TIMESTAMP");
+
+        private final String sqlType;
+
+        Type(String sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+
+    /**
+     * 一个可导入的列。CSV 表头和 NDJSON 字段名忽略大小写和下划线，
+     * staff_id、staffId 和 STAFFID 都对应本列。
+     *
+     * @param limit 文本列的最大长度，或数值列整数部分的最大位数
+     * @param scale 数值列小数部分的最大位数
+     */
+    record Column(String name, Type type, boolean required, int limit, int scale) {
+
+        static Column id(String name, boolean required) {
+            return new Column(name, Type.ID, required, 0, 0);
+        }
+
+        static Column text(String name, int maxLength) {
+            return new Column(name, Type.TEXT, false, maxLength, 0);
+        }
+
+        static Column decimal(String name, int integerDigits, int scale) {
+            return new Column(name, Type.DECIMAL, false, integerDigits, scale);
+        }
+
+        static Column timestamp(String name, boolean required) {
+            return new Column(name, Type.TIMESTAMP, required, 0, 0);
+        }
+
+        String key() {
+            return normalizeKey(name);
+        }
+
+        /**
+         * 把输入值转换为 COPY 文本格式中的值，空值返回 null。
+         * @throws IllegalArgumentException 值不符合列的格式，消息作为拒绝原因
+         */
+        String toCopyValue(String raw) {
+            String value = raw != null ? raw.trim() : "";
+            if (value.isEmpty()) {
+                if (required) {
+                    throw new IllegalArgumentException("MISSING_" + name.toUpperCase(Locale.ROOT));
+                }
+                return null;
+            }
+            try {
+                return switch (type) {
+                    case ID -> Long.toString(Long.parseLong(value));
+                    case TEXT -> {
+                        if (value.length() > limit) {
+                            throw new IllegalArgumentException();
+                        }
+                        yield value;
+                    }
+                    case DECIMAL -> {
+                        BigDecimal number = new BigDecimal(value);
+                        BigInteger integerPart = number.toBigInteger().abs();
+                        if (integerPart.signum() != 0 && integerPart.toString().length() > limit) {
+                            throw new IllegalArgumentException();
+                        }
+                        // 数据库按列的小数位数舍入，多出的非零小数位会被静默改变，因此拒绝；末尾的 0 不影响取值
+                        if (number.stripTrailingZeros().scale() > scale) {
+                            throw new IllegalArgumentException();
+                        }
+                        yield number.toPlainString();
+                    }
+                    case TIMESTAMP -> parseTimestamp(value).format(COPY_TIMESTAMP);
+                };
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("INVALID_" + name.toUpperCase(Locale.ROOT), e);
+            }
+        }
+
+        // 接受导出文件中的 ISO 格式（2020-01-31T09:30）、“2020-01-31 09:30:00” 和纯日期
+        private static LocalDateTime parseTimestamp(String value) {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay();
+            }
+            return LocalDateTime.parse(value.replace(' ', 'T'));
+        }
+    }
+
+    /**
+     * 一条集合校验规则。
+     *
+     * @param predicate 以暂存表别名 i 书写的条件，满足条件的行以 reason 被拒绝
+     * @param repeated  拒绝结果会影响同一规则的其他行时，重复执行直到没有新的拒绝
+     */
+    record Rule(String reason, String predicate, boolean repeated) {
+
+        static Rule once(String reason, String predicate) {
+            return new Rule(reason, predicate, false);
+        }
+
+        static Rule repeated(String reason, String predicate) {
+            return new Rule(reason, predicate, true);
+        }
+    }
+
+    static String normalizeKey(String key) {
+        return key.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
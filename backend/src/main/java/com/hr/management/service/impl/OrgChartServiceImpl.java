@@ -0,0 +1,75 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.dto.OrgNodeDTO;
+import com.hr.management.dto.OrgSubtreeDTO;
+import com.hr.management.index.OrgChartIndex;
+import com.hr.management.index.StaffNameIndex;
+import com.hr.management.service.OrgChartService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 汇报关系查询，全部由 {@link OrgChartIndex} 回答，不访问数据库。
+ * 员工不存在时各方法返回 null。
+ */
+@Service
+public class OrgChartServiceImpl implements OrgChartService {
+
+    private final OrgChartIndex orgChartIndex;
+    private final StaffNameIndex staffNameIndex;
+
+    @Autowired
+    public OrgChartServiceImpl(OrgChartIndex orgChartIndex, StaffNameIndex staffNameIndex) {
+        this.orgChartIndex = orgChartIndex;
+        this.staffNameIndex = staffNameIndex;
+    }
+
+    @Override
+    public List<OrgNodeDTO> getReportingChain(Long staffId) {
+        if (!orgChartIndex.contains(staffId)) {
+            return null;
+        }
+        return convertToDTOs(orgChartIndex.reportingChain(staffId));
+    }
+
+    @Override
+    public List<OrgNodeDTO> getDirectReports(Long staffId) {
+        if (!orgChartIndex.contains(staffId)) {
+            return null;
+        }
+        return convertToDTOs(orgChartIndex.directReports(staffId));
+    }
+
+    @Override
+    public OrgSubtreeDTO getSubtree(Long staffId, int maxDepth) {
+        OrgChartIndex.OrgNode root = orgChartIndex.node(staffId);
+        if (root == null) {
+            return null;
+        }
+        OrgSubtreeDTO dto = new OrgSubtreeDTO();
+        dto.setRoot(convertToDTO(root));
+        dto.setMembers(convertToDTOs(orgChartIndex.subtree(staffId, maxDepth)));
+        return dto;
+    }
+
+    private List<OrgNodeDTO> convertToDTOs(List<OrgChartIndex.OrgNode> nodes) {
+        return nodes.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private OrgNodeDTO convertToDTO(OrgChartIndex.OrgNode node) {
+        OrgNodeDTO dto = new OrgNodeDTO();
+        dto.setStaffId(node.staffId());
+        dto.setFullName(staffNameIndex.findFullName(node.staffId()));
+        dto.setManagerId(node.managerId());
+        dto.setDepth(node.depth());
+        dto.setDirectReportCount(node.directReportCount());
+        dto.setSubtreeSize(node.subtreeSize());
+        dto.setSubtreeSalary(node.subtreeSalary());
+        return dto;
+    }
+}
\ No newline at end of file
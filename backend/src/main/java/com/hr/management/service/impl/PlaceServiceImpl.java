@@ -1,14 +1,22 @@
 package com.hr.management.service.impl;
 
+import com.hr.management.audit.AuditAction;
+import com.hr.management.audit.AuditTrail;
+import com.hr.management.cache.DataResource;
+import com.hr.management.cache.DataVersionRegistry;
+import com.hr.management.cache.ReferenceDataCache;
 import com.hr.management.dto.PlaceDTO;
 import com.hr.management.entity.Place;
+import com.hr.management.entity.State;
+import com.hr.management.event.ChangeEventBus;
 import com.hr.management.repository.PlaceRepository;
-import com.hr.management.repository.StateRepository;
 import com.hr.management.service.PlaceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -16,21 +24,37 @@ import java.util.stream.Collectors;
 public class PlaceServiceImpl implements PlaceService {
 
     private final PlaceRepository placeRepository;
-    private final StateRepository stateRepository;
+    private final AssociationBatchLoader batchLoader;
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final ChangeEventBus changeEventBus;
+    private final AuditTrail auditTrail;
 
     @Autowired
-    public PlaceServiceImpl(PlaceRepository placeRepository, StateRepository stateRepository) {
+    public PlaceServiceImpl(PlaceRepository placeRepository,
+                            AssociationBatchLoader batchLoader,
+                            ReferenceDataCache referenceDataCache,
+                            DataVersionRegistry dataVersionRegistry,
+                            ChangeEventBus changeEventBus,
+                            AuditTrail auditTrail) {
         this.placeRepository = placeRepository;
-        this.stateRepository = stateRepository;
+        this.batchLoader = batchLoader;
+        this.referenceDataCache = referenceDataCache;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.changeEventBus = changeEventBus;
+        this.auditTrail = auditTrail;
     }
 
+    // 结果按内存中的数据版本缓存（ETag），使用读写事务从主库读取，不受副本复制延迟影响
     @Override
+    @Transactional
     public List<PlaceDTO> getAllPlaces() {
         List<Place> places = placeRepository.findAll();
-        return places.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return convertToDTOs(places);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PlaceDTO getPlaceById(Long placeId) {
         Optional<Place> placeOpt = placeRepository.findById(placeId);
         return placeOpt.map(this::convertToDTO).orElse(null);
@@ -46,10 +70,29 @@ public class PlaceServiceImpl implements PlaceService {
         place.setStateId(placeDTO.getStateId());
 
         Place savedPlace = placeRepository.save(place);
-        return convertToDTO(savedPlace);
+        // 新增地点后刷新参考数据快照
+        referenceDataCache.rebuild();
+        dataVersionRegistry.bump(DataResource.PLACES);
+        // save 已在自身事务中提交，这里立即通知其他节点
+        changeEventBus.publish(DataResource.PLACES, savedPlace.getPlaceId());
+        PlaceDTO created = convertToDTO(savedPlace);
+        auditTrail.record(AuditAction.PLACE_CREATED, savedPlace.getPlaceId(), null, created);
+        return created;
     }
 
     private PlaceDTO convertToDTO(Place place) {
+        return convertToDTOs(List.of(place)).get(0);
+    }
+
+    // 批量转换：国家/省份只查询一次
+    private List<PlaceDTO> convertToDTOs(List<Place> places) {
+        Map<String, State> states = batchLoader.loadStates(places, Place::getStateId);
+        return places.stream()
+                .map(place -> convertToDTO(place, states))
+                .collect(Collectors.toList());
+    }
+
+    private PlaceDTO convertToDTO(Place place, Map<String, State> states) {
         PlaceDTO dto = new PlaceDTO();
         dto.setPlaceId(place.getPlaceId());
         dto.setStreetAddress(place.getStreetAddress());
@@ -59,8 +102,10 @@ public class PlaceServiceImpl implements PlaceService {
         dto.setStateId(place.getStateId());
 
         // 获取国家/省份名称
-        stateRepository.findById(place.getStateId())
-                .ifPresent(state -> dto.setStateName(state.getStateName()));
+        State state = states.get(place.getStateId());
+        if (state != null) {
+            dto.setStateName(state.getStateName());
+        }
 
         return dto;
     }
@@ -0,0 +1,177 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.dto.HistogramBucketDTO;
+import com.hr.management.dto.SalaryDistributionDTO;
+import com.hr.management.dto.SalaryDistributionReportDTO;
+import com.hr.management.entity.Section;
+import com.hr.management.service.SalaryDistributionService;
+import com.hr.management.stats.QuantileSketch;
+import com.hr.management.stats.SalaryHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 薪资分布统计。
+ *
+ * <p>对 staffs 表做一次流式扫描，为每个部门构建分位数草图和固定宽度直方图；
+ * 全公司的分布由各部门的草图和直方图合并得到，无需再次扫描。
+ * 扫描前先查询薪资范围，桶宽过小导致桶数超限的请求不会触发扫描。</p>
+ */
+@Service
+public class SalaryDistributionServiceImpl implements SalaryDistributionService {
+
+    // 分位数估计的相对误差
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final int SCAN_FETCH_SIZE = 1000;
+    // 单个直方图最多的桶数，防止桶宽过小
+    private static final long MAX_BUCKETS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public SalaryDistributionServiceImpl(DataSource dataSource,
+                                         PlatformTransactionManager transactionManager,
+                                         ReferenceDataCache referenceDataCache) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(SCAN_FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @Override
+    public SalaryDistributionReportDTO getSalaryDistributions(BigDecimal bucketWidth) {
+        double width = bucketWidth.doubleValue();
+        Map<Long, Accumulator> bySection = new TreeMap<>();
+        // 未分配部门的员工只计入全公司汇总
+        Accumulator unassigned = new Accumulator(width);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // 各部门的范围都在全公司范围之内，只需检查一次
+            checkBucketCount(width, "SELECT MIN(salary), MAX(salary) FROM staffs");
+            jdbcTemplate.query("SELECT section_id, salary FROM staffs WHERE salary IS NOT NULL", rs -> {
+                Long sectionId = rs.getObject("section_id", Long.class);
+                double salary = rs.getBigDecimal("salary").doubleValue();
+                Accumulator accumulator = sectionId != null
+                        ? bySection.computeIfAbsent(sectionId, id -> new Accumulator(width))
+                        : unassigned;
+                accumulator.add(salary);
+            });
+        });
+
+        Accumulator organization = new Accumulator(width);
+        organization.merge(unassigned);
+        List<SalaryDistributionDTO> sections = new ArrayList<>(bySection.size());
+        for (Map.Entry<Long, Accumulator> entry : bySection.entrySet()) {
+            organization.merge(entry.getValue());
+            sections.add(toDTO(entry.getKey(), entry.getValue(), bucketWidth));
+        }
+
+        SalaryDistributionReportDTO report = new SalaryDistributionReportDTO();
+        report.setOrganization(toDTO(null, organization, bucketWidth));
+        report.setSections(sections);
+        return report;
+    }
+
+    @Override
+    public SalaryDistributionDTO getSalaryDistributionBySection(Long sectionId, BigDecimal bucketWidth) {
+        double width = bucketWidth.doubleValue();
+        Accumulator accumulator = new Accumulator(width);
+        transactionTemplate.executeWithoutResult(status -> {
+            checkBucketCount(width, "SELECT MIN(salary), MAX(salary) FROM staffs WHERE section_id = ?", sectionId);
+            jdbcTemplate.query("SELECT salary FROM staffs WHERE section_id = ? AND salary IS NOT NULL",
+                    rs -> {
+                        accumulator.add(rs.getBigDecimal("salary").doubleValue());
+                    },
+                    sectionId);
+        });
+        return toDTO(sectionId, accumulator, bucketWidth);
+    }
+
+    /**
+     * 按薪资范围计算桶数，超过上限时在扫描前拒绝。salary 列有索引时 MIN/MAX 只读取索引两端。
+     * @throws IllegalArgumentException 桶数超过 {@link #MAX_BUCKETS}
+     */
+    private void checkBucketCount(double width, String rangeSql, Object... args) {
+        jdbcTemplate.query(rangeSql, rs -> {
+            BigDecimal min = rs.getBigDecimal(1);
+            BigDecimal max = rs.getBigDecimal(2);
+            if (min != null && SalaryHistogram.bucketCount(width, min.doubleValue(), max.doubleValue()) > MAX_BUCKETS) {
+                throw tooManyBuckets();
+            }
+        }, args);
+    }
+
+    private static IllegalArgumentException tooManyBuckets() {
+        return new IllegalArgumentException("Bucket width too small, more than " + MAX_BUCKETS + " buckets");
+    }
+
+    private SalaryDistributionDTO toDTO(Long sectionId, Accumulator accumulator, BigDecimal bucketWidth) {
+        // 范围查询与扫描之间有并发调薪时，实际范围可能更大
+        if (accumulator.histogram.span() > MAX_BUCKETS) {
+            throw tooManyBuckets();
+        }
+        QuantileSketch sketch = accumulator.sketch;
+        SalaryDistributionDTO dto = new SalaryDistributionDTO();
+        dto.setSectionId(sectionId);
+        if (sectionId != null) {
+            Section section = referenceDataCache.findSection(sectionId);
+            if (section != null) {
+                dto.setSectionName(section.getSectionName());
+            }
+        }
+        dto.setCount(sketch.getCount());
+        dto.setMinSalary(sketch.getMin());
+        dto.setMaxSalary(sketch.getMax());
+        dto.setP25(sketch.quantile(0.25));
+        dto.setP50(sketch.quantile(0.50));
+        dto.setP75(sketch.quantile(0.75));
+        dto.setP90(sketch.quantile(0.90));
+        dto.setP99(sketch.quantile(0.99));
+        dto.setBucketWidth(bucketWidth);
+
+        List<HistogramBucketDTO> buckets = new ArrayList<>();
+        for (Map.Entry<Long, Long> bucket : accumulator.histogram.denseBuckets().entrySet()) {
+            HistogramBucketDTO bucketDTO = new HistogramBucketDTO();
+            bucketDTO.setLowerBound(bucketWidth.multiply(BigDecimal.valueOf(bucket.getKey())));
+            bucketDTO.setUpperBound(bucketWidth.multiply(BigDecimal.valueOf(bucket.getKey() + 1)));
+            bucketDTO.setCount(bucket.getValue());
+            buckets.add(bucketDTO);
+        }
+        dto.setHistogram(buckets);
+        return dto;
+    }
+
+    private static final class Accumulator {
+
+        private final QuantileSketch sketch = new QuantileSketch(RELATIVE_ACCURACY);
+        private final SalaryHistogram histogram;
+
+        Accumulator(double bucketWidth) {
+            this.histogram = new SalaryHistogram(bucketWidth);
+        }
+
+        void add(double salary) {
+            sketch.add(salary);
+            histogram.add(salary);
+        }
+
+        void merge(Accumulator other) {
+            sketch.merge(other.sketch);
+            histogram.merge(other.histogram);
+        }
+    }
+}
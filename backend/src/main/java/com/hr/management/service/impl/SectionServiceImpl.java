@@ -1,15 +1,26 @@
 package com.hr.management.service.impl;
 
+import com.hr.management.audit.AuditAction;
+import com.hr.management.audit.AuditTrail;
+import com.hr.management.cache.DataResource;
+import com.hr.management.cache.DataVersionRegistry;
+import com.hr.management.cache.ReferenceDataCache;
 import com.hr.management.dto.SectionDTO;
+import com.hr.management.entity.Place;
 import com.hr.management.entity.Section;
-import com.hr.management.repository.PlaceRepository;
+import com.hr.management.entity.Staff;
+import com.hr.management.event.ChangeEventBus;
 import com.hr.management.repository.SectionRepository;
-import com.hr.management.repository.StaffRepository;
 import com.hr.management.service.SectionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -17,25 +28,41 @@ import java.util.stream.Collectors;
 public class SectionServiceImpl implements SectionService {
 
     private final SectionRepository sectionRepository;
-    private final StaffRepository staffRepository;
-    private final PlaceRepository placeRepository;
+    private final AssociationBatchLoader batchLoader;
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionRegistry dataVersionRegistry;
+    private final ChangeEventBus changeEventBus;
+    private final AuditTrail auditTrail;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public SectionServiceImpl(SectionRepository sectionRepository,
-                              StaffRepository staffRepository,
-                              PlaceRepository placeRepository) {
+                              AssociationBatchLoader batchLoader,
+                              ReferenceDataCache referenceDataCache,
+                              DataVersionRegistry dataVersionRegistry,
+                              ChangeEventBus changeEventBus,
+                              AuditTrail auditTrail,
+                              PlatformTransactionManager transactionManager) {
         this.sectionRepository = sectionRepository;
-        this.staffRepository = staffRepository;
-        this.placeRepository = placeRepository;
+        this.batchLoader = batchLoader;
+        this.referenceDataCache = referenceDataCache;
+        this.dataVersionRegistry = dataVersionRegistry;
+        this.changeEventBus = changeEventBus;
+        this.auditTrail = auditTrail;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    // 结果按内存中的数据版本缓存（ETag）并用于计算推送增量，使用读写事务从主库读取，
+    // 避免把副本上滞后的数据缓存在最新的版本号下
     @Override
+    @Transactional
     public List<SectionDTO> getAllSections() {
         List<Section> sections = sectionRepository.findAll();
-        return sections.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return convertToDTOs(sections);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SectionDTO getSectionById(Long sectionId) {
         Optional<Section> sectionOpt = sectionRepository.findById(sectionId);
         return sectionOpt.map(this::convertToDTO).orElse(null);
@@ -43,36 +70,65 @@ public class SectionServiceImpl implements SectionService {
 
     @Override
     public boolean updateSectionName(Long sectionId, String newName) {
-        Optional<Section> sectionOpt = sectionRepository.findById(sectionId);
-        if (sectionOpt.isPresent()) {
+        // 查询和更新在同一个读写事务中，都在主库执行
+        Boolean updated = transactionTemplate.execute(status -> {
+            Optional<Section> sectionOpt = sectionRepository.findById(sectionId);
+            if (sectionOpt.isEmpty()) {
+                return false;
+            }
             Section section = sectionOpt.get();
+            // 审计记录在提交后异步写入，不增加本次请求的数据库往返
+            auditTrail.record(AuditAction.SECTION_RENAMED, sectionId,
+                    Collections.singletonMap("sectionName", section.getSectionName()),
+                    Collections.singletonMap("sectionName", newName));
             section.setSectionName(newName);
             sectionRepository.save(section);
+            // 随本事务提交通知其他节点
+            changeEventBus.publish(DataResource.SECTIONS, sectionId);
             return true;
+        });
+        if (!Boolean.TRUE.equals(updated)) {
+            return false;
         }
-        return false;
+        // 提交后刷新参考数据快照
+        referenceDataCache.rebuild();
+        dataVersionRegistry.bump(DataResource.SECTIONS);
+        return true;
     }
 
     private SectionDTO convertToDTO(Section section) {
+        return convertToDTOs(List.of(section)).get(0);
+    }
+
+    // 批量转换：经理和地点各只查询一次
+    private List<SectionDTO> convertToDTOs(List<Section> sections) {
+        Map<Long, Staff> managers = batchLoader.loadStaffs(sections, Section::getManagerId);
+        Map<Long, Place> places = batchLoader.loadPlaces(sections, Section::getPlaceId);
+        return sections.stream()
+                .map(section -> convertToDTO(section, managers, places))
+                .collect(Collectors.toList());
+    }
+
+    private SectionDTO convertToDTO(Section section, Map<Long, Staff> managers, Map<Long, Place> places) {
         SectionDTO dto = new SectionDTO();
         dto.setSectionId(section.getSectionId());
         dto.setSectionName(section.getSectionName());
         dto.setManagerId(section.getManagerId());
         dto.setPlaceId(section.getPlaceId());
 
-        // 获取经理姓名
-        try {
-            staffRepository.findById(section.getManagerId())
-                    .ifPresent(manager -> dto.setManagerName(manager.getFirstName() + " " + manager.getLastName()));
-        } catch (Exception e) {
+        // 获取经理姓名，没有经理时置空
+        Staff manager = managers.get(section.getManagerId());
+        if (manager != null) {
+            dto.setManagerName(manager.getFirstName() + " " + manager.getLastName());
+        } else if (section.getManagerId() == null) {
             dto.setManagerName("");
         }
         // 获取地点信息
-        placeRepository.findById(section.getPlaceId())
-                .ifPresent(place -> {
-                    dto.setPlaceAddress(place.getStreetAddress());
-                    dto.setPlaceCity(place.getCity());
-                });
+        Place place = places.get(section.getPlaceId());
+        if (place != null) {
+            dto.setPlaceAddress(place.getStreetAddress());
+            dto.setPlaceCity(place.getCity());
+        }
 
         return dto;
     }
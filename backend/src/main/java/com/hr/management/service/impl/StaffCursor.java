@@ -0,0 +1,82 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.dto.StaffDTO;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 员工列表键集分页游标。
+ *
+ * <p>游标记录上一页最后一行的排序键，按 staff_id 排序时只含 staffId，
+ * 按薪资排序时含 (salary, staffId)，薪资为空时记为 null。对外以 Base64URL 编码的不透明字符串传递。</p>
+ */
+final class StaffCursor {
+
+    private static final String BY_ID = "id";
+    private static final String BY_SALARY = "salary";
+    private static final String NULL_SALARY = "null";
+
+    private final boolean orderBySalary;
+    private final BigDecimal salary;
+    private final Long staffId;
+
+    private StaffCursor(boolean orderBySalary, BigDecimal salary, Long staffId) {
+        this.orderBySalary = orderBySalary;
+        this.salary = salary;
+        this.staffId = staffId;
+    }
+
+    static StaffCursor after(StaffDTO last, boolean orderBySalary) {
+        return new StaffCursor(orderBySalary, orderBySalary ? last.getSalary() : null, last.getStaffId());
+    }
+
+    /**
+     * 解析游标。
+     * @param token 客户端传回的游标，为空表示第一页
+     * @param orderBySalary 当前请求的排序方式，必须与生成游标时一致
+     * @return 游标，第一页时返回 null
+     * @throws IllegalArgumentException 游标格式错误或与排序方式不匹配
+     */
+    static StaffCursor decode(String token, boolean orderBySalary) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        String[] parts = raw.split(":");
+        try {
+            if (orderBySalary && parts.length == 3 && BY_SALARY.equals(parts[0])) {
+                BigDecimal salary = NULL_SALARY.equals(parts[1]) ? null : new BigDecimal(parts[1]);
+                return new StaffCursor(true, salary, Long.parseLong(parts[2]));
+            }
+            if (!orderBySalary && parts.length == 2 && BY_ID.equals(parts[0])) {
+                return new StaffCursor(false, null, Long.parseLong(parts[1]));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        throw new IllegalArgumentException("Cursor does not match the requested ordering");
+    }
+
+    String encode() {
+        String raw = orderBySalary
+                ? BY_SALARY + ":" + (salary != null ? salary.toPlainString() : NULL_SALARY) + ":" + staffId
+                : BY_ID + ":" + staffId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 按薪资排序且上一页最后一行薪资为空时返回 null
+    BigDecimal getSalary() {
+        return salary;
+    }
+
+    Long getStaffId() {
+        return staffId;
+    }
+}
@@ -0,0 +1,180 @@
+package com.hr.management.service.impl;
+
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.dto.DirectoryGroupDTO;
+import com.hr.management.dto.DirectoryQueryRequestDTO;
+import com.hr.management.dto.DirectoryQueryResultDTO;
+import com.hr.management.dto.DirectorySortDTO;
+import com.hr.management.dto.DirectoryStatsDTO;
+import com.hr.management.dto.StaffDTO;
+import com.hr.management.entity.Employment;
+import com.hr.management.entity.Section;
+import com.hr.management.index.StaffDirectoryIndex;
+import com.hr.management.repository.StaffRepository;
+import com.hr.management.service.StaffDirectoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 员工目录的组合筛选、排序和汇总，由 {@link StaffDirectoryIndex} 的列式快照回答。
+ *
+ * <p>筛选、汇总和排序都在内存中完成；只有返回的一页员工按ID用一次 IN 查询取回完整信息，
+ * 只要汇总（limit 为 0）时不访问数据库。条件无效时抛出 {@link IllegalArgumentException}。</p>
+ */
+@Service
+public class StaffDirectoryServiceImpl implements StaffDirectoryService {
+
+    private static final Map<String, StaffDirectoryIndex.Field> SORT_FIELDS = Map.of(
+            "staffId", StaffDirectoryIndex.Field.STAFF_ID,
+            "salary", StaffDirectoryIndex.Field.SALARY,
+            "hireDate", StaffDirectoryIndex.Field.HIRE_DATE,
+            "employmentId", StaffDirectoryIndex.Field.EMPLOYMENT_ID,
+            "sectionId", StaffDirectoryIndex.Field.SECTION_ID,
+            "managerId", StaffDirectoryIndex.Field.MANAGER_ID);
+
+    private final StaffDirectoryIndex staffDirectoryIndex;
+    private final StaffRepository staffRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final int maxWindow;
+
+    @Autowired
+    public StaffDirectoryServiceImpl(StaffDirectoryIndex staffDirectoryIndex,
+                                     StaffRepository staffRepository,
+                                     ReferenceDataCache referenceDataCache,
+                                     @Value("${hr.directory.max-window:10000}") int maxWindow) {
+        this.staffDirectoryIndex = staffDirectoryIndex;
+        this.staffRepository = staffRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.maxWindow = maxWindow;
+    }
+
+    @Override
+    public DirectoryQueryResultDTO query(DirectoryQueryRequestDTO request) {
+        if (request.getOffset() < 0 || request.getLimit() < 0
+                || (long) request.getOffset() + request.getLimit() > maxWindow) {
+            throw new IllegalArgumentException("offset + limit must be between 0 and " + maxWindow);
+        }
+        int window = request.getLimit() > 0 ? request.getOffset() + request.getLimit() : 0;
+        StaffDirectoryIndex.Query query = new StaffDirectoryIndex.Query(
+                toCents(request.getSalaryMin(), RoundingMode.CEILING),
+                toCents(request.getSalaryMax(), RoundingMode.FLOOR),
+                request.getHiredFrom(),
+                request.getHiredTo(),
+                emptyToNull(request.getEmploymentIds()),
+                emptyToNull(request.getSectionIds()),
+                emptyToNull(request.getManagerIds()),
+                parseOrders(request.getSort()),
+                parseGroupBy(request.getGroupBy()),
+                window);
+        StaffDirectoryIndex.Result result = staffDirectoryIndex.query(query);
+
+        DirectoryQueryResultDTO dto = new DirectoryQueryResultDTO();
+        dto.setTotal(convertToDTO(result.total()));
+        List<DirectoryGroupDTO> groups = new ArrayList<>(result.groups().size());
+        for (StaffDirectoryIndex.Group group : result.groups()) {
+            groups.add(convertToDTO(group));
+        }
+        dto.setGroups(groups);
+        dto.setItems(loadPage(result.staffIds(), request.getOffset()));
+        return dto;
+    }
+
+    // 一次 IN 查询取回本页员工，按排序结果的顺序返回；查询期间被删除的员工跳过
+    private List<StaffDTO> loadPage(long[] staffIds, int offset) {
+        if (staffIds.length <= offset) {
+            return List.of();
+        }
+        List<Long> pageIds = new ArrayList<>(staffIds.length - offset);
+        for (int i = offset; i < staffIds.length; i++) {
+            pageIds.add(staffIds[i]);
+        }
+        Map<Long, StaffDTO> byId = new HashMap<>();
+        for (StaffDTO staff : staffRepository.findStaffDTOsByIds(pageIds)) {
+            byId.put(staff.getStaffId(), staff);
+        }
+        List<StaffDTO> page = new ArrayList<>(pageIds.size());
+        for (Long staffId : pageIds) {
+            StaffDTO staff = byId.get(staffId);
+            if (staff != null) {
+                page.add(staff);
+            }
+        }
+        return page;
+    }
+
+    private DirectoryGroupDTO convertToDTO(StaffDirectoryIndex.Group group) {
+        DirectoryGroupDTO dto = new DirectoryGroupDTO();
+        if (group.sectionId() != null) {
+            dto.setKey(group.sectionId().toString());
+            Section section = referenceDataCache.findSection(group.sectionId());
+            dto.setName(section != null ? section.getSectionName() : null);
+        } else if (group.employmentId() != null) {
+            dto.setKey(group.employmentId());
+            Employment employment = referenceDataCache.findEmployment(group.employmentId());
+            dto.setName(employment != null ? employment.getEmploymentTitle() : null);
+        }
+        dto.setStats(convertToDTO(group.stats()));
+        return dto;
+    }
+
+    private DirectoryStatsDTO convertToDTO(StaffDirectoryIndex.Stats stats) {
+        DirectoryStatsDTO dto = new DirectoryStatsDTO();
+        dto.setCount(stats.count());
+        if (stats.salaryCount() > 0) {
+            dto.setTotalSalary(BigDecimal.valueOf(stats.salarySumCents(), 2));
+            dto.setMaxSalary(BigDecimal.valueOf(stats.salaryMaxCents(), 2));
+            dto.setMinSalary(BigDecimal.valueOf(stats.salaryMinCents(), 2));
+            dto.setAvgSalary(stats.salarySumCents() / 100.0 / stats.salaryCount());
+        }
+        return dto;
+    }
+
+    private static List<StaffDirectoryIndex.Order> parseOrders(List<DirectorySortDTO> sort) {
+        if (sort == null) {
+            return List.of();
+        }
+        List<StaffDirectoryIndex.Order> orders = new ArrayList<>(sort.size());
+        for (DirectorySortDTO key : sort) {
+            StaffDirectoryIndex.Field field = SORT_FIELDS.get(key.getField());
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown sort field: " + key.getField());
+            }
+            orders.add(new StaffDirectoryIndex.Order(field, key.isDescending()));
+        }
+        return orders;
+    }
+
+    private static StaffDirectoryIndex.GroupBy parseGroupBy(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return null;
+        }
+        // valueOf 对未知值抛出 IllegalArgumentException
+        return StaffDirectoryIndex.GroupBy.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // 下限向上取整、上限向下取整到分，范围内的薪资不会因舍入被排除或误纳入
+    private static Long toCents(BigDecimal salary, RoundingMode roundingMode) {
+        if (salary == null) {
+            return null;
+        }
+        try {
+            return salary.movePointRight(2).setScale(0, roundingMode).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Salary bound out of range: " + salary, e);
+        }
+    }
+
+    private static <T> Collection<T> emptyToNull(List<T> values) {
+        return values != null && !values.isEmpty() ? values : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.hr.management.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.cache.ReferenceDataSnapshot;
+import com.hr.management.dto.StaffDTO;
+import com.hr.management.entity.Employment;
+import com.hr.management.entity.Section;
+import com.hr.management.index.StaffNameIndex;
+import com.hr.management.service.StaffExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * 员工全量导出。
+ *
+ * <p>通过 JDBC 游标逐行读取 staffs 表（PostgreSQL 驱动在事务内且设置 fetchSize 时按批拉取），
+ * 从参考数据快照补全部门名称和职位名称后直接写入响应输出流，
+ * 内存占用只与 fetchSize 有关，与表大小无关。</p>
+ */
+@Service
+public class StaffExportServiceImpl implements StaffExportService {
+
+    // 每次从数据库拉取的行数
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String EXPORT_SQL =
+            "SELECT staff_id, first_name, last_name, email, phone_number, hire_date, employment_id, " +
+            "salary, commission_pct, manager_id, section_id FROM staffs ORDER BY staff_id";
+
+    private static final String CSV_HEADER =
+            "staff_id,first_name,last_name,email,phone_number,hire_date,employment_id,employment_title," +
+            "salary,commission_pct,manager_id,section_id,section_name\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReferenceDataCache referenceDataCache;
+    private final StaffNameIndex staffNameIndex;
+    private final ObjectWriter jsonWriter;
+
+    @Autowired
+    public StaffExportServiceImpl(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  ReferenceDataCache referenceDataCache,
+                                  StaffNameIndex staffNameIndex,
+                                  ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(EXPORT_FETCH_SIZE);
+        // 游标只在关闭自动提交的事务中生效
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.referenceDataCache = referenceDataCache;
+        this.staffNameIndex = staffNameIndex;
+        this.jsonWriter = objectMapper.writerFor(StaffDTO.class);
+    }
+
+    @Override
+    public void exportAllStaff(Format format, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        // 整个导出过程使用同一版本的参考数据
+        ReferenceDataSnapshot snapshot = referenceDataCache.snapshot();
+        if (format == Format.CSV) {
+            buffered.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(EXPORT_SQL, rs -> {
+                        StaffDTO dto = mapRow(rs, snapshot);
+                        try {
+                            if (format == Format.CSV) {
+                                writeCsvRow(buffered, dto);
+                            } else {
+                                buffered.write(jsonWriter.writeValueAsBytes(dto));
+                                buffered.write('\n');
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            // 客户端断开等写出错误，向上抛出原始异常
+            throw e.getCause();
+        }
+        buffered.flush();
+    }
+
+    private StaffDTO mapRow(ResultSet rs, ReferenceDataSnapshot snapshot) throws SQLException {
+        StaffDTO dto = new StaffDTO();
+        dto.setStaffId(rs.getLong("staff_id"));
+        dto.setFirstName(rs.getString("first_name"));
+        dto.setLastName(rs.getString("last_name"));
+        dto.setEmail(rs.getString("email"));
+        dto.setPhoneNumber(rs.getString("phone_number"));
+        dto.setHireDate(rs.getObject("hire_date", LocalDateTime.class));
+        dto.setEmploymentId(rs.getString("employment_id"));
+        dto.setSalary(rs.getBigDecimal("salary"));
+        dto.setCommissionPct(rs.getBigDecimal("commission_pct"));
+        dto.setManagerId(rs.getObject("manager_id", Long.class));
+        dto.setSectionId(rs.getObject("section_id", Long.class));
+
+        // 从快照补全部门名称和职位名称
+        Section section = dto.getSectionId() != null ? snapshot.getSections().get(dto.getSectionId()) : null;
+        if (section != null) {
+            dto.setSectionName(section.getSectionName());
+        }
+        Employment employment = dto.getEmploymentId() != null ? snapshot.getEmployments().get(dto.getEmploymentId()) : null;
+        if (employment != null) {
+            dto.setEmploymentTitle(employment.getEmploymentTitle());
+        }
+        dto.setManagerName(staffNameIndex.findFullName(dto.getManagerId()));
+        return dto;
+    }
+
+    private void writeCsvRow(OutputStream out, StaffDTO dto) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        appendCsv(line, dto.getStaffId()).append(',');
+        appendCsv(line, dto.getFirstName()).append(',');
+        appendCsv(line, dto.getLastName()).append(',');
+        appendCsv(line, dto.getEmail()).append(',');
+        appendCsv(line, dto.getPhoneNumber()).append(',');
+        appendCsv(line, dto.getHireDate()).append(',');
+        appendCsv(line, dto.getEmploymentId()).append(',');
+        appendCsv(line, dto.getEmploymentTitle()).append(',');
+        appendCsv(line, dto.getSalary() != null ? dto.getSalary().toPlainString() : null).append(',');
+        appendCsv(line, dto.getCommissionPct() != null ? dto.getCommissionPct().toPlainString() : null).append(',');
+        appendCsv(line, dto.getManagerId()).append(',');
+        appendCsv(line, dto.getSectionId()).append(',');
+        appendCsv(line, dto.getSectionName()).append('\n');
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 含逗号、引号或换行的字段按 RFC 4180 加引号转义
+    private static StringBuilder appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,388 @@
+package com.hr.management.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hr.management.cache.DataResource;
+import com.hr.management.dto.ImportJobDTO;
+import com.hr.management.dto.ImportRejectDTO;
+import com.hr.management.event.ChangeEventBus;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.service.StaffImportService;
+import com.hr.management.workload.WorkloadContext;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 员工和任职历史批量导入。
+ *
+ * <p>上传内容先原样写入临时文件，请求立即返回任务ID；导入任务在后台按提交顺序逐个执行，
+ * 同一时刻只有一个导入在写数据库。每个任务在一个事务中完成：</p>
+ * <ol>
+ *   <li>逐条读取记录并检查列格式，合格的行通过 PostgreSQL COPY 协议流式写入临时暂存表，
+ *       不合格的行记为拒绝；内存中只保存当前记录和 64 KB 的发送缓冲。</li>
+ *   <li>在暂存表上执行集合校验（文件内重复、主键已存在、部门/职位/经理/员工外键），
+ *       每条规则一条 UPDATE 语句，与行数无关。</li>
+ *   <li>未被拒绝的行用一条 INSERT ... SELECT 写入目标表。</li>
+ * </ol>
+ *
+ * <p>提交后发布 {@link StaffBulkChangedEvent}，各内存索引整体重新加载。</p>
+ */
+@Service
+public class StaffImportServiceImpl implements StaffImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StaffImportServiceImpl.class);
+
+    // 累积到该大小后发送一次 COPY 数据
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeEventBus changeEventBus;
+    private final ObjectMapper objectMapper;
+    private final int maxReportedRejects;
+    private final int retainedJobs;
+
+    // 导入逐个执行，避免并发导入相同主键时互相冲突
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("staff-import").factory());
+    // 最近的任务，超过 retainedJobs 时丢弃最早的
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public StaffImportServiceImpl(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ChangeEventBus changeEventBus,
+                                  ObjectMapper objectMapper,
+                                  @Value("${hr.import.max-reported-rejects:1000}") int maxReportedRejects,
+                                  @Value("${hr.import.retained-jobs:20}") int retainedJobs) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.changeEventBus = changeEventBus;
+        this.objectMapper = objectMapper;
+        this.maxReportedRejects = maxReportedRejects;
+        this.retainedJobs = retainedJobs;
+    }
+
+    @Override
+    public ImportJobDTO startImport(Target target, Format format, InputStream body) throws IOException {
+        Path file = Files.createTempFile("hr-import-", "." + format.name().toLowerCase());
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), target);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            while (jobs.size() > retainedJobs) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+        // 导入任务使用提交请求的工作负载类别（BULK）的连接分区
+        executor.execute(WorkloadContext.propagate(() -> run(job, ImportTable.of(target), format, file)));
+        return job.toDTO();
+    }
+
+    @Override
+    public ImportJobDTO getJob(String jobId) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        return job != null ? job.toDTO() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ImportJob job, ImportTable table, Format format, Path file) {
+        job.start();
+        try (ImportRecordReader reader = ImportRecordReader.open(format,
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), objectMapper)) {
+            Long inserted = transactionTemplate.execute(status -> {
+                Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                        importRecords(connection, table, reader, job));
+                if (rows != null && rows > 0) {
+                    // 无法逐条列出导入的行，其他节点整体重新加载员工数据
+                    changeEventBus.publishAll(DataResource.STAFF);
+                }
+                return rows;
+            });
+            job.complete(inserted != null ? inserted : 0);
+            log.info("Import {} into {} finished: {} read, {} inserted, {} rejected",
+                    job.id, table, job.rowsRead.get(), job.rowsInserted.get(), job.rowsRejected.get());
+            if (job.rowsInserted.get() > 0) {
+                eventPublisher.publishEvent(new StaffBulkChangedEvent(job.rowsInserted.get()));
+            }
+        } catch (UncheckedIOException e) {
+            log.warn("Import {} failed", job.id, e.getCause());
+            job.fail(e.getCause().getMessage());
+        } catch (Exception e) {
+            log.warn("Import {} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete import file {}", file, e);
+            }
+        }
+    }
+
+    private long importRecords(Connection connection, ImportTable table, ImportRecordReader reader, ImportJob job)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(table.createStageSql());
+        }
+
+        job.phase = "COPYING";
+        copyRecords(connection, table, reader, job);
+
+        job.phase = "VALIDATING";
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : table.prepareStageSql()) {
+                statement.execute(sql);
+            }
+            for (ImportTable.Rule rule : table.rules()) {
+                String sql = table.rejectSql(rule);
+                int rejected;
+                do {
+                    rejected = statement.executeUpdate(sql);
+                    job.rowsRejected.addAndGet(rejected);
+                } while (rule.repeated() && rejected > 0);
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(table.rejectedSampleSql())) {
+            statement.setInt(1, maxReportedRejects);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    job.addRejected(rs.getLong(1), rs.getObject(2, Long.class), rs.getString(3), maxReportedRejects);
+                }
+            }
+        }
+
+        job.phase = "INSERTING";
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(table.insertSql());
+        }
+    }
+
+    private void copyRecords(Connection connection, ImportTable table, ImportRecordReader reader, ImportJob job)
+            throws SQLException {
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(table.copySql());
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            while (true) {
+                Map<String, String> record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    job.rowsRead.incrementAndGet();
+                    job.reject(reader.recordLine(), null, e.getMessage(), maxReportedRejects);
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                job.rowsRead.incrementAndGet();
+                if (appendRow(buffer, table, record, reader.recordLine(), job)) {
+                    job.rowsCopied.incrementAndGet();
+                }
+                if (buffer.length() >= COPY_BUFFER_CHARS) {
+                    writeCopy(copy, buffer);
+                }
+            }
+            writeCopy(copy, buffer);
+            copy.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    // 格式不合格的行记为拒绝并返回 false，不写入暂存表
+    private boolean appendRow(StringBuilder buffer, ImportTable table, Map<String, String> record,
+                              long line, ImportJob job) {
+        List<ImportTable.Column> columns = table.columns();
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            try {
+                values[i] = columns.get(i).toCopyValue(record.get(columns.get(i).key()));
+            } catch (IllegalArgumentException e) {
+                job.reject(line, parseStaffId(record), e.getMessage(), maxReportedRejects);
+                return false;
+            }
+        }
+        buffer.append(line);
+        for (String value : values) {
+            buffer.append('\t');
+            appendCopyValue(buffer, value);
+        }
+        buffer.append('\n');
+        return true;
+    }
+
+    // COPY 文本格式：\N 表示 NULL，反斜杠、制表符和换行需要转义
+    private static void appendCopyValue(StringBuilder buffer, String value) {
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    private static void writeCopy(CopyIn copy, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static Long parseStaffId(Map<String, String> record) {
+        String value = record.get("staffid");
+        try {
+            return value != null ? Long.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 一个导入任务的进度，计数器在导入线程中更新，查询线程随时读取。
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final Target target;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsCopied = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final AtomicLong rowsInserted = new AtomicLong();
+        // 解析阶段和校验阶段的拒绝样本，按行号排序后截取
+        private final List<ImportRejectDTO> rejected = new ArrayList<>();
+        private volatile String status = "QUEUED";
+        private volatile String phase;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        ImportJob(String id, Target target) {
+            this.id = id;
+            this.target = target;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = "RUNNING";
+        }
+
+        void complete(long inserted) {
+            rowsInserted.set(inserted);
+            phase = null;
+            finishedAt = LocalDateTime.now();
+            status = "COMPLETED";
+        }
+
+        // 事务已回滚，暂存表中的行都没有写入
+        void fail(String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            status = "FAILED";
+        }
+
+        void reject(long line, Long staffId, String reason, int maxReported) {
+            rowsRejected.incrementAndGet();
+            addRejected(line, staffId, reason, maxReported);
+        }
+
+        // 解析阶段的拒绝已按行号递增，校验阶段的样本本身也按行号排序，合并后只保留最前面的若干条
+        synchronized void addRejected(long line, Long staffId, String reason, int maxReported) {
+            ImportRejectDTO reject = new ImportRejectDTO();
+            reject.setLine(line);
+            reject.setStaffId(staffId);
+            reject.setReason(reason);
+            rejected.add(reject);
+            if (rejected.size() > 2 * maxReported) {
+                trim(maxReported);
+            }
+        }
+
+        private void trim(int maxReported) {
+            rejected.sort(Comparator.comparingLong(ImportRejectDTO::getLine));
+            rejected.subList(maxReported, rejected.size()).clear();
+        }
+
+        synchronized ImportJobDTO toDTO() {
+            ImportJobDTO dto = new ImportJobDTO();
+            dto.setJobId(id);
+            dto.setTarget(target.name());
+            dto.setStatus(status);
+            dto.setPhase(phase);
+            dto.setRowsRead(rowsRead.get());
+            dto.setRowsCopied(rowsCopied.get());
+            dto.setRowsRejected(rowsRejected.get());
+            dto.setRowsInserted(rowsInserted.get());
+            List<ImportRejectDTO> sample = new ArrayList<>(rejected);
+            sample.sort(Comparator.comparingLong(ImportRejectDTO::getLine));
+            dto.setRejected(sample);
+            dto.setError(error);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            return dto;
+        }
+    }
+}
\ No newline at end of file
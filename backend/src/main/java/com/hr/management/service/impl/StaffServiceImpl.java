@@ -1,175 +1,313 @@
 package com.hr.management.service.impl;
 
+import com.hr.management.audit.AuditAction;
+import com.hr.management.audit.AuditTrail;
+import com.hr.management.cache.DataResource;
+import com.hr.management.cache.ReferenceDataCache;
 import com.hr.management.dto.SalaryStatsDTO;
 import com.hr.management.dto.StaffDTO;
-import com.hr.management.entity.Employment;
+import com.hr.management.dto.StaffNameSuggestionDTO;
+import com.hr.management.dto.StaffPageDTO;
 import com.hr.management.entity.Section;
 import com.hr.management.entity.Staff;
-import com.hr.management.repository.EmploymentRepository;
-import com.hr.management.repository.SectionRepository;
+import com.hr.management.event.ChangeEventBus;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.index.StaffIdBloomFilter;
+import com.hr.management.index.StaffNameIndex;
 import com.hr.management.repository.StaffRepository;
 import com.hr.management.service.StaffService;
+import com.hr.management.stats.SalaryAggregateStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class StaffServiceImpl implements StaffService {
 
+    // 单页最大行数，也是姓名搜索最多返回的条数
+    private static final int MAX_PAGE_SIZE = 500;
+    // 自动补全最多返回条数
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final StaffRepository staffRepository;
-    private final SectionRepository sectionRepository;
-    private final EmploymentRepository employmentRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final StaffNameIndex staffNameIndex;
+    private final StaffIdBloomFilter staffIdBloomFilter;
+    private final SalaryAggregateStore salaryAggregateStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeEventBus changeEventBus;
+    private final AuditTrail auditTrail;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public StaffServiceImpl(StaffRepository staffRepository, SectionRepository sectionRepository,EmploymentRepository employmentRepository) {
+    public StaffServiceImpl(StaffRepository staffRepository,
+                            ReferenceDataCache referenceDataCache,
+                            StaffNameIndex staffNameIndex,
+                            StaffIdBloomFilter staffIdBloomFilter,
+                            SalaryAggregateStore salaryAggregateStore,
+                            ApplicationEventPublisher eventPublisher,
+                            ChangeEventBus changeEventBus,
+                            AuditTrail auditTrail,
+                            PlatformTransactionManager transactionManager) {
         this.staffRepository = staffRepository;
-        this.sectionRepository = sectionRepository;
-        this.employmentRepository = employmentRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.staffNameIndex = staffNameIndex;
+        this.staffIdBloomFilter = staffIdBloomFilter;
+        this.salaryAggregateStore = salaryAggregateStore;
+        this.eventPublisher = eventPublisher;
+        this.changeEventBus = changeEventBus;
+        this.auditTrail = auditTrail;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public Optional<Staff> login(Long staffId, String password) {
+        // 一定不存在的员工ID直接失败，撞库时随机ID不会打到数据库
+        if (!staffIdBloomFilter.mightContain(staffId)) {
+            return Optional.empty();
+        }
         return staffRepository.findByStaffIdAndPassword(staffId, password);
     }
 
+    // 员工修改电话后会立即查看本人信息，使用读写事务从主库读取，不受副本复制延迟影响
     @Override
+    @Transactional
     public StaffDTO getStaffInfo(Long staffId) {
-        Optional<Staff> staffOpt = staffRepository.findById(staffId);
-        return staffOpt.map(this::convertToDTO).orElse(null);
+        return staffRepository.findStaffDTOById(staffId).map(this::withManagerName).orElse(null);
     }
 
     @Override
     public boolean updatePhoneNumber(Long staffId, String phoneNumber) {
-        Optional<Staff> staffOpt = staffRepository.findById(staffId);
-        if (staffOpt.isPresent()) {
+        // 查询和更新在同一个读写事务中，都在主库执行
+        Staff saved = transactionTemplate.execute(status -> {
+            Optional<Staff> staffOpt = staffRepository.findById(staffId);
+            if (staffOpt.isEmpty()) {
+                return null;
+            }
             Staff staff = staffOpt.get();
+            // 审计记录在提交后异步写入，不增加本次请求的数据库往返
+            auditTrail.record(AuditAction.PHONE_UPDATED, staffId,
+                    Collections.singletonMap("phoneNumber", staff.getPhoneNumber()),
+                    Collections.singletonMap("phoneNumber", phoneNumber));
             staff.setPhoneNumber(phoneNumber);
-            staffRepository.save(staff);
-            return true;
+            // 随本事务提交通知其他节点
+            changeEventBus.publish(DataResource.STAFF, staffId);
+            return staffRepository.save(staff);
+        });
+        if (saved == null) {
+            return false;
         }
-        return false;
+        // 提交后再发布变更事件，内存索引只看到已提交的数据
+        eventPublisher.publishEvent(new StaffChangedEvent(saved.getStaffId(), saved));
+        return true;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StaffDTO> getAllStaffBySection(Long sectionId, boolean orderBySalary) {
-        List<Staff> staffList;
+        List<StaffDTO> staffList;
         if (orderBySalary) {
-            staffList = staffRepository.findBySectionIdOrderBySalaryDesc(sectionId);
+            // 薪资相同时按员工ID排序，与分页接口的顺序一致
+            staffList = staffRepository.findSectionStaffDTOsOrderBySalary(sectionId, Limit.unlimited());
         } else {
-            staffList = staffRepository.findBySectionIdOrderByStaffIdAsc(sectionId);
+            staffList = staffRepository.findSectionStaffDTOs(sectionId, Limit.unlimited());
         }
-        return staffList.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return withManagerNames(staffList);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StaffDTO> getAllStaff(boolean orderBySalary) {
-        List<Staff> staffList;
+        List<StaffDTO> staffList;
+        if (orderBySalary) {
+            staffList = staffRepository.findAllStaffDTOsOrderBySalary();
+        } else {
+            staffList = staffRepository.findAllStaffDTOs();
+        }
+        return withManagerNames(staffList);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StaffPageDTO getStaffPage(boolean orderBySalary, String cursor, int limit) {
+        StaffCursor after = StaffCursor.decode(cursor, orderBySalary);
+        int pageSize = clampPageSize(limit);
+        // 多取一行用于判断是否还有下一页
+        Limit fetch = Limit.of(pageSize + 1);
+        List<StaffDTO> staffList;
+        if (orderBySalary) {
+            if (after == null) {
+                staffList = staffRepository.findAllStaffDTOsOrderBySalary(fetch);
+            } else if (after.getSalary() == null) {
+                staffList = staffRepository.findStaffDTOPageAfterNullSalary(after.getStaffId(), fetch);
+            } else {
+                staffList = staffRepository.findStaffDTOPageAfterSalary(after.getSalary(), after.getStaffId(), fetch);
+            }
+        } else {
+            staffList = after == null
+                    ? staffRepository.findAllStaffDTOs(fetch)
+                    : staffRepository.findStaffDTOPageAfterStaffId(after.getStaffId(), fetch);
+        }
+        return toPage(staffList, pageSize, orderBySalary);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StaffPageDTO getStaffPageBySection(Long sectionId, boolean orderBySalary, String cursor, int limit) {
+        StaffCursor after = StaffCursor.decode(cursor, orderBySalary);
+        int pageSize = clampPageSize(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<StaffDTO> staffList;
         if (orderBySalary) {
-            staffList = staffRepository.findAll().stream()
-                    .sorted((s1, s2) -> s2.getSalary().compareTo(s1.getSalary()))
-                    .collect(Collectors.toList());
+            if (after == null) {
+                staffList = staffRepository.findSectionStaffDTOsOrderBySalary(sectionId, fetch);
+            } else if (after.getSalary() == null) {
+                staffList = staffRepository.findSectionStaffDTOPageAfterNullSalary(sectionId, after.getStaffId(), fetch);
+            } else {
+                staffList = staffRepository.findSectionStaffDTOPageAfterSalary(sectionId, after.getSalary(),
+                        after.getStaffId(), fetch);
+            }
         } else {
-            staffList = staffRepository.findAll().stream()
-                    .sorted(Comparator.comparing(Staff::getStaffId))
-                    .collect(Collectors.toList());
+            staffList = after == null
+                    ? staffRepository.findSectionStaffDTOs(sectionId, fetch)
+                    : staffRepository.findSectionStaffDTOPageAfterStaffId(sectionId, after.getStaffId(), fetch);
         }
-        return staffList.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return toPage(staffList, pageSize, orderBySalary);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public StaffDTO getStaffById(Long staffId) {
-        Optional<Staff> staffOpt = staffRepository.findById(staffId);
-        return staffOpt.map(this::convertToDTO).orElse(null);
+        return staffRepository.findStaffDTOById(staffId).map(this::withManagerName).orElse(null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StaffDTO> searchStaffByName(String name, Long sectionId) {
-        List<Staff> staffList = staffRepository.findBySectionIdAndFirstNameContainingOrSectionIdAndLastNameContaining(
-                sectionId, name, sectionId, name);
-        return staffList.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return getStaffByIds(staffNameIndex.search(name, sectionId, MAX_PAGE_SIZE));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StaffDTO> searchStaffByName(String name) {
-        List<Staff> staffList = staffRepository.findByFirstNameContainingOrLastNameContaining(name, name);
-        return staffList.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return getStaffByIds(staffNameIndex.search(name, null, MAX_PAGE_SIZE));
     }
 
+    @Override
+    public List<StaffNameSuggestionDTO> suggestStaffNames(String prefix, Long sectionId, int limit) {
+        return staffNameIndex.suggest(prefix, sectionId, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    /**
+     * 按给定ID顺序批量加载员工信息，不存在的ID被忽略。
+     */
+    private List<StaffDTO> getStaffByIds(List<Long> staffIds) {
+        if (staffIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, StaffDTO> staffById = new HashMap<>();
+        for (StaffDTO staff : staffRepository.findStaffDTOsByIds(staffIds)) {
+            staffById.put(staff.getStaffId(), staff);
+        }
+        List<StaffDTO> ordered = new ArrayList<>(staffById.size());
+        for (Long staffId : staffIds) {
+            StaffDTO staff = staffById.get(staffId);
+            if (staff != null) {
+                ordered.add(staff);
+            }
+        }
+        return withManagerNames(ordered);
+    }
 
     @Override
     public SalaryStatsDTO getSalaryStatsBySection(Long sectionId) {
-        Object[][] stats = staffRepository.getSalaryStatsBySection(sectionId);
-        if (stats != null) {
-            SalaryStatsDTO dto = new SalaryStatsDTO();
-            dto.setSectionId(sectionId);
-            dto.setMaxSalary((BigDecimal) stats[0][0]);
-            dto.setMinSalary((BigDecimal) stats[0][1]);
-            dto.setAvgSalary((Double) stats[0][2]);
-
-            Optional<Section> sectionOpt = sectionRepository.findById(sectionId);
-            sectionOpt.ifPresent(section -> dto.setSectionName(section.getSectionName()));
-
-            return dto;
+        SalaryAggregateStore.SalaryAggregate aggregate = salaryAggregateStore.get(sectionId);
+        if (aggregate != null) {
+            return convertToDTO(aggregate);
+        }
+        // 部门没有员工时与聚合查询一致，返回空的统计值
+        SalaryStatsDTO dto = new SalaryStatsDTO();
+        dto.setSectionId(sectionId);
+        Section section = referenceDataCache.findSection(sectionId);
+        if (section != null) {
+            dto.setSectionName(section.getSectionName());
         }
-        return null;
+        return dto;
     }
 
     @Override
     public List<SalaryStatsDTO> getSalaryStatsByAllSections() {
-        List<Object[]> statsList = staffRepository.getSalaryStatsByAllSections();
         List<SalaryStatsDTO> result = new ArrayList<>();
+        for (SalaryAggregateStore.SalaryAggregate aggregate : salaryAggregateStore.getAll()) {
+            result.add(convertToDTO(aggregate));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isManager(Long staffId) {
+        return getManagedSectionId(staffId) != null;
+    }
+
+    @Override
+    public Long getManagedSectionId(Long staffId) {
+        // 快照中按经理ID建有索引，无需遍历部门
+        return referenceDataCache.snapshot().getManagedSectionId(staffId);
+    }
 
-        for (Object[] stats : statsList) {
-            SalaryStatsDTO dto = new SalaryStatsDTO();
-            Long sectionId = (Long) stats[0];
-            dto.setSectionId(sectionId);
-            dto.setMaxSalary((BigDecimal) stats[1]);
-            dto.setMinSalary((BigDecimal) stats[2]);
-            dto.setAvgSalary((Double) stats[3]);
+    @Override
+    public long countStaff() {
+        // 姓名索引包含全部员工，无需 COUNT 查询
+        return staffNameIndex.size();
+    }
 
-            Optional<Section> sectionOpt = sectionRepository.findById(sectionId);
-            sectionOpt.ifPresent(section -> dto.setSectionName(section.getSectionName()));
+    private SalaryStatsDTO convertToDTO(SalaryAggregateStore.SalaryAggregate aggregate) {
+        SalaryStatsDTO dto = new SalaryStatsDTO();
+        dto.setSectionId(aggregate.sectionId());
+        dto.setMaxSalary(aggregate.max());
+        dto.setMinSalary(aggregate.min());
+        dto.setAvgSalary(aggregate.average());
 
-            result.add(dto);
+        Section section = referenceDataCache.findSection(aggregate.sectionId());
+        if (section != null) {
+            dto.setSectionName(section.getSectionName());
         }
+        return dto;
+    }
 
-        return result;
+    private static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
-    @Override
-    public boolean isManager(Long staffId) {
-        return sectionRepository.findAll().stream()
-                .anyMatch(section -> staffId.equals(section.getManagerId()));
-    }
-
-    private StaffDTO convertToDTO(Staff staff) {
-        StaffDTO dto = new StaffDTO();
-        dto.setStaffId(staff.getStaffId());
-        dto.setFirstName(staff.getFirstName());
-        dto.setLastName(staff.getLastName());
-        dto.setEmail(staff.getEmail());
-        dto.setPhoneNumber(staff.getPhoneNumber());
-        dto.setHireDate(staff.getHireDate());
-        dto.setEmploymentId(staff.getEmploymentId());
-        dto.setSalary(staff.getSalary());
-        dto.setCommissionPct(staff.getCommissionPct());
-        dto.setManagerId(staff.getManagerId());
-        dto.setSectionId(staff.getSectionId());
-
-        // 获取部门名称
-        Optional<Section> sectionOpt = sectionRepository.findById(staff.getSectionId());
-        sectionOpt.ifPresent(section -> dto.setSectionName(section.getSectionName()));
-
-        // 获取职位名称
-        Optional<Employment> employmentOpt = employmentRepository.findById(staff.getEmploymentId());
-        employmentOpt.ifPresent(employment -> dto.setEmploymentTitle(employment.getEmploymentTitle()));
+    private StaffPageDTO toPage(List<StaffDTO> staffList, int pageSize, boolean orderBySalary) {
+        StaffPageDTO page = new StaffPageDTO();
+        if (staffList.size() > pageSize) {
+            staffList = staffList.subList(0, pageSize);
+            page.setNextCursor(StaffCursor.after(staffList.get(pageSize - 1), orderBySalary).encode());
+        }
+        page.setItems(withManagerNames(staffList));
+        return page;
+    }
+
+    private List<StaffDTO> withManagerNames(List<StaffDTO> staffList) {
+        staffList.forEach(this::withManagerName);
+        return staffList;
+    }
 
+    // 投影查询不连接经理，经理姓名从姓名索引获取，没有经理时为空
+    private StaffDTO withManagerName(StaffDTO dto) {
+        dto.setManagerName(staffNameIndex.findFullName(dto.getManagerId()));
         return dto;
     }
 }
\ No newline at end of file
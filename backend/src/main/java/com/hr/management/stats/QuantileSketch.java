@@ -0,0 +1,112 @@
+package com.hr.management.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 可合并的分位数草图（DDSketch 算法）。
+ *
+ * <p>将正数按对数刻度分桶，桶 i 覆盖区间 (γ^(i-1), γ^i]，其中 γ = (1+α)/(1-α)。
+ * 任意分位数的估计值与真实值的相对误差不超过 α。相同精度的草图可以逐桶相加合并，
+ * 因此各部门的草图合并即可得到全公司的分位数，无需重新扫描数据。</p>
+ *
+ * <p>非线程安全，由调用方在单次扫描中使用。</p>
+ */
+public final class QuantileSketch {
+
+    // 小于该值的样本计入零桶
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private final TreeMap<Integer, Long> bins = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        if (value < MIN_INDEXABLE) {
+            zeroCount++;
+        } else {
+            bins.merge((int) Math.ceil(Math.log(value) / logGamma), 1L, Long::sum);
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * 将另一个草图的样本合并进来，两者精度必须相同。
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (Map.Entry<Integer, Long> bin : other.bins.entrySet()) {
+            bins.merge(bin.getKey(), bin.getValue(), Long::sum);
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * 估计分位数。
+     * @param q 分位点，取值 [0, 1]
+     * @return 估计值，没有样本时返回 null
+     */
+    public Double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]");
+        }
+        if (count == 0) {
+            return null;
+        }
+        // 最小值和最大值是精确记录的
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return Math.max(min, 0d);
+        }
+        for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+            seen += bin.getValue();
+            if (rank < seen) {
+                // 取桶的代表值，使相对误差不超过 α
+                double estimate = 2 * Math.pow(gamma, bin.getKey()) / (gamma + 1);
+                return Math.min(max, Math.max(min, estimate));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Double getMin() {
+        return count > 0 ? min : null;
+    }
+
+    public Double getMax() {
+        return count > 0 ? max : null;
+    }
+}
@@ -0,0 +1,192 @@
+package com.hr.management.stats;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按部门增量维护的薪资聚合。
+ *
+ * <p>每个部门保存人数、薪资总和以及薪资有序多重集合，删除或调薪后最大值、最小值仍然准确。
+ * 与原来的 GROUP BY 查询一致，有员工但薪资全部为空的部门也会列出，统计值为空。
+ * 启动时从 staffs 表加载一次，之后通过 {@link StaffChangedEvent} 更新，
+ * 查询只需遍历部门，不访问数据库。</p>
+ */
+@Component
+public class SalaryAggregateStore {
+
+    private final StaffRepository staffRepository;
+
+    private final Map<Long, SectionAggregate> sections = new ConcurrentHashMap<>();
+    // 每个员工最近一次计入聚合的部门和薪资，用于变更时扣除旧值
+    private final Map<Long, Member> members = new HashMap<>();
+
+    @Autowired
+    public SalaryAggregateStore(StaffRepository staffRepository) {
+        this.staffRepository = staffRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        for (Object[] row : staffRepository.findAllSalaryEntries()) {
+            apply((Long) row[0], (Long) row[1], (BigDecimal) row[2]);
+        }
+    }
+
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        Staff staff = event.staff();
+        if (event.isDeleted()) {
+            apply(event.staffId(), null, null);
+        } else {
+            apply(staff.getStaffId(), staff.getSectionId(), staff.getSalary());
+        }
+    }
+
+    /**
+     * 批量写入后从数据库重新加载，未变化的员工不改动聚合，数据库中已不存在的员工被扣除。
+     */
+    @EventListener
+    public void onStaffBulkChanged(StaffBulkChangedEvent event) {
+        Set<Long> loaded = new HashSet<>();
+        for (Object[] row : staffRepository.findAllSalaryEntries()) {
+            apply((Long) row[0], (Long) row[1], (BigDecimal) row[2]);
+            loaded.add((Long) row[0]);
+        }
+        List<Long> missing;
+        synchronized (this) {
+            missing = members.keySet().stream().filter(staffId -> !loaded.contains(staffId)).toList();
+        }
+        for (Long staffId : missing) {
+            apply(staffId, null, null);
+        }
+    }
+
+    /**
+     * 返回指定部门的聚合结果，部门没有员工时返回 null。
+     */
+    public SalaryAggregate get(Long sectionId) {
+        SectionAggregate aggregate = sectionId != null ? sections.get(sectionId) : null;
+        return aggregate != null ? aggregate.snapshot(sectionId) : null;
+    }
+
+    /**
+     * 返回全部部门的聚合结果，按部门ID排序。
+     */
+    public List<SalaryAggregate> getAll() {
+        List<SalaryAggregate> result = new ArrayList<>(sections.size());
+        sections.forEach((sectionId, aggregate) -> {
+            SalaryAggregate snapshot = aggregate.snapshot(sectionId);
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        });
+        result.sort((a, b) -> a.sectionId().compareTo(b.sectionId()));
+        return result;
+    }
+
+    // 先扣除旧的部门和薪资，再计入新值；不属于任何部门的员工不参与统计，没有薪资的员工只计入部门人数
+    private synchronized void apply(Long staffId, Long sectionId, BigDecimal salary) {
+        Member current = sectionId != null ? new Member(sectionId, salary) : null;
+        Member previous = current != null ? members.put(staffId, current) : members.remove(staffId);
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            SectionAggregate aggregate = sections.get(previous.sectionId());
+            if (aggregate != null && aggregate.remove(previous.salary())) {
+                sections.remove(previous.sectionId(), aggregate);
+            }
+        }
+        if (current != null) {
+            sections.computeIfAbsent(current.sectionId(), id -> new SectionAggregate()).add(current.salary());
+        }
+    }
+
+    /**
+     * 某部门的薪资聚合快照。
+     *
+     * @param count 有薪资的员工数，为 0 时 min、max 和平均值为 null
+     */
+    public record SalaryAggregate(Long sectionId, long count, BigDecimal sum, BigDecimal min, BigDecimal max) {
+
+        public Double average() {
+            return count > 0 ? sum.doubleValue() / count : null;
+        }
+    }
+
+    private record Member(Long sectionId, BigDecimal salary) {
+
+        // BigDecimal.equals 区分精度，这里按数值比较
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Member other) || !sectionId.equals(other.sectionId)) {
+                return false;
+            }
+            return salary == null || other.salary == null
+                    ? salary == other.salary
+                    : salary.compareTo(other.salary) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return sectionId.hashCode();
+        }
+    }
+
+    private static final class SectionAggregate {
+
+        // 部门人数，含没有薪资的员工
+        private long members;
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        // 薪资 -> 出现次数，按数值排序
+        private final TreeMap<BigDecimal, Integer> salaries = new TreeMap<>();
+
+        synchronized void add(BigDecimal salary) {
+            members++;
+            if (salary != null) {
+                count++;
+                sum = sum.add(salary);
+                salaries.merge(salary, 1, Integer::sum);
+            }
+        }
+
+        // 返回 true 表示该部门已没有员工
+        synchronized boolean remove(BigDecimal salary) {
+            members--;
+            if (salary != null) {
+                salaries.computeIfPresent(salary, (key, n) -> n > 1 ? n - 1 : null);
+                count--;
+                sum = sum.subtract(salary);
+            }
+            return members == 0;
+        }
+
+        synchronized SalaryAggregate snapshot(Long sectionId) {
+            if (members == 0) {
+                return null;
+            }
+            if (count == 0) {
+                return new SalaryAggregate(sectionId, 0, BigDecimal.ZERO, null, null);
+            }
+            return new SalaryAggregate(sectionId, count, sum, salaries.firstKey(), salaries.lastKey());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hr.management.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 固定宽度分桶的直方图，桶 i 覆盖区间 [i·width, (i+1)·width)。
+ *
+ * <p>桶边界只由宽度决定，因此相同宽度的直方图可以逐桶相加合并。非线程安全。</p>
+ */
+public final class SalaryHistogram {
+
+    private final double bucketWidth;
+    private final TreeMap<Long, Long> buckets = new TreeMap<>();
+
+    public SalaryHistogram(double bucketWidth) {
+        if (!(bucketWidth > 0)) {
+            throw new IllegalArgumentException("bucketWidth must be positive");
+        }
+        this.bucketWidth = bucketWidth;
+    }
+
+    public void add(double value) {
+        buckets.merge(bucketIndex(bucketWidth, value), 1L, Long::sum);
+    }
+
+    /**
+     * 取值范围 [min, max] 按给定宽度分桶后的桶数（含空桶），与 {@link #span()} 的计算方式一致。
+     */
+    public static long bucketCount(double bucketWidth, double min, double max) {
+        return bucketIndex(bucketWidth, max) - bucketIndex(bucketWidth, min) + 1;
+    }
+
+    private static long bucketIndex(double bucketWidth, double value) {
+        return (long) Math.floor(value / bucketWidth);
+    }
+
+    public void merge(SalaryHistogram other) {
+        if (other.bucketWidth != bucketWidth) {
+            throw new IllegalArgumentException("Cannot merge histograms with different bucket width");
+        }
+        for (Map.Entry<Long, Long> bucket : other.buckets.entrySet()) {
+            buckets.merge(bucket.getKey(), bucket.getValue(), Long::sum);
+        }
+    }
+
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * 最小桶到最大桶之间的桶数（含空桶）。
+     */
+    public long span() {
+        return buckets.isEmpty() ? 0 : buckets.lastKey() - buckets.firstKey() + 1;
+    }
+
+    /**
+     * 按桶序号升序返回每个桶的计数，最小桶与最大桶之间的空桶计数为 0。
+     */
+    public TreeMap<Long, Long> denseBuckets() {
+        TreeMap<Long, Long> dense = new TreeMap<>();
+        if (buckets.isEmpty()) {
+            return dense;
+        }
+        for (long index = buckets.firstKey(); index <= buckets.lastKey(); index++) {
+            dense.put(index, buckets.getOrDefault(index, 0L));
+        }
+        return dense;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hr.management.workload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注接口所属的工作负载类别。方法上的标注优先于类上的标注，
+ * 均未标注的接口按 {@link WorkloadClass#INTERACTIVE} 处理。
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Workload {
+
+    WorkloadClass value();
+}
\ No newline at end of file
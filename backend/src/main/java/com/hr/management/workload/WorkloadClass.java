@@ -0,0 +1,75 @@
+package com.hr.management.workload;
+
+import java.util.Locale;
+
+/**
+ * 工作负载类别。每个类别有独立的并发上限、等待队列和数据库连接分区，
+ * 一类请求饱和时只影响本类别，不会占满全部连接而拖慢其他类别。
+ *
+ * <p>以下为默认值，可通过 hr.workload.&lt;类别&gt;.* 覆盖，见 application.properties。</p>
+ */
+public enum WorkloadClass {
+
+    /**
+     * 登录、员工自助和单条记录查询。连接数不单独限制，可以使用报表和批量分区之外的全部连接。
+     */
+    INTERACTIVE(200, 1000, 1000, 0, 1),
+
+    /**
+     * 全量列表、统计、分布和仪表板等扫描大量行的查询。
+     */
+    REPORTING(8, 32, 2000, 4, 5),
+
+    /**
+     * 批量更新、导入和全量导出等长时间运行的操作。
+     */
+    BULK(2, 4, 0, 2, 30),
+
+    /**
+     * 服务器推送事件（SSE）订阅。名额在整个订阅期间占用，上限即同时保持的事件流连接数；
+     * 空闲连接只占一个挂起的虚拟线程，只有首个订阅加载初始数据时访问数据库。
+     */
+    STREAM(5000, 0, 0, 1, 5);
+
+    private final int defaultMaxConcurrent;
+    private final int defaultMaxQueued;
+    private final long defaultQueueTimeoutMillis;
+    private final int defaultMaxConnections;
+    private final long defaultRetryAfterSeconds;
+
+    WorkloadClass(int defaultMaxConcurrent, int defaultMaxQueued, long defaultQueueTimeoutMillis,
+                  int defaultMaxConnections, long defaultRetryAfterSeconds) {
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxQueued = defaultMaxQueued;
+        this.defaultQueueTimeoutMillis = defaultQueueTimeoutMillis;
+        this.defaultMaxConnections = defaultMaxConnections;
+        this.defaultRetryAfterSeconds = defaultRetryAfterSeconds;
+    }
+
+    /**
+     * 配置键和指标标签中使用的名称，如 reporting。
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    int defaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    int defaultMaxQueued() {
+        return defaultMaxQueued;
+    }
+
+    long defaultQueueTimeoutMillis() {
+        return defaultQueueTimeoutMillis;
+    }
+
+    int defaultMaxConnections() {
+        return defaultMaxConnections;
+    }
+
+    long defaultRetryAfterSeconds() {
+        return defaultRetryAfterSeconds;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.hr.management.workload;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 当前线程所属的工作负载类别，按线程保存。
+ *
+ * <p>由 {@link WorkloadInterceptor} 在请求处理期间设置，{@link WorkloadPartitionedDataSource}
+ * 据此选择连接分区。请求内派生的任务（流式导出、仪表板分项、导入任务）通过
+ * {@link #propagate(Runnable)} 带上提交时的类别；不在任何请求内的后台加载不受分区限制。</p>
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * 返回当前线程的类别，不在请求内时返回 null。
+     */
+    public static WorkloadClass current() {
+        return CURRENT.get();
+    }
+
+    static void set(WorkloadClass workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 包装任务，使其在执行线程上使用提交时的类别。
+     */
+    public static Runnable propagate(Runnable task) {
+        WorkloadClass workload = CURRENT.get();
+        if (workload == null) {
+            return task;
+        }
+        return () -> {
+            WorkloadClass previous = CURRENT.get();
+            CURRENT.set(workload);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        WorkloadClass workload = CURRENT.get();
+        if (workload == null) {
+            return task;
+        }
+        return () -> {
+            WorkloadClass previous = CURRENT.get();
+            CURRENT.set(workload);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(WorkloadClass previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
\ No newline at end of file
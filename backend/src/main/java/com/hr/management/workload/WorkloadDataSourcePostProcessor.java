@@ -0,0 +1,37 @@
+package com.hr.management.workload;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 用 {@link WorkloadPartitionedDataSource} 包装应用的 DataSource。
+ *
+ * <p>实现 {@link Ordered}，先于语句计数的包装执行，分区位于最内层，直接包在连接池外。
+ * 限流器在首次取连接时才解析，避免提前初始化。</p>
+ */
+@Component
+public class WorkloadDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<WorkloadLimiter> workloadLimiter;
+
+    public WorkloadDataSourcePostProcessor(ObjectProvider<WorkloadLimiter> workloadLimiter) {
+        this.workloadLimiter = workloadLimiter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof WorkloadPartitionedDataSource)) {
+            return new WorkloadPartitionedDataSource(dataSource, workloadLimiter);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
\ No newline at end of file
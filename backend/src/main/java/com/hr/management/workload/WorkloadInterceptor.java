@@ -0,0 +1,76 @@
+package com.hr.management.workload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 按接口上的 {@link Workload} 标注做准入控制。
+ *
+ * <p>获准的请求在处理期间设置 {@link WorkloadContext}，处理结束（异步响应在异步分派完成）时归还名额；
+ * 类别饱和时直接返回 503 和 Retry-After，不进入控制器，也不占用数据库连接。</p>
+ */
+@Component
+public class WorkloadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = WorkloadInterceptor.class.getName() + ".permit";
+
+    private final WorkloadLimiter workloadLimiter;
+
+    @Autowired
+    public WorkloadInterceptor(WorkloadLimiter workloadLimiter) {
+        this.workloadLimiter = workloadLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        // 异步分派时沿用首次分派申请到的名额
+        WorkloadLimiter.Permit permit = (WorkloadLimiter.Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit == null) {
+            WorkloadClass workload = resolve(handlerMethod);
+            permit = workloadLimiter.tryAdmit(workload);
+            if (permit == null) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(workloadLimiter.getRetryAfterSeconds(workload)));
+                return false;
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        }
+        WorkloadContext.set(permit.workload());
+        return true;
+    }
+
+    // 请求线程交还给容器，异步任务已在提交时带上类别
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        WorkloadContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        WorkloadContext.clear();
+        WorkloadLimiter.Permit permit = (WorkloadLimiter.Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null && !request.isAsyncStarted()) {
+            permit.release();
+        }
+    }
+
+    private static WorkloadClass resolve(HandlerMethod handlerMethod) {
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Workload.class);
+        }
+        return workload != null ? workload.value() : WorkloadClass.INTERACTIVE;
+    }
+}
\ No newline at end of file
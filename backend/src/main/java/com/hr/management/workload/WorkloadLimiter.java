@@ -0,0 +1,184 @@
+package com.hr.management.workload;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按工作负载类别限制并发请求数和数据库连接数。
+ *
+ * <p>请求处理使用虚拟线程，线程本身不再是稀缺资源，因此“每类一个有界执行器”以信号量实现：
+ * 同时处理的请求数达到上限后，新请求在有界队列中最多等待 queue-timeout-ms，
+ * 队列已满或等待超时立即拒绝，由 {@link WorkloadInterceptor} 返回 503。</p>
+ *
+ * <p>连接分区同样以信号量实现：类别内同时持有的连接数不超过 max-connections，
+ * 所有类别仍共用一个连接池。设为 0 时不单独限制，INTERACTIVE 默认如此，
+ * 保证连接池中至少保留 REPORTING 和 BULK 分区之外的连接给交互请求。</p>
+ */
+@Component
+public class WorkloadLimiter {
+
+    private final Map<WorkloadClass, Partition> partitions = new EnumMap<>(WorkloadClass.class);
+    private final long connectionTimeoutMillis;
+
+    @Autowired
+    public WorkloadLimiter(Environment environment) {
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            String prefix = "hr.workload." + workload.key() + ".";
+            partitions.put(workload, new Partition(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, workload.defaultMaxConcurrent()),
+                    environment.getProperty(prefix + "max-queued", Integer.class, workload.defaultMaxQueued()),
+                    environment.getProperty(prefix + "queue-timeout-ms", Long.class,
+                            workload.defaultQueueTimeoutMillis()),
+                    environment.getProperty(prefix + "max-connections", Integer.class,
+                            workload.defaultMaxConnections()),
+                    environment.getProperty(prefix + "retry-after-seconds", Long.class,
+                            workload.defaultRetryAfterSeconds())));
+        }
+        this.connectionTimeoutMillis = environment.getProperty("hr.workload.connection-timeout-ms", Long.class, 5000L);
+    }
+
+    /**
+     * 申请处理一个请求，被拒绝时返回 null。
+     */
+    public Permit tryAdmit(WorkloadClass workload) {
+        Partition partition = partitions.get(workload);
+        try {
+            // 带超时的 tryAcquire 遵守公平顺序，新请求不会插队到正在等待的请求之前
+            if (partition.admission.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return admitted(workload, partition);
+            }
+            if (partition.queued.incrementAndGet() > partition.maxQueued) {
+                partition.queued.decrementAndGet();
+            } else {
+                try {
+                    if (partition.admission.tryAcquire(partition.queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        return admitted(workload, partition);
+                    }
+                } finally {
+                    partition.queued.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        partition.rejected.increment();
+        return null;
+    }
+
+    private Permit admitted(WorkloadClass workload, Partition partition) {
+        partition.admitted.increment();
+        return new Permit(workload, partition);
+    }
+
+    /**
+     * 为当前类别申请一个连接名额，分区已满且在 hr.workload.connection-timeout-ms 内未等到时抛出异常。
+     * @return 申请到名额时返回 true，类别不限制连接数时返回 false，无需归还
+     */
+    boolean acquireConnection(WorkloadClass workload) throws SQLException {
+        Partition partition = partitions.get(workload);
+        if (partition.connections == null) {
+            return false;
+        }
+        try {
+            if (partition.connections.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new SQLTransientConnectionException("Workload " + workload.key() + " has no free connection after "
+                + connectionTimeoutMillis + " ms (max-connections=" + partition.maxConnections + ")");
+    }
+
+    void releaseConnection(WorkloadClass workload) {
+        partitions.get(workload).connections.release();
+    }
+
+    public long getRetryAfterSeconds(WorkloadClass workload) {
+        return partitions.get(workload).retryAfterSeconds;
+    }
+
+    public int getActiveCount(WorkloadClass workload) {
+        Partition partition = partitions.get(workload);
+        return partition.maxConcurrent - partition.admission.availablePermits();
+    }
+
+    public int getQueuedCount(WorkloadClass workload) {
+        return Math.max(0, partitions.get(workload).queued.get());
+    }
+
+    public int getActiveConnectionCount(WorkloadClass workload) {
+        Partition partition = partitions.get(workload);
+        return partition.connections != null ? partition.maxConnections - partition.connections.availablePermits() : 0;
+    }
+
+    public long getAdmittedCount(WorkloadClass workload) {
+        return partitions.get(workload).admitted.sum();
+    }
+
+    public long getRejectedCount(WorkloadClass workload) {
+        return partitions.get(workload).rejected.sum();
+    }
+
+    /**
+     * 一个已获准处理的请求，处理结束时归还，重复归还无效。
+     */
+    public static final class Permit {
+
+        private final WorkloadClass workload;
+        private final Partition partition;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(WorkloadClass workload, Partition partition) {
+            this.workload = workload;
+            this.partition = partition;
+        }
+
+        public WorkloadClass workload() {
+            return workload;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                partition.admission.release();
+            }
+        }
+    }
+
+    private static final class Partition {
+
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final long queueTimeoutMillis;
+        private final int maxConnections;
+        private final long retryAfterSeconds;
+        private final Semaphore admission;
+        // 不限制连接数时为 null
+        private final Semaphore connections;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Partition(int maxConcurrent, int maxQueued, long queueTimeoutMillis, int maxConnections,
+                  long retryAfterSeconds) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.queueTimeoutMillis = queueTimeoutMillis;
+            this.maxConnections = maxConnections;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.admission = new Semaphore(maxConcurrent, true);
+            this.connections = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.hr.management.workload;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按 {@link WorkloadContext} 把连接池划分为逻辑分区：取连接前先申请所属类别的连接名额，
+ * 连接关闭时归还。不在任何类别内（启动加载、定时任务）的调用直接使用连接池。
+ */
+public class WorkloadPartitionedDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<WorkloadLimiter> workloadLimiter;
+
+    public WorkloadPartitionedDataSource(DataSource targetDataSource, ObjectProvider<WorkloadLimiter> workloadLimiter) {
+        super(targetDataSource);
+        this.workloadLimiter = workloadLimiter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return partitioned(null, null, false);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return partitioned(username, password, true);
+    }
+
+    private Connection partitioned(String username, String password, boolean withCredentials) throws SQLException {
+        WorkloadClass workload = WorkloadContext.current();
+        WorkloadLimiter limiter = workload != null ? workloadLimiter.getObject() : null;
+        if (limiter == null || !limiter.acquireConnection(workload)) {
+            return open(username, password, withCredentials);
+        }
+        Connection connection;
+        try {
+            connection = open(username, password, withCredentials);
+        } catch (SQLException | RuntimeException e) {
+            limiter.releaseConnection(workload);
+            throw e;
+        }
+        return releasingOnClose(connection, () -> limiter.releaseConnection(workload));
+    }
+
+    private Connection open(String username, String password, boolean withCredentials) throws SQLException {
+        return withCredentials
+                ? obtainTargetDataSource().getConnection(username, password)
+                : obtainTargetDataSource().getConnection();
+    }
+
+    // 代理其余方法（包括 unwrap）直接转发，close 只归还一次名额
+    private static Connection releasingOnClose(Connection target, Runnable release) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                WorkloadPartitionedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            target.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                release.run();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+}
\ No newline at end of file
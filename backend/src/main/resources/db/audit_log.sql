@@ -0,0 +1,14 @@
+-- 写操作审计表（AuditTrail 以批量插入写入，只追加）。
+-- 由 DBA 或迁移工具执行；开发环境可设置 hr.audit.create-table=true，启动时执行本脚本。
+-- 主键使用 BIGSERIAL，PostgreSQL 各版本和 openGauss 均支持；脚本可重复执行。
+CREATE TABLE IF NOT EXISTS audit_log (
+    audit_id     BIGSERIAL PRIMARY KEY,
+    occurred_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    actor_id     VARCHAR(32),
+    actor_role   VARCHAR(32),
+    action       VARCHAR(32) NOT NULL,
+    entity_type  VARCHAR(16) NOT NULL,
+    entity_id    BIGINT,
+    before_value TEXT,
+    after_value  TEXT
+);
@@ -0,0 +1,125 @@
+package com.hr.management.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+	@Test
+	void roundsCapacityUpToPowerOfTwo() {
+		assertThat(new AuditRingBuffer<Long>(8).capacity()).isEqualTo(8);
+		assertThat(new AuditRingBuffer<Long>(5).capacity()).isEqualTo(8);
+		assertThat(new AuditRingBuffer<Long>(1000).capacity()).isEqualTo(1024);
+		assertThat(new AuditRingBuffer<Long>(8192).capacity()).isEqualTo(8192);
+	}
+
+	@Test
+	void rejectsOfferWhenFullAndReusesSlotsAfterDrain() {
+		AuditRingBuffer<Long> buffer = new AuditRingBuffer<>(8);
+		for (long i = 0; i < 8; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+		assertThat(buffer.offer(8L)).isFalse();
+		assertThat(buffer.size()).isEqualTo(8);
+
+		List<Long> drained = new ArrayList<>();
+		assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+		assertThat(drained).containsExactly(0L, 1L, 2L);
+		// 取走的三个槽位在下一圈重新可写
+		for (long i = 8; i < 11; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+		assertThat(buffer.offer(11L)).isFalse();
+
+		drained.clear();
+		assertThat(buffer.drainTo(drained, 100)).isEqualTo(8);
+		assertThat(drained).containsExactly(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+		assertThat(buffer.isEmpty()).isTrue();
+		assertThat(buffer.drainTo(drained, 100)).isZero();
+	}
+
+	@Test
+	void keepsOrderAcrossManyWrapArounds() {
+		AuditRingBuffer<Long> buffer = new AuditRingBuffer<>(8);
+		List<Long> drained = new ArrayList<>();
+		long next = 0;
+		// 每轮写入的个数与容量互质，写位置和读位置在槽位间不断错开
+		for (int round = 0; round < 1000; round++) {
+			for (int i = 0; i < 5; i++) {
+				assertThat(buffer.offer(next++)).isTrue();
+			}
+			buffer.drainTo(drained, round % 2 == 0 ? 5 : 4);
+			buffer.drainTo(drained, 1);
+		}
+		assertThat(drained).containsExactlyElementsOf(range(next));
+		assertThat(buffer.isEmpty()).isTrue();
+	}
+
+	@Test
+	void multipleProducersLoseAndDuplicateNothing() throws InterruptedException {
+		int producers = 8;
+		int perProducer = 100_000;
+		// 小容量使队列反复写满和绕圈
+		AuditRingBuffer<Long> buffer = new AuditRingBuffer<>(64);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			long producer = p;
+			threads.add(Thread.ofPlatform().name("producer-" + p).start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (long sequence = 0; sequence < perProducer; sequence++) {
+					// 高 32 位为生产者编号，低 32 位为该生产者的序号
+					Long element = producer << 32 | sequence;
+					while (!buffer.offer(element)) {
+						Thread.onSpinWait();
+					}
+				}
+			}));
+		}
+
+		long[] nextSequence = new long[producers];
+		List<Long> batch = new ArrayList<>();
+		long total = 0;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+		start.countDown();
+		while (total < (long) producers * perProducer) {
+			assertThat(System.nanoTime()).as("records still missing: %d", (long) producers * perProducer - total)
+					.isLessThan(deadline);
+			batch.clear();
+			if (buffer.drainTo(batch, 500) == 0) {
+				Thread.onSpinWait();
+				continue;
+			}
+			for (Long element : batch) {
+				int producer = (int) (element >>> 32);
+				long sequence = element & 0xFFFFFFFFL;
+				// 同一生产者的记录按写入顺序取出，序号连续即不丢不重
+				assertThat(sequence).as("producer %d", producer).isEqualTo(nextSequence[producer]);
+				nextSequence[producer]++;
+			}
+			total += batch.size();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(nextSequence).containsOnly(perProducer);
+		assertThat(buffer.isEmpty()).isTrue();
+		assertThat(buffer.drainTo(batch, 500)).isZero();
+	}
+
+	private static List<Long> range(long size) {
+		return LongStream.range(0, size).boxed().toList();
+	}
+}
\ No newline at end of file
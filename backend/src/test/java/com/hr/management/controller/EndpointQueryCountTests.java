@@ -0,0 +1,391 @@
+package com.hr.management.controller;
+
+import com.hr.management.cache.ReferenceDataCache;
+import com.hr.management.security.AuthToken;
+import com.hr.management.security.TokenService;
+import com.jayway.jsonpath.JsonPath;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 各 REST 接口的 SQL 语句数回归测试。
+ *
+ * <p>应用的 DataSource 已由 datasource-proxy 包装，这里额外注册一个计数监听器，
+ * 在固定数据集（30 名员工）上断言每个接口执行的语句数上限。
+ * 重新引入逐行查找关联数据的写法时，语句数会随行数增长并使测试失败。</p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("querycount")
+class EndpointQueryCountTests {
+
+	private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QueryCounter queryCounter;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
+	// ---------- /api/hr ----------
+
+	@Test
+	void hrEmployees() throws Exception {
+		assertMaxQueries(2, asHrManager(get("/api/hr/employees")));
+		assertMaxQueries(2, asHrManager(get("/api/hr/employees").param("orderBySalary", "true")));
+	}
+
+	@Test
+	void hrDashboard() throws Exception {
+		// 部门 + 经理、地点、员工首页，各分项并发执行
+		assertMaxQueries(5, asHrManager(get("/api/hr/dashboard")));
+	}
+
+	@Test
+	void hrEmployeePage() throws Exception {
+		assertMaxQueries(2, asHrManager(get("/api/hr/employees").param("limit", "10")));
+		assertMaxQueries(2, asHrManager(get("/api/hr/employees").param("limit", "10").param("orderBySalary", "true")));
+	}
+
+	@Test
+	void hrExportEmployees() throws Exception {
+		queryCounter.reset();
+		MvcResult result = mockMvc.perform(asHrManager(get("/api/hr/export/employees").param("format", "csv")))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+		assertThat(queryCounter.count()).as("GET /api/hr/export/employees").isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void hrEmployeeById() throws Exception {
+		assertMaxQueries(2, asHrManager(get("/api/hr/employee/{staffId}", 110)));
+	}
+
+	@Test
+	void hrEmployeeHistory() throws Exception {
+		assertMaxQueries(2, asHrManager(get("/api/hr/employee/{staffId}/history", 110)));
+	}
+
+	@Test
+	void hrPointInTimeQueries() throws Exception {
+		// 由内存中的任职区间索引回答
+		assertMaxQueries(0, asHrManager(get("/api/hr/section/{sectionId}/members", 20).param("date", "2010-06-30")));
+		assertMaxQueries(0, asHrManager(get("/api/hr/headcount").param("from", "2005-01").param("to", "2020-12")));
+	}
+
+	@Test
+	void hrOrgChart() throws Exception {
+		// 由内存中的汇报关系索引回答，与层级深度无关
+		assertMaxQueries(0, asHrManager(get("/api/hr/employee/{staffId}/reporting-chain", 128)));
+		assertMaxQueries(0, asHrManager(get("/api/hr/employee/{staffId}/direct-reports", 101)));
+		assertMaxQueries(0, asHrManager(get("/api/hr/employee/{staffId}/subtree", 101)));
+	}
+
+	@Test
+	void hrSearch() throws Exception {
+		assertMaxQueries(2, asHrManager(get("/api/hr/search").param("name", "an")));
+		assertMaxQueries(0, asHrManager(get("/api/hr/search/suggest").param("prefix", "Da")));
+	}
+
+	@Test
+	void hrSalaryStats() throws Exception {
+		assertMaxQueries(0, asHrManager(get("/api/hr/salary-stats")));
+		assertMaxQueries(2, asHrManager(get("/api/hr/salary-distribution")));
+	}
+
+	@Test
+	void salaryDistributionRejectsTinyBucketsBeforeScan() throws Exception {
+		// 只执行取薪资范围的查询，不扫描 staffs 表
+		for (MockHttpServletRequestBuilder request : List.of(
+				asHrManager(get("/api/hr/salary-distribution").param("bucketWidth", "0.01")),
+				asManager(10, get("/api/manager/section/{sectionId}/salary-distribution", 10).param("bucketWidth", "0.01")))) {
+			queryCounter.reset();
+			mockMvc.perform(request).andExpect(status().isBadRequest());
+			assertThat(queryCounter.count()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void hrSections() throws Exception {
+		assertMaxQueries(3, asHrManager(get("/api/hr/sections")));
+		assertMaxQueries(3, asHrManager(get("/api/hr/section/{sectionId}", 20)));
+	}
+
+	@Test
+	void hrDirectoryQuery() throws Exception {
+		// 筛选、排序和汇总由内存中的列式快照回答，只有返回的一页员工需要一次 IN 查询
+		assertMaxQueries(1, asHrManager(post("/api/hr/directory/query")
+				.contentType(JSON)
+				.content("{\"salaryMin\":5000,\"hiredFrom\":\"2005-01-01\",\"sectionIds\":[20,30],"
+						+ "\"sort\":[{\"field\":\"salary\",\"descending\":true}],\"groupBy\":\"section\",\"limit\":10}")));
+		assertMaxQueries(0, asHrManager(post("/api/hr/directory/query")
+				.contentType(JSON)
+				.content("{\"managerIds\":[101],\"groupBy\":\"employment\",\"limit\":0}")));
+	}
+
+	@Test
+	void hrConditionalGet() throws Exception {
+		for (String path : List.of("/api/hr/sections", "/api/hr/places", "/api/hr/salary-stats")) {
+			String etag = mockMvc.perform(asHrManager(get(path))).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+			assertThat(etag).as(path).isNotNull();
+
+			// 数据版本未变时返回 304，不访问数据库
+			queryCounter.reset();
+			mockMvc.perform(asHrManager(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isNotModified());
+			assertThat(queryCounter.count()).as(path).isZero();
+		}
+	}
+
+	@Test
+	void hrUpdateSectionName() throws Exception {
+		// 包含更新后重建参考数据快照的 6 次整表查询
+		assertMaxQueries(10, asHrManager(put("/api/hr/section/{sectionId}", 30)
+				.contentType(JSON)
+				.content("{\"sectionName\":\"Shipping\"}")));
+	}
+
+	@Test
+	void hrBulkUpdates() throws Exception {
+		String changed = bulkPhones("515.124.");
+		String original = bulkPhones("515.123.");
+		// 锁定并读取原号码、一个批次的 UPDATE、取回更新后的行，与条目数无关
+		assertMaxQueries(3, asHrManager(put("/api/hr/bulk/phones").contentType(JSON).content(changed)));
+		// 号码未变化时不更新、不取回
+		assertBulkResult(put("/api/hr/bulk/phones").contentType(JSON).content(changed), 2, 0, 30);
+		assertMaxQueries(3, asHrManager(put("/api/hr/bulk/phones").contentType(JSON).content(original)));
+
+		// 一个批次的 UPDATE 加重建参考数据快照的 6 次整表查询
+		assertMaxQueries(7, asHrManager(put("/api/hr/bulk/section-names")
+				.contentType(JSON)
+				.content("[{\"sectionId\":10,\"sectionName\":\"Admin\"},"
+						+ "{\"sectionId\":20,\"sectionName\":\"Sales\"}]")));
+		assertMaxQueries(7, asHrManager(put("/api/hr/bulk/section-names")
+				.contentType(JSON)
+				.content("[{\"sectionId\":10,\"sectionName\":\"Administration\"}]")));
+		// 名称未变化时只有一个批次的 UPDATE，不重建快照
+		assertBulkResult(put("/api/hr/bulk/section-names")
+				.contentType(JSON)
+				.content("[{\"sectionId\":10,\"sectionName\":\"Administration\"},"
+						+ "{\"sectionId\":20,\"sectionName\":\"Sales\"},"
+						+ "{\"sectionId\":99,\"sectionName\":\"Nowhere\"}]"), 1, 0, 2);
+	}
+
+	private static String bulkPhones(String prefix) {
+		StringBuilder phones = new StringBuilder("[");
+		for (int staffId = 101; staffId <= 130; staffId++) {
+			phones.append(staffId > 101 ? "," : "")
+					.append("{\"staffId\":").append(staffId)
+					.append(",\"phoneNumber\":\"").append(prefix).append(1000 + staffId - 100).append("\"}");
+		}
+		return phones.append("]").toString();
+	}
+
+	private void assertBulkResult(MockHttpServletRequestBuilder request, int maxQueries, int updated, int unchanged)
+			throws Exception {
+		queryCounter.reset();
+		String body = mockMvc.perform(asHrManager(request))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(queryCounter.count()).isLessThanOrEqualTo(maxQueries);
+		assertThat((Integer) JsonPath.read(body, "$.updated")).isEqualTo(updated);
+		assertThat((Integer) JsonPath.read(body, "$.unchanged")).isEqualTo(unchanged);
+	}
+
+	@Test
+	void hrPlaces() throws Exception {
+		assertMaxQueries(2, asHrManager(get("/api/hr/places")));
+	}
+
+	@Test
+	void hrReferenceDataStats() throws Exception {
+		assertMaxQueries(0, asHrManager(get("/api/hr/reference-data/stats")));
+	}
+
+	// ---------- /api/manager ----------
+
+	@Test
+	void managerSectionEmployees() throws Exception {
+		assertMaxQueries(2, asManager(20, get("/api/manager/section/{sectionId}/employees", 20)));
+		assertMaxQueries(2, asManager(20, get("/api/manager/section/{sectionId}/employees", 20).param("limit", "5")));
+		assertMaxQueries(2, asManager(20, get("/api/manager/section/{sectionId}/employee/{staffId}", 20, 105)));
+	}
+
+	@Test
+	void managerSearch() throws Exception {
+		assertMaxQueries(2, asManager(10, get("/api/manager/section/{sectionId}/search", 10).param("name", "an")));
+		assertMaxQueries(0, asManager(10, get("/api/manager/section/{sectionId}/search/suggest", 10).param("prefix", "Da")));
+	}
+
+	@Test
+	void managerSalaryStats() throws Exception {
+		assertMaxQueries(0, asManager(10, get("/api/manager/section/{sectionId}/salary-stats", 10)));
+		assertMaxQueries(2, asManager(10, get("/api/manager/section/{sectionId}/salary-distribution", 10)));
+	}
+
+	// ---------- /api/employee ----------
+
+	@Test
+	void employeeInfo() throws Exception {
+		assertMaxQueries(2, asEmployee(115, get("/api/employee/{staffId}", 115)));
+	}
+
+	@Test
+	void employeeUpdatePhone() throws Exception {
+		assertMaxQueries(3, asEmployee(115, put("/api/employee/{staffId}/phone", 115)
+				.contentType(JSON)
+				.content("{\"phoneNumber\":\"515.123.1015\"}")));
+	}
+
+	// ---------- /api/auth ----------
+
+	@Test
+	void authLogin() throws Exception {
+		assertMaxQueries(1, post("/api/auth/login")
+				.contentType(JSON)
+				.content("{\"staffId\":\"102\",\"password\":\"password\"}"));
+		assertMaxQueries(1, post("/api/auth/login")
+				.contentType(JSON)
+				.content("{\"staffId\":\"115\",\"password\":\"password\"}"));
+
+		// 不存在的员工ID由布隆过滤器拒绝，不访问数据库
+		queryCounter.reset();
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(JSON)
+						.content("{\"staffId\":\"987654\",\"password\":\"password\"}"))
+				.andExpect(status().isUnauthorized());
+		assertThat(queryCounter.count()).as("POST /api/auth/login unknown staff").isZero();
+	}
+
+	@Test
+	void authTokenAuthorization() throws Exception {
+		String body = mockMvc.perform(post("/api/auth/login")
+						.contentType(JSON)
+						.content("{\"staffId\":\"115\",\"password\":\"password\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String token = JsonPath.read(body, "$.token");
+
+		// 令牌校验和授权判断不访问数据库
+		queryCounter.reset();
+		mockMvc.perform(get("/api/hr/employees")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/hr/employees").header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/hr/employees").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/employee/{staffId}", 116).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(asManager(10, get("/api/manager/section/{sectionId}/salary-stats", 20)))
+				.andExpect(status().isForbidden());
+		assertThat(queryCounter.count()).isZero();
+
+		assertMaxQueries(2, get("/api/employee/{staffId}", 115).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+	}
+
+	@Test
+	void corsPreflight() throws Exception {
+		// 前端跨域调用受保护接口前发送的预检请求不带令牌，由 CORS 处理，不返回 401
+		mockMvc.perform(options("/api/hr/employees")
+						.header(HttpHeaders.ORIGIN, "http://localhost:3000")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "authorization"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:3000"));
+	}
+
+	private MockHttpServletRequestBuilder asHrManager(MockHttpServletRequestBuilder request) {
+		return withToken(request, tokenService.issue("hr001", AuthToken.HR_MANAGER, null));
+	}
+
+	private MockHttpServletRequestBuilder asManager(long sectionId, MockHttpServletRequestBuilder request) {
+		Long managerId = referenceDataCache.findSection(sectionId).getManagerId();
+		return withToken(request, tokenService.issue(managerId.toString(), AuthToken.DEPARTMENT_MANAGER, sectionId));
+	}
+
+	private MockHttpServletRequestBuilder asEmployee(long staffId, MockHttpServletRequestBuilder request) {
+		return withToken(request, tokenService.issue(Long.toString(staffId), AuthToken.EMPLOYEE, null));
+	}
+
+	private static MockHttpServletRequestBuilder withToken(MockHttpServletRequestBuilder request, String token) {
+		return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+	}
+
+	private void assertMaxQueries(int max, RequestBuilder request) throws Exception {
+		queryCounter.reset();
+		MvcResult result = mockMvc.perform(request).andReturn();
+		assertThat(result.getResponse().getStatus()).as(describe(result)).isLessThan(400);
+		assertThat(queryCounter.count()).as(describe(result)).isLessThanOrEqualTo(max);
+	}
+
+	private static String describe(MvcResult result) {
+		return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+	}
+
+	/**
+	 * 统计语句执行次数，批量执行按一次计。
+	 */
+	static class QueryCounter implements QueryExecutionListener {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		}
+
+		@Override
+		public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			count.incrementAndGet();
+		}
+
+		void reset() {
+			count.set(0);
+		}
+
+		int count() {
+			return count.get();
+		}
+	}
+
+	@TestConfiguration
+	static class QueryCounterConfiguration {
+
+		@Bean
+		QueryCounter queryCounter() {
+			return new QueryCounter();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,219 @@
+package com.hr.management.index;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.EmploymentHistoryRepository;
+import com.hr.management.repository.StaffRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmploymentIntervalIndexTest {
+
+	private static final LocalDate BASE = LocalDate.of(2000, 1, 1);
+	private static final long[] SECTIONS = {10, 20, 30};
+
+	private final EmploymentHistoryRepository historyRepository = mock(EmploymentHistoryRepository.class);
+	private final StaffRepository staffRepository = mock(StaffRepository.class);
+	private final List<Object[]> historyRows = new ArrayList<>();
+	private final List<Object[]> positionRows = new ArrayList<>();
+
+	@Test
+	void matchesLinearScanOverRandomIntervals() {
+		Random random = new Random(20240601);
+		for (int staffId = 1; staffId <= 300; staffId++) {
+			int day = random.nextInt(400);
+			int periods = random.nextInt(4);
+			for (int i = 0; i < periods; i++) {
+				// 起止同一天、相邻和重叠的区间都会出现
+				int length = random.nextInt(5) == 0 ? 0 : random.nextInt(200);
+				Integer end = random.nextInt(15) == 0 ? null : day + length;
+				history(staffId, SECTIONS[random.nextInt(SECTIONS.length)], day, end);
+				day += length + random.nextInt(3) - 1;
+				day = Math.max(day, 0);
+			}
+			Integer hire = random.nextInt(10) == 0 ? null : random.nextInt(300);
+			position(staffId, random.nextInt(20) == 0 ? null : SECTIONS[random.nextInt(SECTIONS.length)], hire);
+		}
+		EmploymentIntervalIndex index = newIndex();
+		List<Expected> expected = expectedIntervals();
+
+		// 每个区间的开始日、结束日及其前后一天，另加随机日期
+		TreeSet<Integer> days = new TreeSet<>();
+		for (Expected interval : expected) {
+			for (long boundary : new long[]{interval.start(), interval.end()}) {
+				if (boundary != Long.MIN_VALUE && boundary != Long.MAX_VALUE) {
+					int offset = (int) (boundary - BASE.toEpochDay());
+					days.add(offset - 1);
+					days.add(offset);
+					days.add(offset + 1);
+				}
+			}
+		}
+		for (int i = 0; i < 200; i++) {
+			days.add(random.nextInt(1200) - 100);
+		}
+		for (long sectionId : SECTIONS) {
+			for (int day : days) {
+				assertMatchesLinearScan(index, expected, sectionId, day);
+			}
+		}
+	}
+
+	@Test
+	void boundaryDays() {
+		// 起止同一天的历史区间，随后的当前任职从次日开始
+		history(1, 10, 100, 100);
+		position(1, 10, 50);
+		// 没有结束日的历史区间
+		history(2, 10, 200, null);
+		// 入职日之后在另一个部门任职
+		history(3, 20, 10, 150);
+		position(3, 10, 5);
+		EmploymentIntervalIndex index = newIndex();
+
+		assertThat(ids(index, 10, 99)).isEmpty();
+		assertThat(ids(index, 10, 100)).containsExactly(1L);
+		assertThat(ids(index, 10, 101)).containsExactly(1L);
+		assertThat(index.headcountAt(10L, day(100))).isEqualTo(1);
+		assertThat(index.headcountAt(20L, day(150))).isEqualTo(1);
+		assertThat(index.headcountAt(20L, day(151))).isZero();
+		assertThat(ids(index, 10, 151)).containsExactly(1L, 3L);
+		assertThat(ids(index, 10, 200)).containsExactly(1L, 3L, 2L);
+		assertThat(index.headcountAt(10L, day(100_000))).isEqualTo(3);
+		assertThat(index.headcountAt(30L, day(100))).isZero();
+		assertThat(index.sectionIds()).containsExactly(10L, 20L);
+	}
+
+	@Test
+	void unknownStartCountsFromTheBeginning() {
+		position(1, 10, null);
+		EmploymentIntervalIndex index = newIndex();
+
+		assertThat(index.headcountAt(10L, LocalDate.of(1900, 1, 1))).isEqualTo(1);
+		assertThat(index.membersAt(10L, LocalDate.of(1900, 1, 1)).get(0).startDate()).isNull();
+		assertThat(index.membersAt(10L, LocalDate.of(1900, 1, 1)).get(0).endDate()).isNull();
+	}
+
+	@Test
+	void currentPositionFollowsStaffChanges() {
+		history(1, 20, 0, 99);
+		position(1, 10, 0);
+		position(2, 10, 50);
+		EmploymentIntervalIndex index = newIndex();
+		assertThat(ids(index, 10, 100)).containsExactly(2L, 1L);
+
+		index.onStaffChanged(new StaffChangedEvent(1L, staff(1, 30L, 0)));
+		assertThat(ids(index, 10, 100)).containsExactly(2L);
+		assertThat(ids(index, 30, 100)).containsExactly(1L);
+		assertThat(ids(index, 30, 99)).isEmpty();
+		assertThat(ids(index, 20, 99)).containsExactly(1L);
+
+		index.onStaffChanged(new StaffChangedEvent(2L, null));
+		assertThat(index.headcountAt(10L, day(100))).isZero();
+		assertThat(index.sectionIds()).containsExactly(20L, 30L);
+	}
+
+	private void assertMatchesLinearScan(EmploymentIntervalIndex index, List<Expected> expected, long sectionId, int day) {
+		long epochDay = day(day).toEpochDay();
+		List<String> scan = new ArrayList<>();
+		for (Expected interval : expected) {
+			if (interval.sectionId() == sectionId && interval.start() <= epochDay && epochDay <= interval.end()) {
+				scan.add(interval.key());
+			}
+		}
+		List<EmploymentIntervalIndex.Interval> members = index.membersAt(sectionId, day(day));
+		List<String> found = new ArrayList<>();
+		long previousStart = Long.MIN_VALUE;
+		for (EmploymentIntervalIndex.Interval interval : members) {
+			assertThat(interval.startDay()).as("members sorted by start").isGreaterThanOrEqualTo(previousStart);
+			previousStart = interval.startDay();
+			found.add(interval.staffId() + ":" + interval.startDay() + ":" + interval.endDay());
+		}
+		assertThat(found).as("section %d day %d", sectionId, day).containsExactlyInAnyOrderElementsOf(scan);
+		assertThat(index.headcountAt(sectionId, day(day))).as("section %d day %d", sectionId, day)
+				.isEqualTo(scan.size());
+	}
+
+	// 按类注释的规则独立推导全部区间：历史区间原样保留，当前任职从入职日和最后一条历史结束次日中较晚者开始
+	private List<Expected> expectedIntervals() {
+		List<Expected> expected = new ArrayList<>();
+		Map<Long, Long> lastEnd = new HashMap<>();
+		for (Object[] row : historyRows) {
+			long staffId = (Long) row[0];
+			long start = ((LocalDateTime) row[2]).toLocalDate().toEpochDay();
+			long end = row[3] != null ? ((LocalDateTime) row[3]).toLocalDate().toEpochDay() : Long.MAX_VALUE;
+			expected.add(new Expected(staffId, (Long) row[1], start, end));
+			if (row[3] != null) {
+				lastEnd.merge(staffId, end, Math::max);
+			}
+		}
+		for (Object[] row : positionRows) {
+			if (row[1] == null) {
+				continue;
+			}
+			long staffId = (Long) row[0];
+			long start = row[2] != null ? ((LocalDateTime) row[2]).toLocalDate().toEpochDay() : Long.MIN_VALUE;
+			if (lastEnd.containsKey(staffId)) {
+				start = Math.max(start, lastEnd.get(staffId) + 1);
+			}
+			expected.add(new Expected(staffId, (Long) row[1], start, Long.MAX_VALUE));
+		}
+		return expected;
+	}
+
+	private EmploymentIntervalIndex newIndex() {
+		when(historyRepository.findAllIntervalEntries()).thenReturn(historyRows);
+		when(staffRepository.findAllPositionEntries()).thenReturn(positionRows);
+		EmploymentIntervalIndex index = new EmploymentIntervalIndex(historyRepository, staffRepository);
+		index.init();
+		return index;
+	}
+
+	private void history(long staffId, long sectionId, int startDay, Integer endDay) {
+		historyRows.add(new Object[]{staffId, sectionId, at(startDay), endDay != null ? at(endDay) : null});
+	}
+
+	private void position(long staffId, Long sectionId, Integer hireDay) {
+		positionRows.add(new Object[]{staffId, sectionId, hireDay != null ? at(hireDay) : null});
+	}
+
+	private static List<Long> ids(EmploymentIntervalIndex index, long sectionId, int day) {
+		return index.membersAt(sectionId, day(day)).stream().map(EmploymentIntervalIndex.Interval::staffId).toList();
+	}
+
+	private static Staff staff(long staffId, Long sectionId, int hireDay) {
+		Staff staff = new Staff();
+		staff.setStaffId(staffId);
+		staff.setSectionId(sectionId);
+		staff.setHireDate(at(hireDay));
+		return staff;
+	}
+
+	private static LocalDate day(int day) {
+		return BASE.plusDays(day);
+	}
+
+	// 带时间部分，验证按日期截断
+	private static LocalDateTime at(int day) {
+		return day(day).atTime(9, 30);
+	}
+
+	private record Expected(long staffId, long sectionId, long start, long end) {
+
+		String key() {
+			return staffId + ":" + start + ":" + end;
+		}
+	}
+}
\ No newline at end of file
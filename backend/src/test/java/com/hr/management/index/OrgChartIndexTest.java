@@ -0,0 +1,224 @@
+package com.hr.management.index;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrgChartIndexTest {
+
+	private final StaffRepository staffRepository = mock(StaffRepository.class);
+	// 与索引同步维护的员工数据，作为暴力汇总的输入
+	private final Map<Long, Entry> staffs = new LinkedHashMap<>();
+
+	@Test
+	void reparentsUnderAnotherManager() {
+		// 1 ─┬─ 2 ── 4
+		//    └─ 3
+		put(1, null, "100");
+		put(2, 1L, "20");
+		put(3, 1L, "30");
+		put(4, 2L, "4");
+		OrgChartIndex index = newIndex();
+		assertTotals(index);
+		assertThat(index.node(1L).subtreeSize()).isEqualTo(4);
+
+		change(index, 2, 3L, "20");
+		assertThat(index.node(3L).subtreeSize()).isEqualTo(3);
+		assertThat(index.node(3L).subtreeSalary()).isEqualByComparingTo("54");
+		assertThat(index.node(1L).subtreeSalary()).isEqualByComparingTo("154");
+		assertThat(index.reportingChain(4L)).extracting(OrgChartIndex.OrgNode::staffId).containsExactly(2L, 3L, 1L);
+		assertTotals(index);
+
+		change(index, 2, null, "25");
+		assertThat(index.node(1L).subtreeSize()).isEqualTo(2);
+		assertThat(index.node(2L).subtreeSalary()).isEqualByComparingTo("29");
+		assertTotals(index);
+	}
+
+	@Test
+	void reparentsUnderOwnDescendant() {
+		// A(1) 管理 B(2)，B 管理 C(3)；把 A 的上级改为 B 形成 A→B→A 的环
+		put(1, null, "100");
+		put(2, 1L, "20");
+		put(3, 2L, "3");
+		OrgChartIndex index = newIndex();
+
+		change(index, 1, 2L, "100");
+		assertTotals(index);
+		// 环上节点只汇总环外部分，不会重复计入
+		assertThat(index.node(1L).subtreeSize()).isEqualTo(1);
+		assertThat(index.node(2L).subtreeSize()).isEqualTo(2);
+		assertThat(index.node(2L).subtreeSalary()).isEqualByComparingTo("23");
+		assertThat(index.reportingChain(3L)).extracting(OrgChartIndex.OrgNode::staffId).containsExactly(2L, 1L);
+
+		// 调薪和拆环后恢复为正常的树
+		change(index, 3, 2L, "5");
+		assertTotals(index);
+		change(index, 2, null, "20");
+		assertTotals(index);
+		assertThat(index.node(2L).subtreeSize()).isEqualTo(3);
+		assertThat(index.node(2L).subtreeSalary()).isEqualByComparingTo("125");
+	}
+
+	@Test
+	void loadsCycleAboveTree() {
+		// 1→2→3→2，4 和 5 挂在环下
+		put(1, 2L, "1");
+		put(2, 3L, "2");
+		put(3, 2L, "3");
+		put(4, 1L, "4");
+		put(5, 3L, "5");
+		OrgChartIndex index = newIndex();
+		assertTotals(index);
+
+		// 把环外的 1 移到根下，再删除环上的 3
+		change(index, 1, null, "1");
+		assertTotals(index);
+		delete(index, 3);
+		assertTotals(index);
+		assertThat(index.node(2L).subtreeSize()).isEqualTo(1);
+	}
+
+	@Test
+	void deletesAndReaddsManager() {
+		put(1, null, "100");
+		put(2, 1L, "20");
+		put(3, 2L, "3");
+		put(4, 2L, "4");
+		OrgChartIndex index = newIndex();
+
+		// 删除后下属保留原上级ID成为根节点，上级链上减去整个子树
+		delete(index, 2);
+		assertTotals(index);
+		assertThat(index.node(1L).subtreeSize()).isEqualTo(1);
+		assertThat(index.reportingChain(3L)).isEmpty();
+		assertThat(index.contains(2L)).isFalse();
+
+		// 重新加入时原下属挂回
+		change(index, 2, 1L, "22");
+		assertTotals(index);
+		assertThat(index.node(1L).subtreeSize()).isEqualTo(4);
+		assertThat(index.node(1L).subtreeSalary()).isEqualByComparingTo("129");
+
+		// 以下属为上级重新加入，形成环
+		delete(index, 2);
+		change(index, 2, 3L, "22");
+		assertTotals(index);
+		assertThat(index.node(1L).subtreeSize()).isEqualTo(1);
+	}
+
+	@Test
+	void matchesBruteForceOverRandomChanges() {
+		Random random = new Random(515);
+		int size = 60;
+		for (long staffId = 1; staffId <= size; staffId++) {
+			Long managerId = staffId == 1 || random.nextInt(10) == 0 ? null : 1 + (long) random.nextInt((int) staffId - 1);
+			put(staffId, managerId, String.valueOf(1000 + random.nextInt(9000)));
+		}
+		OrgChartIndex index = newIndex();
+		assertTotals(index);
+
+		for (int step = 0; step < 2000; step++) {
+			long staffId = 1 + random.nextInt(size);
+			int action = random.nextInt(10);
+			if (action == 0) {
+				delete(index, staffId);
+			} else {
+				// 新上级可能是下属、本人、已删除的员工或不存在的ID
+				Entry current = staffs.get(staffId);
+				Long managerId = action < 4 || current == null
+						? random.nextInt(8) == 0 ? null : 1 + (long) random.nextInt(size + 5)
+						: current.managerId();
+				String salary = action < 7 || current == null
+						? String.valueOf(1000 + random.nextInt(9000))
+						: current.salary().toPlainString();
+				change(index, staffId, managerId, salary);
+			}
+			assertTotals(index);
+		}
+	}
+
+	// 按类注释的规则独立计算：每名员工沿上级链向上计入各级上级，到环上节点为止；环上节点自身不向上计入
+	private void assertTotals(OrgChartIndex index) {
+		Map<Long, Long> sizes = new HashMap<>();
+		Map<Long, BigDecimal> salaries = new HashMap<>();
+		for (Map.Entry<Long, Entry> staff : staffs.entrySet()) {
+			sizes.merge(staff.getKey(), 1L, Long::sum);
+			salaries.merge(staff.getKey(), staff.getValue().salary(), BigDecimal::add);
+			if (onCycle(staff.getKey())) {
+				continue;
+			}
+			Set<Long> visited = new HashSet<>();
+			for (Long managerId = staff.getValue().managerId(); staffs.containsKey(managerId) && visited.add(managerId);
+			     managerId = staffs.get(managerId).managerId()) {
+				sizes.merge(managerId, 1L, Long::sum);
+				salaries.merge(managerId, staff.getValue().salary(), BigDecimal::add);
+				if (onCycle(managerId)) {
+					break;
+				}
+			}
+		}
+		for (Long staffId : staffs.keySet()) {
+			OrgChartIndex.OrgNode node = index.node(staffId);
+			assertThat(node).as("staff %d", staffId).isNotNull();
+			assertThat(node.subtreeSize()).as("size of %d", staffId).isEqualTo(sizes.get(staffId));
+			assertThat(node.subtreeSalary()).as("salary of %d", staffId).isEqualByComparingTo(salaries.get(staffId));
+		}
+	}
+
+	private boolean onCycle(Long staffId) {
+		Set<Long> visited = new HashSet<>();
+		for (Long managerId = staffs.get(staffId).managerId(); staffs.containsKey(managerId) && visited.add(managerId);
+		     managerId = staffs.get(managerId).managerId()) {
+			if (managerId.equals(staffId)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private OrgChartIndex newIndex() {
+		List<Object[]> rows = new ArrayList<>();
+		staffs.forEach((staffId, entry) -> rows.add(new Object[]{staffId, entry.managerId(), entry.salary()}));
+		when(staffRepository.findAllReportingEntries()).thenReturn(rows);
+		OrgChartIndex index = new OrgChartIndex(staffRepository);
+		index.init();
+		return index;
+	}
+
+	private void put(long staffId, Long managerId, String salary) {
+		staffs.put(staffId, new Entry(managerId, new BigDecimal(salary)));
+	}
+
+	private void change(OrgChartIndex index, long staffId, Long managerId, String salary) {
+		put(staffId, managerId, salary);
+		Staff staff = new Staff();
+		staff.setStaffId(staffId);
+		staff.setManagerId(managerId);
+		staff.setSalary(new BigDecimal(salary));
+		index.onStaffChanged(new StaffChangedEvent(staffId, staff));
+	}
+
+	private void delete(OrgChartIndex index, long staffId) {
+		staffs.remove(staffId);
+		index.onStaffChanged(new StaffChangedEvent(staffId, null));
+	}
+
+	private record Entry(Long managerId, BigDecimal salary) {
+	}
+}
\ No newline at end of file
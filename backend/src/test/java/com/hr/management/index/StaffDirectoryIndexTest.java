@@ -0,0 +1,450 @@
+package com.hr.management.index;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.index.StaffDirectoryIndex.Field;
+import com.hr.management.index.StaffDirectoryIndex.GroupBy;
+import com.hr.management.index.StaffDirectoryIndex.Order;
+import com.hr.management.index.StaffDirectoryIndex.Query;
+import com.hr.management.index.StaffDirectoryIndex.Result;
+import com.hr.management.index.StaffDirectoryIndex.Stats;
+import com.hr.management.repository.StaffRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffDirectoryIndexTest {
+
+	private static final LocalDate BASE = LocalDate.of(2010, 1, 1);
+	private static final String[] EMPLOYMENTS = {"ST_CLERK", "SA_REP", "IT_PROG", "AD_VP", "FI_ACCOUNT"};
+	private static final Long[] SECTIONS = {50L, 10L, 30L, 20L, 40L};
+
+	private final StaffRepository staffRepository = mock(StaffRepository.class);
+	// 模拟 staffs 表的当前内容，同时作为暴力查询的输入
+	private final Map<Long, Row> staffs = new LinkedHashMap<>();
+	private final List<StaffDirectoryIndex> indexes = new ArrayList<>();
+
+	@AfterEach
+	void shutdown() {
+		indexes.forEach(StaffDirectoryIndex::shutdown);
+	}
+
+	@Test
+	void sortsNullsLastInBothDirections() {
+		put(1, 500000L, 10, "SA_REP", 30L, null);
+		put(2, null, 5, "AD_VP", 10L, null);
+		put(3, 700000L, null, "IT_PROG", null, null);
+		put(4, 500000L, 10, null, 30L, null);
+		put(5, null, null, "AD_VP", 20L, null);
+		StaffDirectoryIndex index = newIndex(Integer.MAX_VALUE);
+
+		// 值相同的行按员工ID升序
+		assertThat(ids(index, new Order(Field.SALARY, true))).containsExactly(3L, 1L, 4L, 2L, 5L);
+		assertThat(ids(index, new Order(Field.SALARY, false))).containsExactly(1L, 4L, 3L, 2L, 5L);
+		assertThat(ids(index, new Order(Field.HIRE_DATE, false))).containsExactly(2L, 1L, 4L, 3L, 5L);
+		assertThat(ids(index, new Order(Field.HIRE_DATE, true))).containsExactly(1L, 4L, 2L, 3L, 5L);
+		// 字典列按值排序，与编码（首次出现的顺序）无关
+		assertThat(ids(index, new Order(Field.EMPLOYMENT_ID, false))).containsExactly(2L, 5L, 3L, 1L, 4L);
+		assertThat(ids(index, new Order(Field.EMPLOYMENT_ID, true))).containsExactly(1L, 3L, 2L, 5L, 4L);
+		assertThat(ids(index, new Order(Field.SECTION_ID, false))).containsExactly(2L, 5L, 1L, 4L, 3L);
+		assertThat(ids(index, new Order(Field.SECTION_ID, true))).containsExactly(1L, 4L, 5L, 2L, 3L);
+		assertThat(ids(index, new Order(Field.SALARY, true), new Order(Field.HIRE_DATE, false)))
+				.containsExactly(3L, 1L, 4L, 2L, 5L);
+		assertThat(ids(index, new Order(Field.STAFF_ID, true))).containsExactly(5L, 4L, 3L, 2L, 1L);
+		assertThat(ids(index)).containsExactly(1L, 2L, 3L, 4L, 5L);
+	}
+
+	@Test
+	void groupsIncludeNullKeyLast() {
+		put(1, 500000L, 10, "SA_REP", 30L, null);
+		put(2, null, 5, "AD_VP", 10L, null);
+		put(3, 700000L, null, "IT_PROG", null, null);
+		put(4, 480000L, 10, null, 30L, null);
+		put(5, null, null, "AD_VP", 20L, null);
+		StaffDirectoryIndex index = newIndex(Integer.MAX_VALUE);
+
+		Result bySection = index.query(query(GroupBy.SECTION, 0));
+		assertThat(bySection.staffIds()).isEmpty();
+		assertStats(bySection.total(), new Stats(5, 3, 1680000, 480000, 700000));
+		assertThat(bySection.groups()).extracting(StaffDirectoryIndex.Group::sectionId)
+				.containsExactly(10L, 20L, 30L, null);
+		assertStats(bySection.groups().get(0).stats(), new Stats(1, 0, 0, 0, 0));
+		assertStats(bySection.groups().get(2).stats(), new Stats(2, 2, 980000, 480000, 500000));
+		assertStats(bySection.groups().get(3).stats(), new Stats(1, 1, 700000, 700000, 700000));
+
+		Result byEmployment = index.query(query(GroupBy.EMPLOYMENT, 0));
+		assertThat(byEmployment.groups()).extracting(StaffDirectoryIndex.Group::employmentId)
+				.containsExactly("AD_VP", "IT_PROG", "SA_REP", null);
+		assertThat(byEmployment.groups()).extracting(group -> group.stats().count()).containsExactly(2L, 1L, 1L, 1L);
+
+		// 没有员工的分组不列出
+		index.onStaffChanged(new StaffChangedEvent(3L, null));
+		assertThat(index.query(query(GroupBy.SECTION, 0)).groups()).extracting(StaffDirectoryIndex.Group::sectionId)
+				.containsExactly(10L, 20L, 30L);
+	}
+
+	@Test
+	void matchesBruteForceOverRandomQueries() {
+		Random random = new Random(25);
+		fill(random, 3000);
+		StaffDirectoryIndex index = newIndex(Integer.MAX_VALUE);
+		for (int i = 0; i < 500; i++) {
+			assertMatchesBruteForce(index, randomQuery(random, staffs.size()));
+		}
+	}
+
+	@Test
+	void parallelScanEqualsSerialScan() {
+		Random random = new Random(2501);
+		// 超过两段，最后一段不满
+		fill(random, 40_000);
+		StaffDirectoryIndex serial = newIndex(Integer.MAX_VALUE);
+		StaffDirectoryIndex parallel = newIndex(1);
+		for (int i = 0; i < 60; i++) {
+			Query query = randomQuery(random, staffs.size());
+			Result expected = serial.query(query);
+			Result actual = parallel.query(query);
+			assertThat(actual.staffIds()).isEqualTo(expected.staffIds());
+			assertThat(actual.total()).isEqualTo(expected.total());
+			assertThat(actual.groups()).isEqualTo(expected.groups());
+			assertMatchesBruteForce(parallel, query);
+		}
+	}
+
+	@Test
+	void emptyIndexWithParallelScan() {
+		StaffDirectoryIndex index = newIndex(0);
+		Result result = index.query(query(GroupBy.SECTION, 10, new Order(Field.SALARY, true)));
+		assertThat(result.staffIds()).isEmpty();
+		assertThat(result.total().count()).isZero();
+		assertThat(result.groups()).isEmpty();
+	}
+
+	@Test
+	void queriesAfterDeletesAndCompaction() {
+		Random random = new Random(77);
+		fill(random, 3000);
+		StaffDirectoryIndex index = newIndex(Integer.MAX_VALUE);
+
+		// 删除超过 1024 行且超过四分之一时压缩，之后继续删除、修改被前移的行并追加新行
+		List<Long> ids = new ArrayList<>(staffs.keySet());
+		for (int i = 0; i < 1300; i++) {
+			delete(index, ids.get(i * 2));
+		}
+		assertThat(index.size()).isEqualTo(staffs.size());
+		for (int i = 0; i < 100; i++) {
+			assertMatchesBruteForce(index, randomQuery(random, staffs.size()));
+		}
+		for (int i = 0; i < 200; i++) {
+			long staffId = ids.get(ids.size() - 1 - i * 3);
+			change(index, randomRow(random, staffId));
+		}
+		for (long staffId = 900_001; staffId <= 900_300; staffId++) {
+			change(index, randomRow(random, staffId));
+		}
+		// 删除后重新加入
+		change(index, randomRow(random, ids.get(0)));
+		assertThat(index.size()).isEqualTo(staffs.size());
+		for (int i = 0; i < 200; i++) {
+			assertMatchesBruteForce(index, randomQuery(random, staffs.size()));
+		}
+	}
+
+	@Test
+	void replaysChangesReceivedDuringBulkReload() {
+		Random random = new Random(9);
+		fill(random, 200);
+		StaffDirectoryIndex index = newIndex(Integer.MAX_VALUE);
+		List<Long> ids = new ArrayList<>(staffs.keySet());
+
+		// 批量导入新增员工；重新加载读出表内容之后、替换之前又有逐条修改、新增和删除提交
+		fill(random, 50);
+		Row changed = randomRow(random, ids.get(0));
+		Row added = randomRow(random, 800_000);
+		when(staffRepository.findAllDirectoryEntries()).thenAnswer(invocation -> {
+			List<Object[]> snapshot = entries();
+			change(index, changed);
+			change(index, added);
+			delete(index, ids.get(1));
+			return snapshot;
+		});
+		index.onStaffBulkChanged(new StaffBulkChangedEvent(50));
+
+		assertThat(index.size()).isEqualTo(staffs.size());
+		for (int i = 0; i < 100; i++) {
+			assertMatchesBruteForce(index, randomQuery(random, staffs.size()));
+		}
+		// 之后的修改不再记录，直接生效
+		delete(index, ids.get(2));
+		assertMatchesBruteForce(index, query(null, staffs.size()));
+	}
+
+	@Test
+	void keepsColumnsWhenBulkReloadFails() {
+		Random random = new Random(10);
+		fill(random, 100);
+		StaffDirectoryIndex index = newIndex(Integer.MAX_VALUE);
+
+		Row changed = randomRow(random, 700_000);
+		when(staffRepository.findAllDirectoryEntries()).thenAnswer(invocation -> {
+			change(index, changed);
+			throw new IllegalStateException("connection lost");
+		});
+		assertThatThrownBy(() -> index.onStaffBulkChanged(new StaffBulkChangedEvent(1)))
+				.isInstanceOf(IllegalStateException.class);
+
+		assertThat(index.size()).isEqualTo(staffs.size());
+		assertMatchesBruteForce(index, query(null, staffs.size()));
+		delete(index, 700_000L);
+		assertMatchesBruteForce(index, query(null, staffs.size()));
+	}
+
+	private void assertMatchesBruteForce(StaffDirectoryIndex index, Query query) {
+		List<Row> matched = staffs.values().stream().filter(row -> matches(row, query)).toList();
+		Result result = index.query(query);
+
+		List<Long> expectedIds = matched.stream()
+				.sorted(comparator(query.orders()))
+				.limit(query.window())
+				.map(Row::staffId)
+				.toList();
+		assertThat(Arrays.stream(result.staffIds()).boxed().toList()).as("%s", query).isEqualTo(expectedIds);
+		assertStats(result.total(), stats(matched));
+
+		if (query.groupBy() == null) {
+			assertThat(result.groups()).isEmpty();
+			return;
+		}
+		Function<Row, Object> key = query.groupBy() == GroupBy.SECTION ? Row::sectionId : Row::employmentId;
+		Map<Object, List<Row>> groups = new TreeMap<>(Comparator.nullsLast(
+				Comparator.comparing(StaffDirectoryIndexTest::comparable)));
+		for (Row row : matched) {
+			groups.computeIfAbsent(key.apply(row), k -> new ArrayList<>()).add(row);
+		}
+		assertThat(result.groups()).as("%s", query).hasSize(groups.size());
+		int i = 0;
+		for (Map.Entry<Object, List<Row>> group : groups.entrySet()) {
+			StaffDirectoryIndex.Group actual = result.groups().get(i++);
+			Object actualKey = query.groupBy() == GroupBy.SECTION ? actual.sectionId() : actual.employmentId();
+			assertThat(actualKey).isEqualTo(group.getKey());
+			assertStats(actual.stats(), stats(group.getValue()));
+		}
+	}
+
+	private static boolean matches(Row row, Query query) {
+		if (query.salaryMinCents() != null || query.salaryMaxCents() != null) {
+			if (row.salaryCents() == null
+					|| query.salaryMinCents() != null && row.salaryCents() < query.salaryMinCents()
+					|| query.salaryMaxCents() != null && row.salaryCents() > query.salaryMaxCents()) {
+				return false;
+			}
+		}
+		if (query.hiredFrom() != null || query.hiredTo() != null) {
+			LocalDate hired = row.hireDay() != null ? BASE.plusDays(row.hireDay()) : null;
+			if (hired == null
+					|| query.hiredFrom() != null && hired.isBefore(query.hiredFrom())
+					|| query.hiredTo() != null && hired.isAfter(query.hiredTo())) {
+				return false;
+			}
+		}
+		if (query.employmentIds() != null
+				&& (row.employmentId() == null || !query.employmentIds().contains(row.employmentId()))) {
+			return false;
+		}
+		if (query.sectionIds() != null && (row.sectionId() == null || !query.sectionIds().contains(row.sectionId()))) {
+			return false;
+		}
+		return query.managerIds() == null || row.managerId() != null && query.managerIds().contains(row.managerId());
+	}
+
+	private static Comparator<Row> comparator(List<Order> orders) {
+		Comparator<Row> comparator = (a, b) -> 0;
+		for (Order order : orders) {
+			Function<Row, Comparable<Object>> field = switch (order.field()) {
+				case STAFF_ID -> row -> comparable(row.staffId());
+				case SALARY -> row -> comparable(row.salaryCents());
+				case HIRE_DATE -> row -> comparable(row.hireDay());
+				case EMPLOYMENT_ID -> row -> comparable(row.employmentId());
+				case SECTION_ID -> row -> comparable(row.sectionId());
+				case MANAGER_ID -> row -> comparable(row.managerId());
+			};
+			Comparator<Comparable<Object>> values = order.descending()
+					? Comparator.reverseOrder()
+					: Comparator.naturalOrder();
+			comparator = comparator.thenComparing(field, Comparator.nullsLast(values));
+		}
+		return comparator.thenComparing(Row::staffId);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparable<Object> comparable(Object value) {
+		return (Comparable<Object>) value;
+	}
+
+	private static Stats stats(List<Row> rows) {
+		long salaryCount = 0;
+		long sum = 0;
+		long min = Long.MAX_VALUE;
+		long max = Long.MIN_VALUE;
+		for (Row row : rows) {
+			if (row.salaryCents() != null) {
+				salaryCount++;
+				sum += row.salaryCents();
+				min = Math.min(min, row.salaryCents());
+				max = Math.max(max, row.salaryCents());
+			}
+		}
+		return new Stats(rows.size(), salaryCount, sum, min, max);
+	}
+
+	// 没有薪资时最低和最高薪资无意义，不比较
+	private static void assertStats(Stats actual, Stats expected) {
+		assertThat(actual.count()).isEqualTo(expected.count());
+		assertThat(actual.salaryCount()).isEqualTo(expected.salaryCount());
+		assertThat(actual.salarySumCents()).isEqualTo(expected.salarySumCents());
+		if (expected.salaryCount() > 0) {
+			assertThat(actual.salaryMinCents()).isEqualTo(expected.salaryMinCents());
+			assertThat(actual.salaryMaxCents()).isEqualTo(expected.salaryMaxCents());
+		}
+	}
+
+	private static Query randomQuery(Random random, int rows) {
+		Long salaryMin = random.nextInt(4) == 0 ? 300000L + random.nextInt(20) * 1000L : null;
+		Long salaryMax = random.nextInt(4) == 0 ? 305000L + random.nextInt(20) * 1000L : null;
+		LocalDate hiredFrom = random.nextInt(4) == 0 ? BASE.plusDays(random.nextInt(200)) : null;
+		LocalDate hiredTo = random.nextInt(4) == 0 ? BASE.plusDays(random.nextInt(200)) : null;
+		// 集合中可能含有空值、不存在的值，或为空集合
+		List<String> employmentIds = random.nextInt(3) == 0 ? pick(random, EMPLOYMENTS, "NONE") : null;
+		List<Long> sectionIds = random.nextInt(3) == 0 ? pick(random, SECTIONS, 99L) : null;
+		List<Long> managerIds = random.nextInt(5) == 0 ? pick(random, new Long[]{100L, 101L, 102L, 103L}, 999L) : null;
+		List<Order> orders = new ArrayList<>();
+		for (int i = random.nextInt(4); i > 0; i--) {
+			orders.add(new Order(Field.values()[random.nextInt(Field.values().length)], random.nextBoolean()));
+		}
+		GroupBy groupBy = switch (random.nextInt(3)) {
+			case 0 -> GroupBy.SECTION;
+			case 1 -> GroupBy.EMPLOYMENT;
+			default -> null;
+		};
+		int[] windows = {0, 1, 7, 100, rows + 10};
+		return new Query(salaryMin, salaryMax, hiredFrom, hiredTo, employmentIds, sectionIds, managerIds, orders,
+				groupBy, windows[random.nextInt(windows.length)]);
+	}
+
+	private static <T> List<T> pick(Random random, T[] values, T unknown) {
+		List<T> picked = new ArrayList<>();
+		for (T value : values) {
+			if (random.nextInt(3) == 0) {
+				picked.add(value);
+			}
+		}
+		if (random.nextInt(4) == 0) {
+			picked.add(unknown);
+		}
+		if (random.nextInt(4) == 0) {
+			picked.add(null);
+		}
+		return picked;
+	}
+
+	private void fill(Random random, int count) {
+		Set<Long> existing = staffs.keySet();
+		for (int i = 0; i < count; i++) {
+			long staffId;
+			do {
+				staffId = 1 + random.nextInt(count * 20 + staffs.size() * 2);
+			} while (existing.contains(staffId));
+			Row row = randomRow(random, staffId);
+			staffs.put(staffId, row);
+		}
+	}
+
+	// 取值范围较小，薪资、日期和字典列都有大量相同值，空值约占十分之一
+	private static Row randomRow(Random random, long staffId) {
+		return new Row(staffId,
+				random.nextInt(10) == 0 ? null : 300000L + random.nextInt(30) * 1000L,
+				random.nextInt(10) == 0 ? null : random.nextInt(200),
+				random.nextInt(12) == 0 ? null : EMPLOYMENTS[random.nextInt(EMPLOYMENTS.length)],
+				random.nextInt(12) == 0 ? null : SECTIONS[random.nextInt(SECTIONS.length)],
+				random.nextInt(8) == 0 ? null : 100L + random.nextInt(6));
+	}
+
+	private StaffDirectoryIndex newIndex(int parallelThreshold) {
+		when(staffRepository.findAllDirectoryEntries()).thenAnswer(invocation -> entries());
+		StaffDirectoryIndex index = new StaffDirectoryIndex(staffRepository, 4, parallelThreshold);
+		indexes.add(index);
+		index.init();
+		return index;
+	}
+
+	private List<Object[]> entries() {
+		List<Object[]> entries = new ArrayList<>();
+		for (Row row : staffs.values()) {
+			entries.add(new Object[]{row.staffId(), salary(row), hireDate(row), row.employmentId(), row.sectionId(),
+					row.managerId()});
+		}
+		return entries;
+	}
+
+	private void put(long staffId, Long salaryCents, Integer hireDay, String employmentId, Long sectionId,
+	                 Long managerId) {
+		staffs.put(staffId, new Row(staffId, salaryCents, hireDay, employmentId, sectionId, managerId));
+	}
+
+	private void change(StaffDirectoryIndex index, Row row) {
+		staffs.put(row.staffId(), row);
+		Staff staff = new Staff();
+		staff.setStaffId(row.staffId());
+		staff.setSalary(salary(row));
+		staff.setHireDate(hireDate(row));
+		staff.setEmploymentId(row.employmentId());
+		staff.setSectionId(row.sectionId());
+		staff.setManagerId(row.managerId());
+		index.onStaffChanged(new StaffChangedEvent(row.staffId(), staff));
+	}
+
+	private void delete(StaffDirectoryIndex index, Long staffId) {
+		staffs.remove(staffId);
+		index.onStaffChanged(new StaffChangedEvent(staffId, null));
+	}
+
+	private static BigDecimal salary(Row row) {
+		return row.salaryCents() != null ? BigDecimal.valueOf(row.salaryCents(), 2) : null;
+	}
+
+	// 带时间部分，验证按日期截断
+	private static LocalDateTime hireDate(Row row) {
+		return row.hireDay() != null ? BASE.plusDays(row.hireDay()).atTime(8, 45) : null;
+	}
+
+	private static List<Long> ids(StaffDirectoryIndex index, Order... orders) {
+		return Arrays.stream(index.query(query(null, 100, orders)).staffIds()).boxed().toList();
+	}
+
+	private static Query query(GroupBy groupBy, int window, Order... orders) {
+		return new Query(null, null, null, null, null, null, null, List.of(orders), groupBy, window);
+	}
+
+	private record Row(long staffId, Long salaryCents, Integer hireDay, String employmentId, Long sectionId,
+	                   Long managerId) {
+	}
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.hr.management.index;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffIdBloomFilterTest {
+
+	private final StaffRepository staffRepository = mock(StaffRepository.class);
+	// 模拟数据库中的员工ID，重建时读取当前内容
+	private final List<Long> staffIds = new ArrayList<>();
+
+	@Test
+	void sizedByCapacityAndTargetRate() {
+		for (double rate : new double[]{0.01, 0.001, 0.1}) {
+			StaffIdBloomFilter filter = newFilter(1000, rate);
+			// m = -n·ln(p) / (ln 2)²，向上取整到 64 位的整数倍；k = m/n·ln 2
+			long bits = (long) Math.ceil(-1000 * Math.log(rate) / (Math.log(2) * Math.log(2)));
+			assertThat(filter.getCapacity()).isEqualTo(1000);
+			assertThat(filter.getBitSize() % 64).isZero();
+			assertThat(filter.getBitSize()).isBetween(bits, bits + 63);
+			assertThat(filter.getHashCount()).isEqualTo((int) Math.round(filter.getBitSize() / 1000.0 * Math.log(2)));
+		}
+		assertThat(newFilter(1000, 0.01).getHashCount()).isEqualTo(7);
+		assertThat(newFilter(1000, 0.001).getHashCount()).isEqualTo(10);
+
+		// 启动时按员工数的两倍预留容量
+		for (long staffId = 1; staffId <= 800; staffId++) {
+			staffIds.add(staffId);
+		}
+		assertThat(newFilter(1000, 0.01).getCapacity()).isEqualTo(1600);
+	}
+
+	@Test
+	void neverRejectsExistingIds() {
+		Random random = new Random(2020);
+		Set<Long> ids = new HashSet<>();
+		while (ids.size() < 20_000) {
+			ids.add(random.nextInt(4) == 0 ? random.nextLong() : 1 + random.nextInt(1_000_000));
+		}
+		staffIds.addAll(ids);
+		StaffIdBloomFilter filter = newFilter(1000, 0.01);
+
+		for (Long staffId : ids) {
+			assertThat(filter.mightContain(staffId)).as("staff %d", staffId).isTrue();
+		}
+		assertThat(filter.getRejectionCount()).isZero();
+		assertThat(filter.mightContain(null)).isFalse();
+	}
+
+	@Test
+	void falsePositiveRateWithinTargetAtCapacity() {
+		// 从空表开始逐个新增到恰好满容量，不触发重建
+		StaffIdBloomFilter filter = newFilter(10_000, 0.01);
+		long bitSize = filter.getBitSize();
+		for (long staffId = 1; staffId <= 10_000; staffId++) {
+			add(filter, staffId);
+		}
+		assertThat(filter.getBitSize()).isEqualTo(bitSize);
+		assertThat(filter.getInsertionCount()).isLessThanOrEqualTo(10_000);
+
+		int probes = 200_000;
+		int falsePositives = 0;
+		for (long staffId = 1_000_001; staffId <= 1_000_000 + probes; staffId++) {
+			if (filter.mightContain(staffId)) {
+				falsePositives++;
+			}
+		}
+		double measured = (double) falsePositives / probes;
+		// 理论值约 1%，样本标准差约 0.02 个百分点
+		assertThat(measured).isBetween(0.006, 0.013);
+		assertThat(filter.estimatedFalsePositiveRate()).isCloseTo(measured, within(0.003));
+		assertThat(filter.getRejectionCount()).isEqualTo(probes - falsePositives);
+	}
+
+	@Test
+	void rebuildsWhenInsertionsExceedCapacity() {
+		for (long staffId = 1; staffId <= 50; staffId++) {
+			staffIds.add(staffId);
+		}
+		StaffIdBloomFilter filter = newFilter(100, 0.01);
+		long bitSize = filter.getBitSize();
+		assertThat(filter.getCapacity()).isEqualTo(100);
+
+		for (long staffId = 51; staffId <= 100; staffId++) {
+			add(filter, staffId);
+		}
+		assertThat(filter.getCapacity()).isEqualTo(100);
+		assertThat(filter.getBitSize()).isEqualTo(bitSize);
+
+		// 新增 ID 的插入计数超过容量后按当前人数的两倍重新分配
+		for (long staffId = 101; filter.getCapacity() == 100; staffId++) {
+			assertThat(staffId).as("rebuild before reaching twice the capacity").isLessThan(200);
+			add(filter, staffId);
+		}
+		assertThat(filter.getCapacity()).isEqualTo(staffIds.size() * 2L);
+		assertThat(filter.getBitSize()).isGreaterThan(bitSize);
+		assertThat(filter.getInsertionCount()).isLessThanOrEqualTo(staffIds.size());
+		for (Long staffId : staffIds) {
+			assertThat(filter.mightContain(staffId)).as("staff %d", staffId).isTrue();
+		}
+	}
+
+	@Test
+	void acceptsNewIdAfterStaffChanged() {
+		for (long staffId = 1; staffId <= 10; staffId++) {
+			staffIds.add(staffId);
+		}
+		StaffIdBloomFilter filter = newFilter(100_000, 0.01);
+		assertThat(filter.mightContain(500L)).isFalse();
+
+		add(filter, 500L);
+		assertThat(filter.mightContain(500L)).isTrue();
+		assertThat(filter.getInsertionCount()).isEqualTo(11);
+
+		// 修改已有员工再次置位不计为新的插入
+		add(filter, 500L);
+		assertThat(filter.getInsertionCount()).isEqualTo(11);
+
+		// 删除不清除位，批量重建后才不再通过
+		staffIds.remove(500L);
+		filter.onStaffChanged(new StaffChangedEvent(500L, null));
+		assertThat(filter.mightContain(500L)).isTrue();
+		filter.onStaffBulkChanged(new StaffBulkChangedEvent(0));
+		assertThat(filter.mightContain(500L)).isFalse();
+		assertThat(filter.mightContain(10L)).isTrue();
+	}
+
+	private StaffIdBloomFilter newFilter(int minCapacity, double falsePositiveRate) {
+		when(staffRepository.findAllStaffIds()).thenAnswer(invocation -> new ArrayList<>(staffIds));
+		StaffIdBloomFilter filter = new StaffIdBloomFilter(staffRepository, minCapacity, falsePositiveRate);
+		filter.init();
+		return filter;
+	}
+
+	private void add(StaffIdBloomFilter filter, long staffId) {
+		if (!staffIds.contains(staffId)) {
+			staffIds.add(staffId);
+		}
+		Staff staff = new Staff();
+		staff.setStaffId(staffId);
+		filter.onStaffChanged(new StaffChangedEvent(staffId, staff));
+	}
+}
\ No newline at end of file
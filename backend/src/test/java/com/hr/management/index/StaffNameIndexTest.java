@@ -0,0 +1,132 @@
+package com.hr.management.index;
+
+import com.hr.management.dto.StaffNameSuggestionDTO;
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffNameIndexTest {
+
+	private StaffRepository staffRepository;
+	private StaffNameIndex index;
+
+	@BeforeEach
+	void setUp() {
+		staffRepository = mock(StaffRepository.class);
+		when(staffRepository.findAllNameEntries()).thenReturn(rows(
+				row(1, "Ann", "Lee", 10),
+				row(2, "Anna", "Smith", 10),
+				row(3, "Joanne", "Ray", 20),
+				row(4, "Bob", "Annan", 10),
+				row(5, "Ann", "Brown", 20),
+				row(6, "Al", "Xu", 10)));
+		index = new StaffNameIndex(staffRepository);
+		index.init();
+	}
+
+	@Test
+	void ranksExactThenPrefixThenInfix() {
+		// 同一档内姓名较短的在前，再按员工ID
+		assertThat(index.search("ann", null, 100)).containsExactly(1L, 5L, 4L, 2L, 3L);
+		assertThat(index.search("  ANN ", null, 100)).containsExactly(1L, 5L, 4L, 2L, 3L);
+	}
+
+	@Test
+	void filtersBySection() {
+		assertThat(index.search("ann", 10L, 100)).containsExactly(1L, 4L, 2L);
+		assertThat(index.search("ann", 20L, 100)).containsExactly(5L, 3L);
+		assertThat(index.search("ann", 30L, 100)).isEmpty();
+	}
+
+	@Test
+	void capsResultsAtLimit() {
+		assertThat(index.search("an", null, 2)).containsExactly(1L, 4L);
+		assertThat(index.search("ann", null, 3)).containsExactly(1L, 5L, 4L);
+		assertThat(index.search("a", null, 100)).hasSize(6);
+	}
+
+	@Test
+	void matchesNamesShorterThanOneGram() {
+		// 一两个字符的搜索词不走三元组倒排表，短姓名同样能被找到
+		assertThat(index.search("xu", null, 100)).containsExactly(6L);
+		assertThat(index.search("al", null, 100)).containsExactly(6L);
+		assertThat(index.search("x", null, 100)).containsExactly(6L);
+		assertThat(index.search("alx", null, 100)).isEmpty();
+	}
+
+	@Test
+	void reindexesOnRename() {
+		index.onStaffChanged(new StaffChangedEvent(3L, staff(3, "Carol", "Ray", 20)));
+		assertThat(index.search("ann", null, 100)).containsExactly(1L, 5L, 4L, 2L);
+		assertThat(index.search("car", null, 100)).containsExactly(3L);
+		assertThat(index.suggest("jo", null, 10)).isEmpty();
+		assertThat(index.suggest("car", null, 10)).extracting(StaffNameSuggestionDTO::getStaffId).containsExactly(3L);
+
+		// 改名后仍含有原三元组的条目保留在倒排表中，排名随新姓名变化：由前缀匹配变为完全匹配
+		index.onStaffChanged(new StaffChangedEvent(2L, staff(2, "Ann", "Smith", 10)));
+		assertThat(index.search("ann", null, 100)).containsExactly(1L, 2L, 5L, 4L);
+		assertThat(index.findFullName(2L)).isEqualTo("Ann Smith");
+	}
+
+	@Test
+	void movesBetweenSectionsAndDeletes() {
+		index.onStaffChanged(new StaffChangedEvent(1L, staff(1, "Ann", "Lee", 20)));
+		assertThat(index.search("ann", 20L, 100)).containsExactly(1L, 5L, 3L);
+
+		index.onStaffChanged(new StaffChangedEvent(5L, null));
+		assertThat(index.search("ann", null, 100)).containsExactly(1L, 4L, 2L, 3L);
+		assertThat(index.suggest("ann b", null, 10)).isEmpty();
+		assertThat(index.findFullName(5L)).isNull();
+		assertThat(index.size()).isEqualTo(5);
+	}
+
+	@Test
+	void bulkReloadReplacesEntries() {
+		when(staffRepository.findAllNameEntries()).thenReturn(rows(
+				row(1, "Ann", "Lee", 10),
+				row(7, "Hannah", "Moss", 30)));
+		index.onStaffBulkChanged(new StaffBulkChangedEvent(2));
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.search("ann", null, 100)).containsExactly(1L, 7L);
+		assertThat(index.search("xu", null, 100)).isEmpty();
+	}
+
+	@Test
+	void suggestsByPrefixOfFirstLastOrFullName() {
+		assertThat(index.suggest("ann", null, 10)).extracting(StaffNameSuggestionDTO::getStaffId)
+				.containsExactlyInAnyOrder(1L, 2L, 4L, 5L);
+		assertThat(index.suggest("ann l", null, 10)).extracting(StaffNameSuggestionDTO::getStaffId)
+				.containsExactly(1L);
+		assertThat(index.suggest("ann", 20L, 10)).extracting(StaffNameSuggestionDTO::getStaffId)
+				.containsExactly(5L);
+		assertThat(index.suggest("ann", null, 2)).hasSize(2);
+	}
+
+	private static Object[] row(long staffId, String firstName, String lastName, long sectionId) {
+		return new Object[]{staffId, firstName, lastName, sectionId};
+	}
+
+	private static List<Object[]> rows(Object[]... rows) {
+		return new ArrayList<>(List.of(rows));
+	}
+
+	private static Staff staff(long staffId, String firstName, String lastName, long sectionId) {
+		Staff staff = new Staff();
+		staff.setStaffId(staffId);
+		staff.setFirstName(firstName);
+		staff.setLastName(lastName);
+		staff.setSectionId(sectionId);
+		return staff;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.hr.management.repository;
+
+import com.hr.management.dto.StaffDTO;
+import com.hr.management.dto.StaffPageDTO;
+import com.hr.management.service.StaffService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 按薪资排序的键集分页测试。
+ *
+ * <p>在固定数据集上补充薪资为空和薪资相同的员工，以各种页大小逐页读取，
+ * 拼接结果必须与按 salary DESC NULLS LAST, staff_id 排序的完整列表一致，不重不漏。
+ * 期望顺序在 Java 中排序得到，不依赖被测查询的 ORDER BY。</p>
+ *
+ * <p>与 {@link com.hr.management.controller.EndpointQueryCountTests} 的上下文不同，
+ * 使用单独的内存库，避免两个上下文对同一个库重复执行建表脚本。</p>
+ */
+@SpringBootTest(properties = "spring.datasource.url="
+		+ "jdbc:h2:mem:hr_keyset_paging;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@ActiveProfiles("querycount")
+@Transactional
+class StaffKeysetPagingTests {
+
+	private static final Comparator<Row> SALARY_ORDER = Comparator
+			.comparing(Row::salary, Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder()))
+			.thenComparing(Row::staffId);
+
+	@Autowired
+	private StaffRepository staffRepository;
+
+	@Autowired
+	private StaffService staffService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void addNullAndDuplicateSalaries() {
+		// 数据集中 110 和 129 的薪资同为 31800.00，102 为 9700.00
+		insertStaff(131, null, 20);
+		insertStaff(132, "9700.00", 20);
+		insertStaff(133, null, 20);
+		insertStaff(134, "9700.00", 20);
+		insertStaff(135, null, 20);
+		insertStaff(136, null, 10);
+		insertStaff(137, "31800.00", 10);
+	}
+
+	@Test
+	void repositoryPagesMatchFullListing() {
+		List<Long> expected = expectedOrder(null);
+		assertThat(expected).hasSize(37);
+		for (int pageSize = 1; pageSize <= 8; pageSize++) {
+			assertThat(walkRepository(null, pageSize)).as("page size %d", pageSize).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void repositorySectionPagesMatchFullListing() {
+		List<Long> expected = expectedOrder(20L);
+		for (int pageSize = 1; pageSize <= 5; pageSize++) {
+			assertThat(walkRepository(20L, pageSize)).as("page size %d", pageSize).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void servicePagesMatchFullListing() {
+		// 经过游标编码和解码，页尾停在薪资为空的员工上时游标仍可用
+		for (Long sectionId : new Long[]{null, 10L, 20L}) {
+			List<Long> expected = expectedOrder(sectionId);
+			for (int pageSize = 1; pageSize <= 5; pageSize++) {
+				assertThat(walkService(sectionId, pageSize))
+						.as("section %s, page size %d", sectionId, pageSize)
+						.isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void fullListingUsesSameOrder() {
+		List<Long> listed = staffRepository.findAllStaffDTOsOrderBySalary().stream().map(StaffDTO::getStaffId).toList();
+		assertThat(listed).isEqualTo(expectedOrder(null));
+	}
+
+	// 与 StaffServiceImpl 相同的分支：上一页最后一行薪资为空时只在薪资为空的员工中继续
+	private List<Long> walkRepository(Long sectionId, int pageSize) {
+		List<Long> ids = new ArrayList<>();
+		Limit limit = Limit.of(pageSize);
+		StaffDTO last = null;
+		while (true) {
+			List<StaffDTO> page;
+			if (last == null) {
+				page = sectionId == null
+						? staffRepository.findAllStaffDTOsOrderBySalary(limit)
+						: staffRepository.findSectionStaffDTOsOrderBySalary(sectionId, limit);
+			} else if (last.getSalary() == null) {
+				page = sectionId == null
+						? staffRepository.findStaffDTOPageAfterNullSalary(last.getStaffId(), limit)
+						: staffRepository.findSectionStaffDTOPageAfterNullSalary(sectionId, last.getStaffId(), limit);
+			} else {
+				page = sectionId == null
+						? staffRepository.findStaffDTOPageAfterSalary(last.getSalary(), last.getStaffId(), limit)
+						: staffRepository.findSectionStaffDTOPageAfterSalary(sectionId, last.getSalary(),
+								last.getStaffId(), limit);
+			}
+			if (page.isEmpty()) {
+				return ids;
+			}
+			page.forEach(staff -> ids.add(staff.getStaffId()));
+			last = page.get(page.size() - 1);
+		}
+	}
+
+	private List<Long> walkService(Long sectionId, int pageSize) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			StaffPageDTO page = sectionId == null
+					? staffService.getStaffPage(true, cursor, pageSize)
+					: staffService.getStaffPageBySection(sectionId, true, cursor, pageSize);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(pageSize);
+			page.getItems().forEach(staff -> ids.add(staff.getStaffId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return ids;
+	}
+
+	private List<Long> expectedOrder(Long sectionId) {
+		List<Row> rows = jdbcTemplate.query("SELECT staff_id, salary, section_id FROM staffs",
+				(rs, rowNum) -> new Row(rs.getLong(1), rs.getBigDecimal(2), rs.getLong(3)));
+		return rows.stream()
+				.filter(row -> sectionId == null || row.sectionId() == sectionId)
+				.sorted(SALARY_ORDER)
+				.map(Row::staffId)
+				.toList();
+	}
+
+	private void insertStaff(long staffId, String salary, long sectionId) {
+		jdbcTemplate.update("INSERT INTO staffs (staff_id, first_name, last_name, email, employment_id, salary, "
+						+ "manager_id, section_id, password) VALUES (?, 'Test', 'Staff', ?, 'IT_PROG', ?, 101, ?, 'password')",
+				staffId, "TEST" + staffId, salary != null ? new BigDecimal(salary) : null, sectionId);
+	}
+
+	private record Row(long staffId, BigDecimal salary, long sectionId) {
+	}
+}
\ No newline at end of file
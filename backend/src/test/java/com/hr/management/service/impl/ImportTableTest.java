@@ -0,0 +1,148 @@
+package com.hr.management.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 导入列格式和暂存表校验规则的测试。
+ *
+ * <p>规则语句在 PostgreSQL 兼容模式的 H2 内存库上执行，与 {@link StaffImportServiceImpl} 一样
+ * 逐条执行规则，可重复的规则执行到没有新的拒绝为止。COPY 和 ANALYZE 是 PostgreSQL 专有的，
+ * 改为普通 INSERT 写入暂存表并跳过统计信息收集。内存库在连接关闭时删除。</p>
+ */
+class ImportTableTest {
+
+	private static final String URL = "jdbc:h2:mem:hr_import_rules;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+	@Test
+	void decimalRejectsExtraScale() {
+		ImportTable.Column salary = column(ImportTable.STAFFS, "salary");
+		assertThat(salary.toCopyValue("5000.10")).isEqualTo("5000.10");
+		assertThat(salary.toCopyValue("5000.100")).isEqualTo("5000.100");
+		assertThat(salary.toCopyValue("999999.99")).isEqualTo("999999.99");
+		assertThat(salary.toCopyValue(" 7000 ")).isEqualTo("7000");
+		assertThat(salary.toCopyValue("")).isNull();
+		assertThatThrownBy(() -> salary.toCopyValue("5000.125")).hasMessage("INVALID_SALARY");
+		assertThatThrownBy(() -> salary.toCopyValue("1000000")).hasMessage("INVALID_SALARY");
+		assertThatThrownBy(() -> salary.toCopyValue("12,5")).hasMessage("INVALID_SALARY");
+
+		ImportTable.Column commission = column(ImportTable.STAFFS, "commission_pct");
+		assertThat(commission.toCopyValue("0.25")).isEqualTo("0.25");
+		assertThat(commission.toCopyValue("-0.1")).isEqualTo("-0.1");
+		assertThatThrownBy(() -> commission.toCopyValue("0.255")).hasMessage("INVALID_COMMISSION_PCT");
+		assertThatThrownBy(() -> commission.toCopyValue("1.5")).hasMessage("INVALID_COMMISSION_PCT");
+	}
+
+	@Test
+	void rejectsByStagingRules() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE sections (section_id BIGINT PRIMARY KEY)");
+				statement.execute("CREATE TABLE employments (employment_id VARCHAR(10) PRIMARY KEY)");
+				statement.execute("CREATE TABLE staffs (staff_id BIGINT PRIMARY KEY, first_name VARCHAR(20), " +
+						"last_name VARCHAR(25), email VARCHAR(25), phone_number VARCHAR(20), hire_date TIMESTAMP, " +
+						"employment_id VARCHAR(10), salary NUMERIC(8, 2), commission_pct NUMERIC(2, 2), " +
+						"manager_id BIGINT, section_id BIGINT, password VARCHAR(64))");
+				statement.execute("INSERT INTO sections VALUES (10)");
+				statement.execute("INSERT INTO employments VALUES ('IT_PROG')");
+				statement.execute("INSERT INTO staffs (staff_id, section_id) VALUES (100, 10)");
+				// H2 把 TEXT 映射为不可比较的 CLOB，文本列改用 VARCHAR；H2 的 DDL 会提交事务，不能随提交删除暂存表
+				statement.execute(ImportTable.STAFFS.createStageSql()
+						.replace(" TEXT", " VARCHAR").replace(" ON COMMIT DROP", ""));
+			}
+
+			Map<Long, String> expected = new LinkedHashMap<>();
+			stage(connection, expected, 1, 201, 100L, 10L, "IT_PROG", null);
+			stage(connection, expected, 2, 201, 100L, 10L, "IT_PROG", "DUPLICATE_IN_FILE");
+			stage(connection, expected, 3, 100, null, 10L, "IT_PROG", "STAFF_EXISTS");
+			stage(connection, expected, 4, 202, 999L, 10L, "IT_PROG", "UNKNOWN_MANAGER");
+			// 经理被拒绝后逐层拒绝下属
+			stage(connection, expected, 5, 203, 202L, 10L, "IT_PROG", "UNKNOWN_MANAGER");
+			stage(connection, expected, 6, 204, 203L, 10L, "IT_PROG", "UNKNOWN_MANAGER");
+			// 经理在同一文件中，行号在下属之后
+			stage(connection, expected, 7, 205, 213L, 10L, "IT_PROG", null);
+			stage(connection, expected, 8, 213, 201L, null, null, null);
+			// 互为上级、挂在环下和以自己为上级
+			stage(connection, expected, 9, 206, 207L, 10L, "IT_PROG", "MANAGER_CYCLE");
+			stage(connection, expected, 10, 207, 206L, 10L, "IT_PROG", "MANAGER_CYCLE");
+			stage(connection, expected, 11, 208, 206L, 10L, "IT_PROG", "MANAGER_CYCLE");
+			stage(connection, expected, 12, 209, 209L, 10L, "IT_PROG", "MANAGER_CYCLE");
+			stage(connection, expected, 13, 210, null, 99L, "IT_PROG", "UNKNOWN_SECTION");
+			// 经理因其他原因被拒绝
+			stage(connection, expected, 14, 211, 210L, 10L, "IT_PROG", "UNKNOWN_MANAGER");
+			stage(connection, expected, 15, 212, null, 10L, "NOPE", "UNKNOWN_EMPLOYMENT");
+
+			int rejected = 0;
+			try (Statement statement = connection.createStatement()) {
+				for (ImportTable.Rule rule : ImportTable.STAFFS.rules()) {
+					String sql = ImportTable.STAFFS.rejectSql(rule);
+					int count;
+					do {
+						count = statement.executeUpdate(sql);
+						rejected += count;
+					} while (rule.repeated() && count > 0);
+				}
+			}
+			assertThat(rejectReasons(connection)).isEqualTo(expected);
+			assertThat((long) rejected).isEqualTo(expected.values().stream().filter(reason -> reason != null).count());
+
+			try (PreparedStatement statement = connection.prepareStatement(ImportTable.STAFFS.rejectedSampleSql())) {
+				statement.setInt(1, 3);
+				List<Long> lines = new ArrayList<>();
+				try (ResultSet rs = statement.executeQuery()) {
+					while (rs.next()) {
+						lines.add(rs.getLong(1));
+					}
+				}
+				assertThat(lines).containsExactly(2L, 3L, 4L);
+			}
+
+			try (Statement statement = connection.createStatement()) {
+				assertThat(statement.executeUpdate(ImportTable.STAFFS.insertSql())).isEqualTo(3);
+			}
+		}
+	}
+
+	private static void stage(Connection connection, Map<Long, String> expected, long lineNo, long staffId,
+	                          Long managerId, Long sectionId, String employmentId, String reason) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO import_staffs " +
+				"(line_no, staff_id, first_name, last_name, employment_id, manager_id, section_id) " +
+				"VALUES (?, ?, 'Test', 'Staff', ?, ?, ?)")) {
+			statement.setLong(1, lineNo);
+			statement.setLong(2, staffId);
+			statement.setString(3, employmentId);
+			statement.setObject(4, managerId);
+			statement.setObject(5, sectionId);
+			statement.executeUpdate();
+		}
+		expected.put(lineNo, reason);
+	}
+
+	private static Map<Long, String> rejectReasons(Connection connection) throws SQLException {
+		Map<Long, String> reasons = new LinkedHashMap<>();
+		try (Statement statement = connection.createStatement();
+		     ResultSet rs = statement.executeQuery("SELECT line_no, reject_reason FROM import_staffs ORDER BY line_no")) {
+			while (rs.next()) {
+				reasons.put(rs.getLong(1), rs.getString(2));
+			}
+		}
+		return reasons;
+	}
+
+	private static ImportTable.Column column(ImportTable table, String name) {
+		return table.columns().stream().filter(column -> column.name().equals(name)).findFirst().orElseThrow();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.hr.management.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuantileSketchTest {
+
+	private static final double ALPHA = 0.01;
+	private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1};
+
+	@Test
+	void quantilesWithinRelativeAccuracy() {
+		Random random = new Random(42);
+		for (int n : new int[]{1, 2, 10, 1000, 50_000}) {
+			double[] values = new double[n];
+			QuantileSketch sketch = new QuantileSketch(ALPHA);
+			for (int i = 0; i < n; i++) {
+				// 对数正态分布，覆盖几百到几十万的薪资
+				values[i] = Math.round(Math.exp(9 + 1.2 * random.nextGaussian()) * 100) / 100.0;
+				sketch.add(values[i]);
+			}
+			assertWithinAccuracy(sketch, values);
+		}
+	}
+
+	@Test
+	void heavyDuplicatesAndZeros() {
+		double[] values = new double[2000];
+		QuantileSketch sketch = new QuantileSketch(ALPHA);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i % 4 == 0 ? 0 : i % 4 == 1 ? 5000 : i % 4 == 2 ? 5000.01 : 120000;
+			sketch.add(values[i]);
+		}
+		assertWithinAccuracy(sketch, values);
+	}
+
+	@Test
+	void mergeEqualsSingleSketch() {
+		Random random = new Random(7);
+		QuantileSketch all = new QuantileSketch(ALPHA);
+		QuantileSketch merged = new QuantileSketch(ALPHA);
+		double[] values = new double[3000];
+		for (int part = 0; part < 3; part++) {
+			QuantileSketch sketch = new QuantileSketch(ALPHA);
+			for (int i = 0; i < 1000; i++) {
+				double value = 2000 + random.nextInt(40_000) + part * 10_000;
+				values[part * 1000 + i] = value;
+				sketch.add(value);
+				all.add(value);
+			}
+			merged.merge(sketch);
+		}
+		// 空草图合并不改变结果
+		merged.merge(new QuantileSketch(ALPHA));
+
+		assertThat(merged.getCount()).isEqualTo(all.getCount());
+		assertThat(merged.getMin()).isEqualTo(all.getMin());
+		assertThat(merged.getMax()).isEqualTo(all.getMax());
+		for (double q : QUANTILES) {
+			assertThat(merged.quantile(q)).as("q=%s", q).isEqualTo(all.quantile(q));
+		}
+		assertWithinAccuracy(merged, values);
+	}
+
+	@Test
+	void emptySketch() {
+		QuantileSketch sketch = new QuantileSketch(ALPHA);
+		assertThat(sketch.getCount()).isZero();
+		assertThat(sketch.getMin()).isNull();
+		assertThat(sketch.getMax()).isNull();
+		assertThat(sketch.quantile(0.5)).isNull();
+	}
+
+	@Test
+	void rejectsInvalidArguments() {
+		assertThatThrownBy(() -> new QuantileSketch(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new QuantileSketch(1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new QuantileSketch(ALPHA).quantile(1.5)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new QuantileSketch(ALPHA).merge(new QuantileSketch(0.02)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void histogramBucketCountMatchesSpan() {
+		SalaryHistogram histogram = new SalaryHistogram(1000);
+		histogram.add(2500);
+		histogram.add(9999.99);
+		histogram.add(4000);
+		assertThat(histogram.span()).isEqualTo(8);
+		assertThat(SalaryHistogram.bucketCount(1000, 2500, 9999.99)).isEqualTo(histogram.span());
+		assertThat(SalaryHistogram.bucketCount(1000, 3000, 3000)).isEqualTo(1);
+		assertThat(SalaryHistogram.bucketCount(0.01, 3900, 35300)).isGreaterThan(1000);
+	}
+
+	// 估计值与排序后第 floor(q·(n-1)) 个样本的相对误差不超过 α
+	private static void assertWithinAccuracy(QuantileSketch sketch, double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		assertThat(sketch.getCount()).isEqualTo(sorted.length);
+		assertThat(sketch.getMin()).isEqualTo(sorted[0]);
+		assertThat(sketch.getMax()).isEqualTo(sorted[sorted.length - 1]);
+		for (double q : QUANTILES) {
+			double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+			double estimate = sketch.quantile(q);
+			// 桶边界上的浮点舍入允许极小的超出
+			assertThat(Math.abs(estimate - exact))
+					.as("n=%d q=%s exact=%s estimate=%s", sorted.length, q, exact, estimate)
+					.isLessThanOrEqualTo(ALPHA * exact * (1 + 1e-9));
+		}
+	}
+}
\ No newline at end of file
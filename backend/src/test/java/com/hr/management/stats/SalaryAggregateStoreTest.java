@@ -0,0 +1,142 @@
+package com.hr.management.stats;
+
+import com.hr.management.entity.Staff;
+import com.hr.management.event.StaffBulkChangedEvent;
+import com.hr.management.event.StaffChangedEvent;
+import com.hr.management.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SalaryAggregateStoreTest {
+
+	private StaffRepository staffRepository;
+	private SalaryAggregateStore store;
+
+	@BeforeEach
+	void setUp() {
+		staffRepository = mock(StaffRepository.class);
+		when(staffRepository.findAllSalaryEntries()).thenReturn(rows(
+				row(1, 10L, "5000.00"),
+				row(2, 10L, "7000.00"),
+				row(3, 10L, "7000.00"),
+				row(4, 20L, "3000.00"),
+				row(5, 30L, null),
+				row(6, null, "9000.00")));
+		store = new SalaryAggregateStore(staffRepository);
+		store.init();
+	}
+
+	@Test
+	void aggregatesPerSection() {
+		assertAggregate(store.get(10L), 3, "19000.00", "5000.00", "7000.00");
+		assertAggregate(store.get(20L), 1, "3000.00", "3000.00", "3000.00");
+		assertThat(store.get(40L)).isNull();
+		assertThat(store.get(null)).isNull();
+	}
+
+	@Test
+	void listsSectionsWithoutSalaries() {
+		// 与 GROUP BY 查询一致：有员工但薪资全部为空的部门列出空统计值，不属于部门的员工不列出
+		SalaryAggregateStore.SalaryAggregate empty = store.get(30L);
+		assertThat(empty).isNotNull();
+		assertThat(empty.count()).isZero();
+		assertThat(empty.min()).isNull();
+		assertThat(empty.max()).isNull();
+		assertThat(empty.average()).isNull();
+		assertThat(store.getAll()).extracting(SalaryAggregateStore.SalaryAggregate::sectionId)
+				.containsExactly(10L, 20L, 30L);
+	}
+
+	@Test
+	void keepsMinAndMaxWhenDuplicateSalaryLeaves() {
+		// 两人同为 7000，移走一人后最大值仍是 7000
+		store.onStaffChanged(new StaffChangedEvent(3L, staff(3, 20L, "7000.00")));
+		assertAggregate(store.get(10L), 2, "12000.00", "5000.00", "7000.00");
+		assertAggregate(store.get(20L), 2, "10000.00", "3000.00", "7000.00");
+
+		store.onStaffChanged(new StaffChangedEvent(2L, staff(2, 20L, "7000.00")));
+		assertAggregate(store.get(10L), 1, "5000.00", "5000.00", "5000.00");
+		assertAggregate(store.get(20L), 3, "17000.00", "3000.00", "7000.00");
+	}
+
+	@Test
+	void updatesMinAndMaxOnSalaryChange() {
+		store.onStaffChanged(new StaffChangedEvent(1L, staff(1, 10L, "8000.00")));
+		assertAggregate(store.get(10L), 3, "22000.00", "7000.00", "8000.00");
+
+		// 数值相同但精度不同视为未变化
+		store.onStaffChanged(new StaffChangedEvent(1L, staff(1, 10L, "8000")));
+		assertAggregate(store.get(10L), 3, "22000.00", "7000.00", "8000.00");
+
+		store.onStaffChanged(new StaffChangedEvent(4L, staff(4, 20L, "2500.00")));
+		assertAggregate(store.get(20L), 1, "2500.00", "2500.00", "2500.00");
+	}
+
+	@Test
+	void salaryClearedAndRestored() {
+		store.onStaffChanged(new StaffChangedEvent(4L, staff(4, 20L, null)));
+		assertThat(store.get(20L).count()).isZero();
+		assertThat(store.get(20L).max()).isNull();
+
+		store.onStaffChanged(new StaffChangedEvent(5L, staff(5, 30L, "4100.00")));
+		assertAggregate(store.get(30L), 1, "4100.00", "4100.00", "4100.00");
+	}
+
+	@Test
+	void removesSectionWhenLastMemberLeaves() {
+		store.onStaffChanged(new StaffChangedEvent(4L, null));
+		assertThat(store.get(20L)).isNull();
+
+		store.onStaffChanged(new StaffChangedEvent(5L, staff(5, 10L, null)));
+		assertThat(store.get(30L)).isNull();
+		assertAggregate(store.get(10L), 3, "19000.00", "5000.00", "7000.00");
+		assertThat(store.getAll()).extracting(SalaryAggregateStore.SalaryAggregate::sectionId).containsExactly(10L);
+	}
+
+	@Test
+	void bulkReloadAppliesDifferences() {
+		when(staffRepository.findAllSalaryEntries()).thenReturn(rows(
+				row(1, 10L, "5000.00"),
+				row(3, 20L, "7000.00"),
+				row(7, 30L, "6000.00")));
+		store.onStaffBulkChanged(new StaffBulkChangedEvent(1));
+
+		assertAggregate(store.get(10L), 1, "5000.00", "5000.00", "5000.00");
+		assertAggregate(store.get(20L), 1, "7000.00", "7000.00", "7000.00");
+		assertAggregate(store.get(30L), 1, "6000.00", "6000.00", "6000.00");
+	}
+
+	private static void assertAggregate(SalaryAggregateStore.SalaryAggregate aggregate, long count,
+	                                    String sum, String min, String max) {
+		assertThat(aggregate).isNotNull();
+		assertThat(aggregate.count()).isEqualTo(count);
+		assertThat(aggregate.sum()).isEqualByComparingTo(sum);
+		assertThat(aggregate.min()).isEqualByComparingTo(min);
+		assertThat(aggregate.max()).isEqualByComparingTo(max);
+		assertThat(aggregate.average()).isEqualTo(new BigDecimal(sum).doubleValue() / count);
+	}
+
+	private static Object[] row(long staffId, Long sectionId, String salary) {
+		return new Object[]{staffId, sectionId, salary != null ? new BigDecimal(salary) : null};
+	}
+
+	private static List<Object[]> rows(Object[]... rows) {
+		return new ArrayList<>(List.of(rows));
+	}
+
+	private static Staff staff(long staffId, Long sectionId, String salary) {
+		Staff staff = new Staff();
+		staff.setStaffId(staffId);
+		staff.setSectionId(sectionId);
+		staff.setSalary(salary != null ? new BigDecimal(salary) : null);
+		return staff;
+	}
+}
\ No newline at end of file
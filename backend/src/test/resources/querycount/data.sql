@@ -0,0 +1,55 @@
+-- 固定数据集：3 个部门、30 名员工，员工分布在全部部门、职位和经理之下，
+-- 逐行查找关联数据的实现会使语句数随行数增长而超出断言上限
+INSERT INTO areas VALUES (1, 'Europe'), (2, 'Americas'), (3, 'Asia');
+INSERT INTO states VALUES ('US', 'United States of America', 2), ('UK', 'United Kingdom', 1), ('CN', 'China', 3);
+INSERT INTO places VALUES
+    (1700, '2004 Charade Rd', '98199', 'Seattle', 'Washington', 'US'),
+    (2400, '8204 Arthur St', NULL, 'London', NULL, 'UK'),
+    (2500, '1 Century Ave', '200120', 'Shanghai', 'Shanghai', 'CN');
+INSERT INTO employments VALUES
+    ('AD_PRES', 'President', 2000.00, 40000.00),
+    ('IT_PROG', 'Programmer', 2000.00, 40000.00),
+    ('FI_ACCOUNT', 'Accountant', 2000.00, 40000.00),
+    ('SA_REP', 'Sales Representative', 2000.00, 40000.00),
+    ('ST_CLERK', 'Stock Clerk', 2000.00, 40000.00),
+    ('PU_CLERK', 'Purchasing Clerk', 2000.00, 40000.00);
+INSERT INTO sections VALUES (10, 'Administration', 101, 1700), (20, 'Sales', 102, 2400), (30, 'Shipping', 103, 2500);
+INSERT INTO college VALUES (1, 'Computer Science'), (2, 'Management');
+INSERT INTO staffs VALUES
+    (101, 'Steven', 'Hunold', 'SHUNOLD1', '515.123.1001', TIMESTAMP '2006-02-15 00:00:00', 'AD_PRES', 18500.00, NULL, NULL, 10, 'password'),
+    (102, 'Neena', 'Pataballa', 'NPATABALLA2', '515.123.1002', TIMESTAMP '2007-03-15 00:00:00', 'FI_ACCOUNT', 9700.00, NULL, 101, 20, 'password'),
+    (103, 'Lex', 'Faviet', 'LFAVIET3', '515.123.1003', TIMESTAMP '2008-04-15 00:00:00', 'SA_REP', 22200.00, NULL, 101, 30, 'password'),
+    (104, 'Alexander', 'De Haan', 'ADEHAAN4', '515.123.1004', TIMESTAMP '2009-05-15 00:00:00', 'ST_CLERK', 35300.00, NULL, 101, 10, 'password'),
+    (105, 'Bruce', 'Austin', 'BAUSTIN5', '515.123.1005', TIMESTAMP '2010-06-15 00:00:00', 'PU_CLERK', 4400.00, NULL, 102, 20, 'password'),
+    (106, 'David', 'Greenberg', 'DGREENBERG6', '515.123.1006', TIMESTAMP '2011-07-15 00:00:00', 'AD_PRES', 5700.00, NULL, 103, 30, 'password'),
+    (107, 'Valli', 'Kochhar', 'VKOCHHAR7', '515.123.1007', TIMESTAMP '2012-08-15 00:00:00', 'IT_PROG', 29400.00, NULL, 101, 10, 'password'),
+    (108, 'Diana', 'Ernst', 'DERNST8', '515.123.1008', TIMESTAMP '2013-09-15 00:00:00', 'FI_ACCOUNT', 6800.00, NULL, 102, 20, 'password'),
+    (109, 'Nancy', 'Lorentz', 'NLORENTZ9', '515.123.1009', TIMESTAMP '2014-10-15 00:00:00', 'SA_REP', 20700.00, NULL, 103, 30, 'password'),
+    (110, 'Daniel', 'King', 'DKING10', '515.123.1010', TIMESTAMP '2015-11-15 00:00:00', 'ST_CLERK', 31800.00, NULL, 101, 10, 'password'),
+    (111, 'Steven', 'Hunold', 'SHUNOLD11', '515.123.1011', TIMESTAMP '2016-12-15 00:00:00', 'PU_CLERK', 4900.00, NULL, 102, 20, 'password'),
+    (112, 'Neena', 'Pataballa', 'NPATABALLA12', '515.123.1012', TIMESTAMP '2017-01-15 00:00:00', 'AD_PRES', 27900.00, NULL, 103, 30, 'password'),
+    (113, 'Lex', 'Faviet', 'LFAVIET13', '515.123.1013', TIMESTAMP '2018-02-15 00:00:00', 'IT_PROG', 12900.00, NULL, 101, 10, 'password'),
+    (114, 'Alexander', 'De Haan', 'ADEHAAN14', '515.123.1014', TIMESTAMP '2019-03-15 00:00:00', 'FI_ACCOUNT', 3900.00, NULL, 102, 20, 'password'),
+    (115, 'Bruce', 'Austin', 'BAUSTIN15', '515.123.1015', TIMESTAMP '2005-04-15 00:00:00', 'SA_REP', 6400.00, NULL, 103, 30, 'password'),
+    (116, 'David', 'Greenberg', 'DGREENBERG16', '515.123.1016', TIMESTAMP '2006-05-15 00:00:00', 'ST_CLERK', 24200.00, NULL, 101, 10, 'password'),
+    (117, 'Valli', 'Kochhar', 'VKOCHHAR17', '515.123.1017', TIMESTAMP '2007-06-15 00:00:00', 'PU_CLERK', 23400.00, NULL, 102, 20, 'password'),
+    (118, 'Diana', 'Ernst', 'DERNST18', '515.123.1018', TIMESTAMP '2008-07-15 00:00:00', 'AD_PRES', 5500.00, NULL, 103, 30, 'password'),
+    (119, 'Nancy', 'Lorentz', 'NLORENTZ19', '515.123.1019', TIMESTAMP '2009-08-15 00:00:00', 'IT_PROG', 14300.00, NULL, 101, 10, 'password'),
+    (120, 'Daniel', 'King', 'DKING20', '515.123.1020', TIMESTAMP '2010-09-15 00:00:00', 'FI_ACCOUNT', 6600.00, NULL, 102, 20, 'password'),
+    (121, 'Steven', 'Hunold', 'SHUNOLD21', '515.123.1021', TIMESTAMP '2011-10-15 00:00:00', 'SA_REP', 30200.00, NULL, 103, 30, 'password'),
+    (122, 'Neena', 'Pataballa', 'NPATABALLA22', '515.123.1022', TIMESTAMP '2012-11-15 00:00:00', 'ST_CLERK', 23700.00, NULL, 101, 10, 'password'),
+    (123, 'Lex', 'Faviet', 'LFAVIET23', '515.123.1023', TIMESTAMP '2013-12-15 00:00:00', 'PU_CLERK', 5000.00, NULL, 102, 20, 'password'),
+    (124, 'Alexander', 'De Haan', 'ADEHAAN24', '515.123.1024', TIMESTAMP '2014-01-15 00:00:00', 'AD_PRES', 30900.00, NULL, 103, 30, 'password'),
+    (125, 'Bruce', 'Austin', 'BAUSTIN25', '515.123.1025', TIMESTAMP '2015-02-15 00:00:00', 'IT_PROG', 8300.00, NULL, 101, 10, 'password'),
+    (126, 'David', 'Greenberg', 'DGREENBERG26', '515.123.1026', TIMESTAMP '2016-03-15 00:00:00', 'FI_ACCOUNT', 13400.00, NULL, 102, 20, 'password'),
+    (127, 'Valli', 'Kochhar', 'VKOCHHAR27', '515.123.1027', TIMESTAMP '2017-04-15 00:00:00', 'SA_REP', 34200.00, NULL, 103, 30, 'password'),
+    (128, 'Diana', 'Ernst', 'DERNST28', '515.123.1028', TIMESTAMP '2018-05-15 00:00:00', 'ST_CLERK', 34100.00, NULL, 101, 10, 'password'),
+    (129, 'Nancy', 'Lorentz', 'NLORENTZ29', '515.123.1029', TIMESTAMP '2019-06-15 00:00:00', 'PU_CLERK', 31800.00, NULL, 102, 20, 'password'),
+    (130, 'Daniel', 'King', 'DKING30', '515.123.1030', TIMESTAMP '2005-07-15 00:00:00', 'AD_PRES', 5100.00, NULL, 103, 30, 'password');
+INSERT INTO employment_history (staff_id, start_date, end_date, employment_id, section_id) VALUES
+    (110, TIMESTAMP '2008-01-01 00:00:00', TIMESTAMP '2008-12-31 00:00:00', 'IT_PROG', 10),
+    (110, TIMESTAMP '2009-01-01 00:00:00', TIMESTAMP '2009-12-31 00:00:00', 'FI_ACCOUNT', 20),
+    (110, TIMESTAMP '2010-01-01 00:00:00', TIMESTAMP '2010-12-31 00:00:00', 'SA_REP', 30),
+    (110, TIMESTAMP '2011-01-01 00:00:00', TIMESTAMP '2011-12-31 00:00:00', 'ST_CLERK', 10),
+    (110, TIMESTAMP '2012-01-01 00:00:00', TIMESTAMP '2012-12-31 00:00:00', 'PU_CLERK', 20),
+    (110, TIMESTAMP '2013-01-01 00:00:00', TIMESTAMP '2013-12-31 00:00:00', 'IT_PROG', 30);
@@ -0,0 +1,76 @@
+-- 与实体映射保持一致的表结构，供 SQL 语句数回归测试使用
+CREATE TABLE areas (
+    area_id   BIGINT PRIMARY KEY,
+    area_name VARCHAR(25)
+);
+
+CREATE TABLE states (
+    state_id   CHAR(2) PRIMARY KEY,
+    state_name VARCHAR(40),
+    area_id    BIGINT REFERENCES areas (area_id)
+);
+
+CREATE TABLE places (
+    place_id       BIGINT PRIMARY KEY,
+    street_address VARCHAR(40),
+    postal_code    VARCHAR(12),
+    city           VARCHAR(30),
+    state_province VARCHAR(25),
+    state_id       CHAR(2) REFERENCES states (state_id)
+);
+
+CREATE TABLE employments (
+    employment_id    VARCHAR(10) PRIMARY KEY,
+    employment_title VARCHAR(35),
+    min_salary       NUMERIC(8, 2),
+    max_salary       NUMERIC(8, 2)
+);
+
+CREATE TABLE sections (
+    section_id   BIGINT PRIMARY KEY,
+    section_name VARCHAR(30),
+    manager_id   BIGINT,
+    place_id     BIGINT REFERENCES places (place_id)
+);
+
+CREATE TABLE staffs (
+    staff_id       BIGINT PRIMARY KEY,
+    first_name     VARCHAR(20),
+    last_name      VARCHAR(25),
+    email          VARCHAR(25),
+    phone_number   VARCHAR(20),
+    hire_date      TIMESTAMP,
+    employment_id  VARCHAR(10) REFERENCES employments (employment_id),
+    salary         NUMERIC(8, 2),
+    commission_pct NUMERIC(2, 2),
+    manager_id     BIGINT,
+    section_id     BIGINT REFERENCES sections (section_id),
+    password       VARCHAR(64)
+);
+
+CREATE TABLE employment_history (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    staff_id      BIGINT,
+    start_date    TIMESTAMP,
+    end_date      TIMESTAMP,
+    employment_id VARCHAR(10),
+    section_id    BIGINT
+);
+
+CREATE TABLE college (
+    college_id   BIGINT PRIMARY KEY,
+    college_name VARCHAR(50)
+);
+
+-- 生产环境由 db/audit_log.sql 建表（BIGSERIAL），这里用与 employment_history 相同的自增写法
+CREATE TABLE audit_log (
+    audit_id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    occurred_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    actor_id     VARCHAR(32),
+    actor_role   VARCHAR(32),
+    action       VARCHAR(32) NOT NULL,
+    entity_type  VARCHAR(16) NOT NULL,
+    entity_id    BIGINT,
+    before_value TEXT,
+    after_value  TEXT
+);
@@ -9,11 +9,28 @@ const axiosInstance = axios.create({
     },
 });
 
+// 添加请求拦截器，携带登录时签发的令牌
+axiosInstance.interceptors.request.use((config) => {
+    const storedUser = localStorage.getItem('user');
+    if (storedUser) {
+        const {token} = JSON.parse(storedUser);
+        if (token) {
+            config.headers.Authorization = `Bearer ${token}`;
+        }
+    }
+    return config;
+});
+
 // 添加响应拦截器处理错误
 axiosInstance.interceptors.response.use(
     (response) => response,
     (error) => {
         console.error('API Error:', error.response);
+        // 令牌过期或无效，清除本地会话并返回登录页
+        if (error.response?.status === 401 && !error.config?.url?.startsWith('/auth/')) {
+            localStorage.removeItem('user');
+            window.location.assign('/login');
+        }
         return Promise.reject(error);
     }
 );
@@ -0,0 +1,33 @@
+import axios from './axiosConfig.js';
+
+// 订阅薪资统计和部门列表的变更推送：先收到 snapshot（完整数据），之后只收到 salary-stats 和 sections 增量。
+// EventSource 无法设置请求头，令牌通过查询参数传递；断线后浏览器自动重连并携带 Last-Event-ID，
+// 服务端补发错过的增量或重新发送快照。返回取消订阅的函数
+export const subscribeHrChanges = ({onSnapshot, onSalaryStats, onSections, onClosed}) => {
+    const storedUser = localStorage.getItem('user');
+    const token = storedUser ? JSON.parse(storedUser).token : '';
+    const source = new EventSource(`${axios.defaults.baseURL}/hr/stream?access_token=${encodeURIComponent(token || '')}`);
+    const listen = (name, handler) => {
+        if (handler) {
+            source.addEventListener(name, (event) => handler(JSON.parse(event.data)));
+        }
+    };
+    listen('snapshot', onSnapshot);
+    listen('salary-stats', onSalaryStats);
+    listen('sections', onSections);
+    // 网络中断时浏览器自行重连；服务端拒绝（如令牌过期）后不再重连
+    source.onerror = () => {
+        if (source.readyState === EventSource.CLOSED && onClosed) {
+            onClosed();
+        }
+    };
+    return () => source.close();
+};
+
+// 把增量应用到按部门ID排列的列表：删除 removed 中的部门，整条替换或追加 changed 中的条目
+export const applyDelta = (items, {changed, removed}) => {
+    const bySectionId = new Map(items.map((item) => [item.sectionId, item]));
+    removed.forEach((sectionId) => bySectionId.delete(sectionId));
+    changed.forEach((item) => bySectionId.set(item.sectionId, item));
+    return [...bySectionId.values()].sort((a, b) => a.sectionId - b.sectionId);
+};
\ No newline at end of file
@@ -1,5 +1,11 @@
 import axios from './axiosConfig.js';
 
+// 仪表板聚合数据：一次请求返回部门、薪资统计、员工总数等，失败的分项列在 failures 中
+export const getDashboard = async (limit = 20) => {
+    const response = await axios.get('/hr/dashboard', {params: {limit}});
+    return response.data;
+};
+
 export const getAllEmployees = async (orderBySalary = false) => {
     const response = await axios.get(`/hr/employees`, {
         params: {orderBySalary: orderBySalary ? 'true' : 'false'}
@@ -7,6 +13,16 @@ export const getAllEmployees = async (orderBySalary = false) => {
     return response.data;
 };
 
+// 键集分页：cursor 为上一页返回的 nextCursor，首页不传
+export const getEmployeesPage = async (orderBySalary = false, cursor = null, limit = 50) => {
+    const params = {orderBySalary: orderBySalary ? 'true' : 'false', limit};
+    if (cursor) {
+        params.cursor = cursor;
+    }
+    const response = await axios.get(`/hr/employees`, {params});
+    return response.data;
+};
+
 export const getEmployeeById = async (staffId) => {
     const response = await axios.get(`/hr/employee/${staffId}`);
     return response.data;
@@ -15,7 +15,13 @@ export const AuthProvider = ({ children }) => {
         // 检查本地存储，恢复用户会话
         const storedUser = localStorage.getItem('user');
         if (storedUser) {
-            setUser(JSON.parse(storedUser));
+            const userData = JSON.parse(storedUser);
+            // 令牌已过期时需要重新登录
+            if (userData.token && userData.expiresAt > Date.now()) {
+                setUser(userData);
+            } else {
+                localStorage.removeItem('user');
+            }
         }
         setLoading(false);
     }, []);
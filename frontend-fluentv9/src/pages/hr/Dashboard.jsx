@@ -3,7 +3,7 @@ import {Card, CardHeader, makeStyles, Spinner, Text,} from '@fluentui/react-comp
 import {Building24Regular, People24Regular} from '@fluentui/react-icons';
 import {PageHeader} from '../../components/PageHeader';
 import {MainLayout} from '../../layouts/MainLayout';
-import {getAllEmployees, getAllSalaryStats, getAllSections} from '../../api/hrService';
+import {getDashboard} from '../../api/hrService';
 
 const useStyles = makeStyles({
     container: {
@@ -108,7 +108,7 @@ const useStyles = makeStyles({
 
 export const HRDashboard = () => {
     const styles = useStyles();
-    const [employees, setEmployees] = useState([]);
+    const [employeeCount, setEmployeeCount] = useState(0);
     const [stats, setStats] = useState([]);
     const [sections, setSections] = useState([]);
     const [loading, setLoading] = useState(true);
@@ -117,15 +117,14 @@ export const HRDashboard = () => {
     useEffect(() => {
         const fetchDashboardData = async () => {
             try {
-                const [employeesData, statsData, sectionsData] = await Promise.all([
-                    getAllEmployees(false),
-                    getAllSalaryStats(),
-                    getAllSections(),
-                ]);
+                const dashboard = await getDashboard();
+                if (Object.keys(dashboard.failures || {}).length > 0) {
+                    console.warn('部分仪表板数据加载失败', dashboard.failures);
+                }
 
-                setEmployees(employeesData);
-                setStats(statsData);
-                setSections(sectionsData);
+                setEmployeeCount(dashboard.employeeCount);
+                setStats(dashboard.salaryStats || []);
+                setSections(dashboard.sections || []);
             } catch (err) {
                 setError('加载仪表板信息失败');
                 console.error(err);
@@ -169,7 +168,7 @@ export const HRDashboard = () => {
                 <div className={styles.statsContainer} style={{display: 'flex', gap: '20px'}}>
                     <Card className={styles.statCard}>
                         <Text>员工总数</Text>
-                        <Text size={600}>{employees.length}</Text>
+                        <Text size={600}>{employeeCount}</Text>
                     </Card>
 
                     <Card className={styles.statCard}>
@@ -19,6 +19,7 @@ import {ArrowClockwise24Regular, Building24Regular, Edit24Regular} from '@fluent
 import {PageHeader} from '../../components/PageHeader';
 import {MainLayout} from '../../layouts/MainLayout';
 import {getAllSections, updateSectionName} from '../../api/hrService';
+import {applyDelta, subscribeHrChanges} from '../../api/changeStream';
 
 const useStyles = makeStyles({
     container: {
@@ -133,7 +134,15 @@ export const HRDepartments = () => {
     const [isUpdating, setIsUpdating] = useState(false);
 
     useEffect(() => {
-        fetchSections();
+        // 通过变更推送接收快照和增量，其他用户修改部门后列表自动更新；推送不可用时退回一次性加载
+        return subscribeHrChanges({
+            onSnapshot: (snapshot) => {
+                setSections(snapshot.sections);
+                setLoading(false);
+            },
+            onSections: (delta) => setSections((current) => applyDelta(current, delta)),
+            onClosed: fetchSections,
+        });
     }, []);
 
     const fetchSections = async () => {
@@ -4,6 +4,7 @@ import {DataBarHorizontal24Regular, Table24Regular} from '@fluentui/react-icons'
 import {PageHeader} from '../../components/PageHeader';
 import {MainLayout} from '../../layouts/MainLayout';
 import {getAllSalaryStats} from '../../api/hrService';
+import {applyDelta, subscribeHrChanges} from '../../api/changeStream';
 
 const useStyles = makeStyles({
     container: {
@@ -133,7 +134,15 @@ export const HRSalaryStatistics = () => {
             }
         };
 
-        fetchStatistics();
+        // 通过变更推送接收快照和增量，推送不可用时退回一次性加载
+        return subscribeHrChanges({
+            onSnapshot: (snapshot) => {
+                setStats(snapshot.salaryStats);
+                setLoading(false);
+            },
+            onSalaryStats: (delta) => setStats((current) => applyDelta(current, delta)),
+            onClosed: fetchStatistics,
+        });
     }, []);
 
     const renderContent = () => {